@@ -18,10 +18,12 @@ import com.jme3.post.filters.ToneMapFilter;
 import com.jme3.renderer.Camera;
 import com.jme3.renderer.ViewPort;
 import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
 import com.jme3.system.AppSettings;
 import com.jme3.system.NativeLibraryLoader;
 import com.jme3x.jfx.injfx.JmeToJFXApplication;
 import com.jme3x.jfx.util.os.OperatingSystem;
+import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
 import com.ss.editor.executor.impl.GLTaskExecutor;
@@ -29,8 +31,10 @@ import com.ss.editor.extension.loader.SceneLoader;
 import com.ss.editor.manager.EditorStateManager;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.manager.WorkspaceManager;
+import com.ss.editor.state.RenderOnDemandAppState;
 import com.ss.editor.ui.event.FXEventManager;
 import com.ss.editor.ui.event.impl.WindowChangeFocusEvent;
+import com.ss.editor.util.ParkingGate;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerLevel;
 import com.ss.rlib.logging.LoggerManager;
@@ -40,6 +44,9 @@ import tonegod.emitter.filter.TonegodTranslucentBucketFilter;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static com.jme3.environment.LightProbeFactory.makeProbe;
@@ -67,6 +74,8 @@ public class Editor extends JmeToJFXApplication {
     private ToneMapFilter toneMapFilter;
     private TonegodTranslucentBucketFilter translucentBucketFilter;
     private Material defaultMaterial;
+    private volatile RenderOnDemandAppState renderOnDemandState;
+    private final ParkingGate initializedGate;
     private static final Editor EDITOR = new Editor();
 
     private static final Logger LOGGER = LoggerManager.getLogger(Editor.class);
@@ -81,6 +90,7 @@ public class Editor extends JmeToJFXApplication {
 
     private Editor() {
         this.previewNode = new Node("Preview Node");
+        this.initializedGate = new ParkingGate(false);
     }
 
 
@@ -169,9 +179,23 @@ public class Editor extends JmeToJFXApplication {
         super.start();
     }
 
+    /**
+     * Block the current thread until the resources of this application are initialized or the timeout is expired.
+     *
+     * @param timeout the timeout.
+     * @param unit    the unit of the timeout.
+     * @return true if the resources are initialized.
+     */
+    public boolean waitForInitialization(final long timeout, final TimeUnit unit) {
+        return initializedGate.await(timeout, unit);
+    }
+
     @Override
     public void simpleInitApp() {
 
+        // the asset manager is already created, so the resources of the application are online
+        initializedGate.open();
+
         renderManager.setPreferredLightMode(TechniqueDef.LightMode.SinglePass);
         renderManager.setSinglePassLightBatchSize(5);
 
@@ -243,6 +267,15 @@ public class Editor extends JmeToJFXApplication {
         }
 
         createProbe();
+
+        if (Config.RENDER_ON_DEMAND) {
+            final Camera[] cameras = {cam, previewCamera};
+            final ViewPort[] viewPorts = {viewPort, previewViewPort, guiViewPort};
+            final Spatial[] scenes = {rootNode, previewNode};
+            renderOnDemandState = new RenderOnDemandAppState(Config.RENDER_IDLE_FRAME_RATE, cameras, viewPorts, scenes);
+            stateManager.attach(renderOnDemandState);
+            GLTaskExecutor.getInstance().setWakeUpHandler(this::requestFrame);
+        }
     }
 
     @Override
@@ -270,6 +303,10 @@ public class Editor extends JmeToJFXApplication {
     public void simpleUpdate(final float tpf) {
         super.simpleUpdate(tpf);
         previewNode.updateLogicalState(tpf);
+
+        final RenderOnDemandAppState renderOnDemandState = getRenderOnDemandState();
+        if (renderOnDemandState != null) renderOnDemandState.checkChanges(previewNode);
+
         previewNode.updateGeometricState();
     }
 
@@ -278,13 +315,20 @@ public class Editor extends JmeToJFXApplication {
         // wait for loading unlock
         JFXApplication.semaphore.waitForUnlock();
 
-        // finish if the editor state isn't for updating the scene
+        // finish if the application state isn't for updating the scene,
+        // states of editors are checked by their app states
         if (!EditorStateManager.isUpdating()) {
             return;
         }
 
         // update the editor enqueued components before being hooked to jme3 update
         final GLTaskExecutor editorGLTaskExecutor = GLTaskExecutor.getInstance();
+
+        // executed tasks can modify the scene, so the frame should be rendered
+        if (editorGLTaskExecutor.hasWaitedTasks()) {
+            requestFrame();
+        }
+
         editorGLTaskExecutor.dispatch();
         // hook up jme3 update --> calls --> simpleUpdate
         super.update();
@@ -293,6 +337,31 @@ public class Editor extends JmeToJFXApplication {
         listener.setRotation(cam.getRotation());
     }
 
+    @Override
+    public <V> Future<V> enqueue(final Callable<V> callable) {
+        final Future<V> future = super.enqueue(callable);
+        requestFrame();
+        return future;
+    }
+
+    /**
+     * Request rendering of a next frame if the render on demand mode is enabled.
+     */
+    @FromAnyThread
+    public void requestFrame() {
+        final RenderOnDemandAppState renderOnDemandState = getRenderOnDemandState();
+        if (renderOnDemandState != null) renderOnDemandState.requestFrame();
+    }
+
+    /**
+     * Gets the render on demand state.
+     *
+     * @return the render on demand state or null if the mode is disabled.
+     */
+    public RenderOnDemandAppState getRenderOnDemandState() {
+        return renderOnDemandState;
+    }
+
     /**
      * Gets post processor.
      *
@@ -1,27 +1,40 @@
 package com.ss.editor;
 
-import static java.nio.file.Files.newInputStream;
-
 import com.jme3.asset.AssetInfo;
 import com.jme3.asset.AssetKey;
 import com.jme3.asset.AssetLocator;
 import com.jme3.asset.AssetManager;
-import com.jme3.asset.StreamAssetInfo;
 import com.jme3.asset.plugins.UrlAssetInfo;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.util.FileUtils;
 import com.ss.rlib.util.array.Array;
 import com.ss.rlib.util.array.ArrayFactory;
 
 /**
  * The implementation of {@link AssetLocator} to load data from an asset folder.
+ * <p>
+ * Missed files are remembered in a bounded cache, so repeated probes of not existing assets don't hit the file
+ * system, the cache is invalidated by created files in the asset folder. Streams of found files are opened only
+ * on demand and are buffered, large files can be memory mapped.
  *
  * @author JavaSaBr
  */
@@ -30,10 +43,68 @@ public class FolderAssetLocator implements AssetLocator {
     @NotNull
     private static final Array<String> URL_EXTENSIONS = ArrayFactory.newArray(String.class);
 
+    /**
+     * The max count of remembered missed files.
+     */
+    private static final int MISSED_CACHE_SIZE = 4096;
+
+    /**
+     * The size of the read buffer of asset streams.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The cache of missed files in access order.
+     */
+    @NotNull
+    private static final Map<Path, Boolean> MISSED_FILES = new LinkedHashMap<Path, Boolean>(16, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(@NotNull final Map.Entry<Path, Boolean> eldest) {
+            return size() > MISSED_CACHE_SIZE;
+        }
+    };
+
     static {
         URL_EXTENSIONS.add(FileExtensions.MODEL_SCENE);
     }
 
+    /**
+     * Forget missed files in the created file or folder.
+     *
+     * @param file the created file or folder.
+     */
+    @FromAnyThread
+    public static void invalidate(@NotNull final Path file) {
+        synchronized (MISSED_FILES) {
+            if (MISSED_FILES.remove(file) == null) {
+                MISSED_FILES.keySet().removeIf(missed -> missed.startsWith(file));
+            }
+        }
+    }
+
+    /**
+     * Forget all missed files.
+     */
+    @FromAnyThread
+    public static void invalidateAll() {
+        synchronized (MISSED_FILES) {
+            MISSED_FILES.clear();
+        }
+    }
+
+    private static boolean isMissed(@NotNull final Path file) {
+        synchronized (MISSED_FILES) {
+            return MISSED_FILES.get(file) != null;
+        }
+    }
+
+    private static void addMissed(@NotNull final Path file) {
+        synchronized (MISSED_FILES) {
+            MISSED_FILES.put(file, Boolean.TRUE);
+        }
+    }
+
     @Override
     public void setRootPath(@NotNull final String rootPath) {
     }
@@ -47,9 +118,21 @@ public class FolderAssetLocator implements AssetLocator {
 
         final String name = key.getName();
         final Path resolve = currentAsset.resolve(name);
-        if (!Files.exists(resolve)) return null;
+        if (isMissed(resolve)) return null;
+
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(resolve, BasicFileAttributes.class);
+        } catch (final NoSuchFileException e) {
+            addMissed(resolve);
+            return null;
+        } catch (final IOException e) {
+            return null;
+        }
 
-        final String extension = FileUtils.getExtension(resolve);
+        if (attributes.isDirectory()) return null;
+
+        final String extension = FileUtils.getExtension(resolve.getFileName().toString());
 
         if (URL_EXTENSIONS.contains(extension)) {
             try {
@@ -60,10 +143,93 @@ public class FolderAssetLocator implements AssetLocator {
             }
         }
 
-        try {
-            return new StreamAssetInfo(manager, key, newInputStream(resolve));
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
+        return new FileAssetInfo(manager, key, resolve, attributes.size());
+    }
+
+    /**
+     * The asset info which opens a new stream of the file on each request.
+     */
+    private static final class FileAssetInfo extends AssetInfo {
+
+        /**
+         * The file.
+         */
+        @NotNull
+        private final Path file;
+
+        /**
+         * The size of the file.
+         */
+        private final long size;
+
+        private FileAssetInfo(@NotNull final AssetManager manager, @NotNull final AssetKey key,
+                              @NotNull final Path file, final long size) {
+            super(manager, key);
+            this.file = file;
+            this.size = size;
+        }
+
+        @Override
+        public InputStream openStream() {
+
+            final long mmapThreshold = Config.ASSET_MMAP_THRESHOLD;
+
+            try {
+
+                if (mmapThreshold > 0 && size >= mmapThreshold && size <= Integer.MAX_VALUE) {
+                    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                    }
+                }
+
+                return new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * The input stream to read a byte buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /**
+         * The byte buffer.
+         */
+        @NotNull
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(@NotNull final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@Nullable final byte[] bytes, final int offset, final int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) {
+            final int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
         }
     }
 }
@@ -8,12 +8,16 @@ import com.ss.editor.manager.*;
 import com.ss.editor.ui.builder.EditorFXSceneBuilder;
 import com.ss.editor.ui.scene.EditorFXScene;
 import com.ss.editor.util.Semaphore;
-import com.ss.rlib.manager.InitializeManager;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
 import de.codecentric.centerdevice.javafxsvg.SvgImageLoaderFactory;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+
+import java.lang.management.ManagementFactory;
+
 import static com.jme3x.jfx.injfx.JmeToJFXIntegrator.bind;
 
 /**
@@ -24,6 +28,8 @@ import static com.jme3x.jfx.injfx.JmeToJFXIntegrator.bind;
  */
 public class JFXApplication extends Application {
 
+    private static final Logger LOGGER = LoggerManager.getLogger(JFXApplication.class);
+
     private final GLTaskExecutor executor = GLTaskExecutor.getInstance();
     private final Editor editor = Editor.getInstance();
     private final EditorConfig editorConfig = EditorConfig.getInstance();
@@ -45,11 +51,12 @@ public class JFXApplication extends Application {
         // lock the mutex
         semaphore.lock(JFXApplication.mutex);
 
-        InitializeManager.register(ResourceManager.class);
-        InitializeManager.register(JavaFXImageManager.class);
-        InitializeManager.register(FileIconManager.class);
-        InitializeManager.register(WorkspaceManager.class);
-        InitializeManager.register(ClasspathManager.class);
+        StartupManager.register(ResourceManager.class);
+        StartupManager.register(JavaFXImageManager.class);
+        StartupManager.register(FileIconManager.class);
+        StartupManager.register(WorkspaceManager.class);
+        StartupManager.register(ClasspathManager.class);
+        StartupManager.register(ThumbnailPregenerationManager.class);
 
         launch();
     }
@@ -78,7 +85,7 @@ public class JFXApplication extends Application {
             public void run() {
                 buildScene();
                 JFXApplication.semaphore.waitForUnlock();
-                InitializeManager.initialize();
+                StartupManager.initialize();
             }
         });
     }
@@ -135,7 +142,12 @@ public class JFXApplication extends Application {
         sceneProcessor.setEnabled(false);
         stage.focusedProperty().addListener((observable, oldValue, newValue) ->
                 editor.setPaused(editorConfig.isStopRenderOnLostFocus() && !newValue));
-        Platform.runLater(scene::notifyFinishBuild);
+        Platform.runLater(() -> {
+            scene.notifyFinishBuild();
+            LOGGER.debug(this, "the main window is ready in " + ManagementFactory.getRuntimeMXBean().getUptime() +
+                    " ms after the start.");
+        });
+        Platform.runLater(FileIconManager.getInstance()::preloadIcons);
     }
 
     /**
@@ -389,6 +389,10 @@ public class Messages {
      * The constant SETTINGS_DIALOG_AUTO_TANGENT_GENERATING.
      */
     public static final String SETTINGS_DIALOG_AUTO_TANGENT_GENERATING;
+    /**
+     * The constant SETTINGS_DIALOG_PREGENERATE_THUMBNAILS.
+     */
+    public static final String SETTINGS_DIALOG_PREGENERATE_THUMBNAILS;
     /**
      * The constant SETTINGS_DIALOG_DEFAULT_FLIPPED_TEXTURE.
      */
@@ -2283,6 +2287,11 @@ public class Messages {
      */
     public static final String RESOURCE_PROPERTY_EDIT_CONTROL_NOTHING_IS_SELECTED;
 
+    /**
+     * The constant IMAGE_CHANNEL_PREVIEW_MIPMAPS.
+     */
+    public static final String IMAGE_CHANNEL_PREVIEW_MIPMAPS;
+
     static {
 
         final Locale locale = Locale.getDefault();
@@ -2409,6 +2418,7 @@ public class Messages {
         SETTINGS_DIALOG_GOOGLE_ANALYTICS = bundle.getString("SettingsDialogAnalytics");
         SETTINGS_DIALOG_CAMERA_ANGLE = bundle.getString("SettingsDialogCameraAngle");
         SETTINGS_DIALOG_AUTO_TANGENT_GENERATING = bundle.getString("SettingsDialogAutoTangentGenerating");
+        SETTINGS_DIALOG_PREGENERATE_THUMBNAILS = bundle.getString("SettingsDialogPregenerateThumbnails");
         SETTINGS_DIALOG_DEFAULT_FLIPPED_TEXTURE = bundle.getString("SettingsDialogUseFlipTexture");
         SETTINGS_DIALOG_DEFAULT_EDITOR_CAMERA_LAMP_ENABLED = bundle.getString("SettingsDialogEditorCameraLampEnabled");
         SETTINGS_DIALOG_TAB_GRAPHICS = bundle.getString("SettingsDialogTabGraphics");
@@ -2913,5 +2923,7 @@ public class Messages {
         ABOUT_DIALOG_BUTTON_OK = bundle.getString("AboutDialogButtonOk");
 
         RESOURCE_PROPERTY_EDIT_CONTROL_NOTHING_IS_SELECTED = bundle.getString("ResourcePropertyEditControlNothingIsSelected");
+
+        IMAGE_CHANNEL_PREVIEW_MIPMAPS = bundle.getString("ImageChannelPreviewMipmaps");
     }
 }
@@ -0,0 +1,22 @@
+package com.ss.editor.annotation;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation to declare managers which should be initialized before the marked manager during startup.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface InitializeAfter {
+
+    /**
+     * @return the managers to initialize before.
+     */
+    Class<?>[] value();
+}
@@ -2,6 +2,7 @@ package com.ss.editor.config;
 
 import com.ss.editor.Editor;
 import com.ss.editor.document.DocumentConfig;
+import com.ss.editor.executor.TaskQueueType;
 import com.ss.editor.util.AppVersion;
 import com.ss.editor.util.EditorUtil;
 import org.jetbrains.annotations.NotNull;
@@ -77,6 +78,77 @@ public abstract class Config {
      */
     public static final boolean ENABLE_PBR;
 
+    /**
+     * Flag is for creating static SVG icons empty and rasterizing them after the main window is shown.
+     */
+    public static final boolean UI_LAZY_ICONS;
+
+    /**
+     * The type of the task queue of the FX executor.
+     */
+    @NotNull
+    public static final TaskQueueType FX_TASK_QUEUE;
+
+    /**
+     * The time budget in milliseconds of executing tasks in one pulse of the FX UI Thread, 0 to disable.
+     */
+    public static final int FX_TASK_BUDGET;
+
+    /**
+     * The time budget in milliseconds of executing bulk tasks in one frame of the editor thread.
+     */
+    public static final int GL_BULK_TASK_BUDGET;
+
+    /**
+     * Flag is for rendering frames of the editor only after changes.
+     */
+    public static final boolean RENDER_ON_DEMAND;
+
+    /**
+     * The max frame rate of the editor while nothing is changed, 0 to not throttle.
+     */
+    public static final int RENDER_IDLE_FRAME_RATE;
+
+    /**
+     * The quiet window in milliseconds to debounce events of watching asset folders.
+     */
+    public static final int WATCHER_DEBOUNCE;
+
+    /**
+     * The max delay in milliseconds of publishing a batch of events of watching asset folders.
+     */
+    public static final int WATCHER_MAX_DELAY;
+
+    /**
+     * The max count of threads to walk folders in parallel.
+     */
+    public static final int WALKER_THREADS;
+
+    /**
+     * The min size in bytes of asset files to read them using memory mapping, 0 to not use memory mapping.
+     */
+    public static final int ASSET_MMAP_THRESHOLD;
+
+    /**
+     * The memory budget in megabytes of cached assets, 0 to not evict cached assets.
+     */
+    public static final int ASSET_CACHE_BUDGET;
+
+    /**
+     * The memory budget in megabytes of previews of images in memory.
+     */
+    public static final int PREVIEW_MEMORY_CACHE;
+
+    /**
+     * The delay in milliseconds between pre-generating thumbnails of textures.
+     */
+    public static final int PREVIEW_PREGENERATION_DELAY;
+
+    /**
+     * The memory budget in megabytes of decoded tiles of an image in the image viewer.
+     */
+    public static final int PREVIEW_TILE_CACHE;
+
     static {
 
         final GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -87,6 +159,20 @@ public abstract class Config {
         DEV_DEBUG = vars.getBoolean("Dev.debug", false);
         DEV_DEBUG_JFX = vars.getBoolean("Dev.debugJFX", false);
         ENABLE_PBR = vars.getBoolean("Graphics.enablePBR", true);
+        UI_LAZY_ICONS = vars.getBoolean("UI.lazyIcons", true);
+        FX_TASK_QUEUE = vars.getEnum("Executor.fxQueue", TaskQueueType.class, TaskQueueType.MPSC);
+        FX_TASK_BUDGET = vars.getInteger("Executor.fxBudget", 8);
+        GL_BULK_TASK_BUDGET = vars.getInteger("Executor.glBulkBudget", 4);
+        RENDER_ON_DEMAND = vars.getBoolean("Render.onDemand", true);
+        RENDER_IDLE_FRAME_RATE = vars.getInteger("Render.idleFrameRate", 10);
+        WATCHER_DEBOUNCE = vars.getInteger("Watcher.debounce", 300);
+        WATCHER_MAX_DELAY = vars.getInteger("Watcher.maxDelay", 2000);
+        WALKER_THREADS = vars.getInteger("Walker.threads", 8);
+        ASSET_MMAP_THRESHOLD = vars.getInteger("Assets.mmapThreshold", 0);
+        ASSET_CACHE_BUDGET = vars.getInteger("Assets.cacheBudget", 512);
+        PREVIEW_MEMORY_CACHE = vars.getInteger("Preview.memoryCache", 64);
+        PREVIEW_PREGENERATION_DELAY = vars.getInteger("Preview.pregenerationDelay", 50);
+        PREVIEW_TILE_CACHE = vars.getInteger("Preview.tileCache", 128);
 
         GRAPHICS_DEVICE = device;
         OPERATING_SYSTEM = new OperatingSystem();
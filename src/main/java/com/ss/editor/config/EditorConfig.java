@@ -65,6 +65,7 @@ public final class EditorConfig implements AssetEventListener {
 
     private static final String PREF_ASSET_CURRENT_ASSET = ASSET_ALIAS + "." + "currentAsset";
     private static final String PREF_ASSET_LAST_OPENED_ASSETS = ASSET_ALIAS + "." + "lastOpenedAssets";
+    private static final String PREF_ASSET_PREGENERATE_THUMBNAILS = ASSET_ALIAS + "." + "pregenerateThumbnails";
 
     private static final String PREF_OTHER_ADDITIONAL_CLASSPATH = OTHER_ALIAS + "." + "additionalClasspath";
     private static final String PREF_OTHER_ADDITIONAL_ENVS = OTHER_ALIAS + "." + "additionalEnvs";
@@ -240,6 +241,11 @@ public final class EditorConfig implements AssetEventListener {
      */
     private volatile boolean analyticsQuestion;
 
+    /**
+     * Flag is of enabling pre-generating thumbnails of textures in background.
+     */
+    private volatile boolean pregenerateThumbnails;
+
     /**
      * Instantiates a new Editor config.
      */
@@ -654,6 +660,26 @@ public final class EditorConfig implements AssetEventListener {
         this.autoTangentGenerating = autoTangentGenerating;
     }
 
+    /**
+     * Is pregenerate thumbnails boolean.
+     *
+     * @return true if thumbnails of textures are pre-generated in background.
+     */
+    @FromAnyThread
+    public boolean isPregenerateThumbnails() {
+        return pregenerateThumbnails;
+    }
+
+    /**
+     * Sets pregenerate thumbnails.
+     *
+     * @param pregenerateThumbnails flag is of enabling pre-generating thumbnails of textures in background.
+     */
+    @FromAnyThread
+    public void setPregenerateThumbnails(final boolean pregenerateThumbnails) {
+        this.pregenerateThumbnails = pregenerateThumbnails;
+    }
+
     /**
      * Is default use flipped texture boolean.
      *
@@ -854,6 +880,7 @@ public final class EditorConfig implements AssetEventListener {
         this.defaultUseFlippedTexture = prefs.getBoolean(PREF_EDITING_DEFAULT_USE_FLIPPED_TEXTURE, true);
         this.defaultEditorCameraEnabled = prefs.getBoolean(PREF_EDITING_CAMERA_LAMP_ENABLED, true);
         this.analyticsQuestion = prefs.getBoolean(PREF_OTHER_ANALYTICS_QUESTION, false);
+        this.pregenerateThumbnails = prefs.getBoolean(PREF_ASSET_PREGENERATE_THUMBNAILS, false);
         this.theme = prefs.getInt(PREF_OTHER_THEME, CssColorTheme.DARK.ordinal());
         this.openGLVersion = OpenGLVersion.valueOf(prefs.getInt(PREF_GRAPHIC_OPEN_GL, GL_32.ordinal()));
 
@@ -929,6 +956,7 @@ public final class EditorConfig implements AssetEventListener {
         prefs.putBoolean(PREF_EDITING_DEFAULT_USE_FLIPPED_TEXTURE, isDefaultUseFlippedTexture());
         prefs.putBoolean(PREF_EDITING_CAMERA_LAMP_ENABLED, isDefaultEditorCameraEnabled());
         prefs.putBoolean(PREF_OTHER_ANALYTICS_QUESTION, isAnalyticsQuestion());
+        prefs.putBoolean(PREF_ASSET_PREGENERATE_THUMBNAILS, isPregenerateThumbnails());
         prefs.putInt(PREF_OTHER_THEME, getTheme().ordinal());
         prefs.putInt(PREF_GRAPHIC_OPEN_GL, getOpenGLVersion().ordinal());
 
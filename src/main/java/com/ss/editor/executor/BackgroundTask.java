@@ -0,0 +1,108 @@
+package com.ss.editor.executor;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The handle of a task which is executed in the background. The task can be cancelled before it is started,
+ * a running task can check {@link #isCancelled()} or {@link #isCurrentCancelled()} to stop its work.
+ *
+ * @param <T> the type of the result.
+ * @author JavaSaBr
+ */
+public class BackgroundTask<T> extends CompletableFuture<T> implements Runnable {
+
+    /**
+     * The current running task of a thread.
+     */
+    @NotNull
+    private static final ThreadLocal<BackgroundTask<?>> CURRENT_TASK = new ThreadLocal<>();
+
+    /**
+     * Check the current background task of this thread for cancellation.
+     *
+     * @return true if the current task was cancelled.
+     */
+    @BackgroundThread
+    public static boolean isCurrentCancelled() {
+        final BackgroundTask<?> task = CURRENT_TASK.get();
+        return task != null && task.isCancelled();
+    }
+
+    /**
+     * The body of this task.
+     */
+    @NotNull
+    private final Callable<T> callable;
+
+    /**
+     * The priority of this task.
+     */
+    @NotNull
+    private final TaskPriority priority;
+
+    /**
+     * The key to drop superseded tasks with the same key.
+     */
+    @Nullable
+    private final Object coalescingKey;
+
+    /**
+     * Instantiates a new background task.
+     *
+     * @param callable      the body of this task.
+     * @param priority      the priority of this task.
+     * @param coalescingKey the key to drop superseded tasks with the same key or null.
+     */
+    public BackgroundTask(@NotNull final Callable<T> callable, @NotNull final TaskPriority priority,
+                          @Nullable final Object coalescingKey) {
+        this.callable = callable;
+        this.priority = priority;
+        this.coalescingKey = coalescingKey;
+    }
+
+    /**
+     * Get the priority of this task.
+     *
+     * @return the priority of this task.
+     */
+    @NotNull
+    @FromAnyThread
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the key to drop superseded tasks with the same key.
+     *
+     * @return the coalescing key or null.
+     */
+    @Nullable
+    @FromAnyThread
+    public Object getCoalescingKey() {
+        return coalescingKey;
+    }
+
+    @Override
+    @BackgroundThread
+    public void run() {
+
+        if (isDone()) {
+            return;
+        }
+
+        CURRENT_TASK.set(this);
+        try {
+            complete(callable.call());
+        } catch (final Throwable e) {
+            completeExceptionally(e);
+        } finally {
+            CURRENT_TASK.remove();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ss.editor.executor;
+
+/**
+ * The list of priority classes of background tasks.
+ *
+ * @author JavaSaBr
+ */
+public enum TaskPriority {
+    /**
+     * The tasks which a user is waiting for right now, such as previews or opening files.
+     */
+    INTERACTIVE,
+    /**
+     * The long tasks which can wait, such as converting or generating.
+     */
+    BULK;
+
+    /**
+     * The all priorities from the highest to the lowest.
+     */
+    public static final TaskPriority[] VALUES = values();
+}
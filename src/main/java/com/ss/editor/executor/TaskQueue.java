@@ -0,0 +1,41 @@
+package com.ss.editor.executor;
+
+import com.ss.rlib.util.array.Array;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a queue of tasks which is filled by any threads and is drained by the only one
+ * consumer thread of a {@link TaskExecutor}.
+ *
+ * @author JavaSaBr
+ */
+public interface TaskQueue {
+
+    /**
+     * Add a new task to this queue.
+     *
+     * @param task the new task.
+     */
+    void offer(@NotNull Runnable task);
+
+    /**
+     * Move waited tasks from this queue to the container.
+     *
+     * @param container the container.
+     * @param limit     the max count of tasks to move.
+     * @return the count of moved tasks.
+     */
+    int drainTo(@NotNull Array<Runnable> container, int limit);
+
+    /**
+     * Block the consumer thread until this queue has any task.
+     */
+    void await();
+
+    /**
+     * Check this queue for waited tasks.
+     *
+     * @return true if this queue doesn't have waited tasks.
+     */
+    boolean isEmpty();
+}
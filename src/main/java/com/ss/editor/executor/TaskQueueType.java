@@ -0,0 +1,43 @@
+package com.ss.editor.executor;
+
+import com.ss.editor.executor.impl.LockedTaskQueue;
+import com.ss.editor.executor.impl.MpscTaskQueue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * The list of available implementations of the {@link TaskQueue}.
+ *
+ * @author JavaSaBr
+ */
+public enum TaskQueueType {
+    /**
+     * The array of tasks guarded by a lock, the consumer sleeps using wait/notify.
+     */
+    LOCKED(LockedTaskQueue::new),
+    /**
+     * The lock-free multi-producer/single-consumer queue, the consumer sleeps using thread parking.
+     */
+    MPSC(MpscTaskQueue::new);
+
+    /**
+     * The factory of queues.
+     */
+    @NotNull
+    private final Supplier<TaskQueue> factory;
+
+    TaskQueueType(@NotNull final Supplier<TaskQueue> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Create a new queue of this type.
+     *
+     * @return the new queue.
+     */
+    @NotNull
+    public TaskQueue create() {
+        return factory.get();
+    }
+}
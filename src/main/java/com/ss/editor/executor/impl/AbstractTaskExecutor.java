@@ -2,24 +2,20 @@ package com.ss.editor.executor.impl;
 
 import com.ss.editor.EditorThread;
 import com.ss.editor.executor.TaskExecutor;
-import com.ss.rlib.concurrent.lock.LockFactory;
-import com.ss.rlib.concurrent.lock.Lockable;
-import com.ss.rlib.concurrent.util.ConcurrentUtils;
+import com.ss.editor.executor.TaskQueue;
+import com.ss.editor.executor.TaskQueueType;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.util.array.Array;
 import com.ss.rlib.util.array.ArrayFactory;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-
 /**
  * The base implementation of the {@link GLTaskExecutor}.
  *
  * @author JavaSaBr
  */
-public abstract class AbstractTaskExecutor extends EditorThread implements TaskExecutor, Lockable {
+public abstract class AbstractTaskExecutor extends EditorThread implements TaskExecutor {
 
     /**
      * The constant LOGGER.
@@ -34,120 +30,69 @@ public abstract class AbstractTaskExecutor extends EditorThread implements TaskE
     protected final Array<Runnable> execute;
 
     /**
-     * The array of executed task of the iteration.
-     */
-    @NotNull
-    final Array<Runnable> executed;
-
-    /**
-     * The array of task to dispatch.
-     */
-    @NotNull
-    final Array<Runnable> waitTasks;
-
-    /**
-     * Is this executor waiting new tasks.
+     * The queue of waited tasks.
      */
     @NotNull
-    final AtomicBoolean wait;
-
-    /**
-     * The synchronizer.
-     */
-    @NotNull
-    private final Lock lock;
+    private final TaskQueue queue;
 
     /**
      * Instantiates a new Abstract editor task executor.
      */
     public AbstractTaskExecutor() {
-        this.execute = createExecuteArray();
-        this.executed = createExecuteArray();
-        this.waitTasks = createExecuteArray();
-        this.lock = LockFactory.newAtomicLock();
-        this.wait = new AtomicBoolean(false);
+        this(TaskQueueType.LOCKED);
     }
 
-    @NotNull
-    private Array<Runnable> createExecuteArray() {
-        return ArrayFactory.newArray(Runnable.class);
+    /**
+     * Instantiates a new Abstract editor task executor.
+     *
+     * @param queueType the type of the queue of waited tasks.
+     */
+    public AbstractTaskExecutor(@NotNull final TaskQueueType queueType) {
+        this.execute = ArrayFactory.newArray(Runnable.class);
+        this.queue = queueType.create();
     }
 
     @Override
     public void execute(@NotNull final Runnable task) {
-        lock();
-        try {
-
-            waitTasks.add(task);
-            if (!wait.get()) return;
-
-            synchronized (wait) {
-                if (wait.compareAndSet(true, false)) {
-                    ConcurrentUtils.notifyAllInSynchronize(wait);
-                }
-            }
+        queue.offer(task);
+    }
 
-        } finally {
-            unlock();
-        }
+    /**
+     * Get the max count of tasks to take from the queue for one iteration.
+     *
+     * @return the max count of tasks.
+     */
+    protected int getExecuteLimit() {
+        return Integer.MAX_VALUE;
     }
 
     /**
      * Execute the array of tasks.
      *
-     * @param execute  the dispatch
-     * @param executed the executed
+     * @param execute the tasks to dispatch.
      */
-    protected abstract void doExecute(@NotNull final Array<Runnable> execute, @NotNull final Array<Runnable> executed);
+    protected abstract void doExecute(@NotNull final Array<Runnable> execute);
+
+    /**
+     * Execute the current taken tasks.
+     */
+    protected void executeTasks() {
+        doExecute(execute);
+    }
 
     @Override
     public void run() {
         while (true) {
 
-            executed.clear();
-            execute.clear();
-
-            lock();
-            try {
-
-                if (waitTasks.isEmpty()) {
-                    wait.getAndSet(true);
-                } else {
-                    execute.addAll(waitTasks);
-                }
-
-            } finally {
-                unlock();
-            }
-
-            if (wait.get()) {
-                synchronized (wait) {
-                    if (wait.get()) {
-                        ConcurrentUtils.waitInSynchronize(wait);
-                    }
-                }
-            }
+            queue.await();
+            queue.drainTo(execute, getExecuteLimit());
 
             if (execute.isEmpty()) continue;
-            doExecute(execute, executed);
-            if (executed.isEmpty()) continue;
-
-            lock();
             try {
-                waitTasks.removeAll(executed);
+                executeTasks();
             } finally {
-                unlock();
+                execute.clear();
             }
         }
     }
-
-    @Override
-    public void lock() {
-        lock.lock();
-    }
-
-    @Override
-    public void unlock() {
-        lock.unlock();
-    }
 }
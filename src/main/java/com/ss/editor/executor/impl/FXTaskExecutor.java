@@ -2,17 +2,27 @@ package com.ss.editor.executor.impl;
 
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
 import com.ss.editor.util.EditorUtil;
 import com.sun.javafx.application.PlatformImpl;
 
+import javafx.animation.AnimationTimer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import com.ss.rlib.concurrent.util.ConcurrentUtils;
 import com.ss.rlib.concurrent.util.ThreadUtils;
 import com.ss.rlib.util.array.Array;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * The executor to dispatch tasks in the FX UI Thread.
+ * <p>
+ * If the time budget is configured, tasks are executed until the budget of the current pulse is exhausted,
+ * the remainder is carried over to the next pulse to not block rendering and input handling.
  *
  * @author JavaSaBr
  */
@@ -20,16 +30,71 @@ public class FXTaskExecutor extends AbstractTaskExecutor {
 
     private static final int EXECUTE_LIMIT = 300;
 
+    /**
+     * The time budget of one pulse in nanoseconds or 0 if the budget is disabled.
+     */
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(Config.FX_TASK_BUDGET);
+
+    /**
+     * The time which a pulse can exceed the budget by without being counted as an overrun.
+     */
+    private static final long OVERRUN_TOLERANCE = TimeUnit.MILLISECONDS.toNanos(1);
+
     /**
      * The task for executing editor tasks in the FX UI Thread.
      */
     @NotNull
-    private final Runnable fxTask = () -> doExecute(execute, executed);
+    private final Runnable fxTask = () -> doExecute(execute);
+
+    /**
+     * The task for executing editor tasks in the FX UI Thread using the time budget.
+     */
+    @NotNull
+    private final Runnable fxBudgetTask = () -> doExecuteWithBudget(execute);
+
+    /**
+     * The timer to wait for a next pulse.
+     */
+    @Nullable
+    private AnimationTimer pulseTimer;
+
+    /**
+     * The flag of happened pulse.
+     */
+    @NotNull
+    private final AtomicBoolean pulse;
+
+    /**
+     * The count of pulses when one task took more time than the budget or the pulse
+     * exceeded the budget by more than the tolerance.
+     */
+    @NotNull
+    private final AtomicLong overruns;
+
+    /**
+     * The count of pulses which carried over tasks to the next pulse.
+     */
+    @NotNull
+    private final AtomicLong carryOvers;
+
+    /**
+     * The max time of executing tasks in one pulse in nanoseconds.
+     */
+    private volatile long maxPulseTime;
+
+    /**
+     * The index of a next task to execute using the budget.
+     */
+    private volatile int offset;
 
     /**
      * Instantiates a new Fx editor task executor.
      */
     public FXTaskExecutor() {
+        super(Config.FX_TASK_QUEUE);
+        this.pulse = new AtomicBoolean(false);
+        this.overruns = new AtomicLong();
+        this.carryOvers = new AtomicLong();
         setName(FXTaskExecutor.class.getSimpleName());
         setPriority(NORM_PRIORITY);
         PlatformImpl.startup(this::start);
@@ -37,7 +102,7 @@ public class FXTaskExecutor extends AbstractTaskExecutor {
 
     @Override
     @FXThread
-    protected void doExecute(@NotNull final Array<Runnable> execute, @NotNull final Array<Runnable> executed) {
+    protected void doExecute(@NotNull final Array<Runnable> execute) {
 
         final Runnable[] array = execute.array();
 
@@ -52,8 +117,6 @@ public class FXTaskExecutor extends AbstractTaskExecutor {
                     } catch (final Exception e) {
                         EditorUtil.handleException(LOGGER, this, e);
                     }
-
-                    executed.add(task);
                 }
 
             } catch (final Exception e) {
@@ -62,53 +125,125 @@ public class FXTaskExecutor extends AbstractTaskExecutor {
         }
     }
 
+    /**
+     * Execute the array of tasks from the current offset until the time budget is exhausted.
+     *
+     * @param execute the tasks to dispatch.
+     */
+    @FXThread
+    private void doExecuteWithBudget(@NotNull final Array<Runnable> execute) {
 
-    @Override
-    public void run() {
-        while (true) {
+        final Runnable[] array = execute.array();
+        final long start = System.nanoTime();
+
+        Runnable slowestTask = null;
+        long slowestTime = 0;
+        long end = start;
 
-            executed.clear();
-            execute.clear();
+        int i = offset;
 
-            lock();
+        for (int length = execute.size(); i < length; ) {
+
+            final Runnable task = array[i++];
             try {
+                task.run();
+            } catch (final Exception e) {
+                EditorUtil.handleException(LOGGER, this, e);
+            }
 
-                if (waitTasks.isEmpty()) {
-                    wait.getAndSet(true);
-                } else {
-                    execute.addAll(waitTasks);
-                }
+            final long taskStart = end;
+            end = System.nanoTime();
 
-            } finally {
-                unlock();
+            if (end - taskStart > slowestTime) {
+                slowestTime = end - taskStart;
+                slowestTask = task;
             }
 
-            if (wait.get()) {
-                synchronized (wait) {
-                    if (wait.get()) {
-                        ConcurrentUtils.waitInSynchronize(wait);
-                    }
-                }
+            if (end - start >= BUDGET) {
+                break;
             }
+        }
 
-            if (execute.isEmpty()) continue;
-            executeInFXUIThread();
-            if (executed.isEmpty()) continue;
+        offset = i;
 
-            lock();
-            try {
-                waitTasks.removeAll(executed);
-            } finally {
-                unlock();
+        final long time = end - start;
+
+        if (time > maxPulseTime) {
+            maxPulseTime = time;
+        }
+
+        if (slowestTask != null && (slowestTime > BUDGET || time > BUDGET + OVERRUN_TOLERANCE)) {
+            overruns.incrementAndGet();
+            LOGGER.debug(this, "the pulse took " + TimeUnit.NANOSECONDS.toMillis(time) + " ms, the slowest task " +
+                    slowestTask.getClass().getName() + " took " + TimeUnit.NANOSECONDS.toMillis(slowestTime) + " ms");
+        }
+
+        if (i < execute.size()) {
+            carryOvers.incrementAndGet();
+            getPulseTimer().start();
+        }
+    }
+
+    /**
+     * Get or create the timer to wait for a next pulse.
+     *
+     * @return the pulse timer.
+     */
+    @NotNull
+    @FXThread
+    private AnimationTimer getPulseTimer() {
+
+        if (pulseTimer == null) {
+            pulseTimer = new AnimationTimer() {
+
+                @Override
+                public void handle(final long now) {
+                    stop();
+                    pulse.set(true);
+                    LockSupport.unpark(FXTaskExecutor.this);
+                }
+            };
+        }
+
+        return pulseTimer;
+    }
+
+    @Override
+    protected void executeTasks() {
+
+        if (BUDGET < 1) {
+            executeInFXUIThread(fxTask);
+            return;
+        }
+
+        offset = 0;
+
+        while (true) {
+
+            executeInFXUIThread(fxBudgetTask);
+
+            if (offset >= execute.size()) {
+                break;
             }
+
+            waitNextPulse();
+        }
+    }
+
+    /**
+     * Block this thread until the next pulse of the FX UI Thread.
+     */
+    private void waitNextPulse() {
+        while (!pulse.compareAndSet(true, false)) {
+            LockSupport.park(this);
         }
     }
 
     @FromAnyThread
-    private void executeInFXUIThread() {
+    private void executeInFXUIThread(@NotNull final Runnable task) {
         while (true) {
             try {
-                PlatformImpl.runAndWait(fxTask);
+                PlatformImpl.runAndWait(task);
                 break;
             } catch (final IllegalStateException e) {
                 LOGGER.warning(this, e);
@@ -116,4 +251,35 @@ public class FXTaskExecutor extends AbstractTaskExecutor {
             }
         }
     }
+
+    /**
+     * Get the count of pulses when one task took more time than the budget or the pulse
+     * exceeded the budget by more than the tolerance.
+     *
+     * @return the count of overruns.
+     */
+    @FromAnyThread
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Get the count of pulses which carried over tasks to the next pulse.
+     *
+     * @return the count of carry overs.
+     */
+    @FromAnyThread
+    public long getCarryOvers() {
+        return carryOvers.get();
+    }
+
+    /**
+     * Get the max time of executing tasks in one pulse.
+     *
+     * @return the max time in milliseconds.
+     */
+    @FromAnyThread
+    public long getMaxPulseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxPulseTime);
+    }
 }
@@ -2,9 +2,12 @@ package com.ss.editor.executor.impl;
 
 import com.ss.editor.annotation.JMEThread;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.util.EditorUtil;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
@@ -13,6 +16,10 @@ import com.ss.rlib.util.array.Array;
 import com.ss.rlib.util.array.ArrayFactory;
 import com.ss.rlib.util.array.ConcurrentArray;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The executor to dispatch tasks in the editor thread.
  *
@@ -37,30 +44,120 @@ public class GLTaskExecutor extends AbstractTaskExecutor {
     }
 
     /**
-     * The list of waited tasks.
+     * The time budget of bulk tasks per frame in nanoseconds.
+     */
+    private static final long BULK_BUDGET = TimeUnit.MILLISECONDS.toNanos(Config.GL_BULK_TASK_BUDGET);
+
+    /**
+     * The list of waited interactive tasks.
      */
     @NotNull
     private final ConcurrentArray<Runnable> waitTasks;
 
+    /**
+     * The list of waited bulk tasks.
+     */
+    @NotNull
+    private final ConcurrentArray<Runnable> waitBulkTasks;
+
     /**
      * The list with tasks to dispatch.
      */
     @NotNull
     private final Array<Runnable> execute;
 
+    /**
+     * The queue of bulk tasks to dispatch, the rest tasks are carried over to the next frame.
+     */
+    @NotNull
+    private final Deque<Runnable> executeBulk;
+
+    /**
+     * The count of bulk tasks which were deferred by the last frame.
+     */
+    private volatile int lastDeferredTasks;
+
+    /**
+     * The count of bulk tasks which were executed by the last frame.
+     */
+    private volatile int lastExecutedBulkTasks;
+
+    /**
+     * The count of frames which deferred bulk tasks.
+     */
+    private volatile long deferredFrames;
+
+    /**
+     * The max count of bulk tasks which were deferred by one frame.
+     */
+    private volatile int maxDeferredTasks;
+
+    /**
+     * The handler to wake up the editor thread after adding a new task.
+     */
+    @Nullable
+    private volatile Runnable wakeUpHandler;
+
     private GLTaskExecutor() {
         this.waitTasks = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
+        this.waitBulkTasks = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
         this.execute = ArrayFactory.newArray(Runnable.class);
+        this.executeBulk = new ArrayDeque<>();
     }
 
     /**
-     * Add a task to dispatch.
+     * Add an interactive task to dispatch, these tasks are always executed in the next frame.
      *
      * @param task the task.
      */
     @FromAnyThread
     public void addToExecute(@NotNull final Runnable task) {
         ArrayUtils.runInWriteLock(waitTasks, task, (tasks, toAdd) -> tasks.add(task));
+        wakeUp();
+    }
+
+    /**
+     * Add a task to dispatch with the priority, bulk tasks are executed within the time budget per frame.
+     *
+     * @param task     the task.
+     * @param priority the priority.
+     */
+    @FromAnyThread
+    public void addToExecute(@NotNull final Runnable task, @NotNull final TaskPriority priority) {
+        if (priority == TaskPriority.BULK) {
+            ArrayUtils.runInWriteLock(waitBulkTasks, task, (tasks, toAdd) -> tasks.add(task));
+            wakeUp();
+        } else {
+            addToExecute(task);
+        }
+    }
+
+    /**
+     * Notify the wake up handler about a new task.
+     */
+    private void wakeUp() {
+        final Runnable handler = wakeUpHandler;
+        if (handler != null) handler.run();
+    }
+
+    /**
+     * Set the handler to wake up the editor thread after adding a new task.
+     *
+     * @param wakeUpHandler the handler or null.
+     */
+    @FromAnyThread
+    public void setWakeUpHandler(@Nullable final Runnable wakeUpHandler) {
+        this.wakeUpHandler = wakeUpHandler;
+    }
+
+    /**
+     * Check existing of waited tasks including bulk tasks carried over from the previous frame.
+     *
+     * @return true if there are waited tasks.
+     */
+    @FromAnyThread
+    public boolean hasWaitedTasks() {
+        return !waitTasks.isEmpty() || !waitBulkTasks.isEmpty() || lastDeferredTasks > 0;
     }
 
     /**
@@ -68,15 +165,98 @@ public class GLTaskExecutor extends AbstractTaskExecutor {
      */
     @JMEThread
     public void dispatch() {
-        if (waitTasks.isEmpty()) {
+
+        if (!waitTasks.isEmpty()) {
+            ArrayUtils.runInWriteLock(waitTasks, execute, ArrayUtils::move);
+            for (final Runnable runnable : execute.array()) {
+                GLTaskExecutor.dispatch(runnable);
+            }
+            execute.clear();
+        }
+
+        dispatchBulk();
+    }
+
+    /**
+     * Execute waited bulk tasks until the time budget is exhausted.
+     */
+    @JMEThread
+    private void dispatchBulk() {
+
+        if (!waitBulkTasks.isEmpty()) {
+            ArrayUtils.runInWriteLock(waitBulkTasks, executeBulk, (tasks, queue) -> {
+                tasks.forEach(queue::add);
+                tasks.clear();
+            });
+        }
+
+        if (executeBulk.isEmpty()) {
+            lastExecutedBulkTasks = 0;
+            lastDeferredTasks = 0;
             return;
         }
-        ArrayUtils.runInWriteLock(waitTasks, execute, ArrayUtils::move);
-        for (final Runnable runnable: execute.array()) {
-            GLTaskExecutor.dispatch(runnable);
+
+        final long start = System.nanoTime();
+
+        int executed = 0;
+
+        for (Runnable task = executeBulk.poll(); task != null; task = executeBulk.poll()) {
+
+            GLTaskExecutor.dispatch(task);
+            executed++;
+
+            if (System.nanoTime() - start >= BULK_BUDGET) {
+                break;
+            }
         }
-        execute.clear();
 
+        lastExecutedBulkTasks = executed;
+        lastDeferredTasks = executeBulk.size();
+
+        if (lastDeferredTasks > 0) {
+            maxDeferredTasks = Math.max(maxDeferredTasks, lastDeferredTasks);
+            deferredFrames++;
+        }
+    }
+
+    /**
+     * Get the count of bulk tasks which were deferred by the last frame.
+     *
+     * @return the count of deferred tasks.
+     */
+    @FromAnyThread
+    public int getLastDeferredTasks() {
+        return lastDeferredTasks;
+    }
+
+    /**
+     * Get the count of bulk tasks which were executed by the last frame.
+     *
+     * @return the count of executed bulk tasks.
+     */
+    @FromAnyThread
+    public int getLastExecutedBulkTasks() {
+        return lastExecutedBulkTasks;
+    }
+
+    /**
+     * Get the count of frames which deferred bulk tasks.
+     *
+     * @return the count of frames.
+     */
+    @FromAnyThread
+    public long getDeferredFrames() {
+        return deferredFrames;
+    }
+
+    /**
+     * Get the max count of bulk tasks which were deferred by one frame.
+     *
+     * @return the max count of deferred tasks.
+     */
+    @FromAnyThread
+    public int getMaxDeferredTasks() {
+        return maxDeferredTasks;
     }
 
     @JMEThread
@@ -91,7 +271,7 @@ public class GLTaskExecutor extends AbstractTaskExecutor {
     }
 
     @Override
-    protected void doExecute(@NotNull Array<Runnable> execute, @NotNull Array<Runnable> executed) {
+    protected void doExecute(@NotNull Array<Runnable> execute) {
 
     }
 }
@@ -0,0 +1,129 @@
+package com.ss.editor.executor.impl;
+
+import com.ss.editor.executor.TaskQueue;
+import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.concurrent.util.ConcurrentUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The implementation of the {@link TaskQueue} based on an array guarded by a lock.
+ *
+ * @author JavaSaBr
+ */
+public class LockedTaskQueue implements TaskQueue {
+
+    /**
+     * The array of waited tasks.
+     */
+    @NotNull
+    private final Array<Runnable> waitTasks;
+
+    /**
+     * Is the consumer waiting new tasks.
+     */
+    @NotNull
+    private final AtomicBoolean wait;
+
+    /**
+     * The synchronizer.
+     */
+    @NotNull
+    private final Lock lock;
+
+    /**
+     * Instantiates a new locked task queue.
+     */
+    public LockedTaskQueue() {
+        this.waitTasks = ArrayFactory.newArray(Runnable.class);
+        this.lock = LockFactory.newAtomicLock();
+        this.wait = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void offer(@NotNull final Runnable task) {
+        lock.lock();
+        try {
+
+            waitTasks.add(task);
+            if (!wait.get()) return;
+
+            synchronized (wait) {
+                if (wait.compareAndSet(true, false)) {
+                    ConcurrentUtils.notifyAllInSynchronize(wait);
+                }
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(@NotNull final Array<Runnable> container, final int limit) {
+        lock.lock();
+        try {
+
+            final int size = waitTasks.size();
+
+            if (size <= limit) {
+                container.addAll(waitTasks);
+                waitTasks.clear();
+                return size;
+            }
+
+            for (int i = 0; i < limit; i++) {
+                container.add(waitTasks.get(i));
+            }
+
+            // shift the rest tasks to the begin of the array
+            for (int i = limit; i < size; i++) {
+                waitTasks.set(i - limit, waitTasks.get(i));
+            }
+
+            for (int i = 0; i < limit; i++) {
+                waitTasks.pop();
+            }
+
+            return limit;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void await() {
+
+        lock.lock();
+        try {
+            if (waitTasks.isEmpty()) {
+                wait.getAndSet(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!wait.get()) return;
+
+        synchronized (wait) {
+            if (wait.get()) {
+                ConcurrentUtils.waitInSynchronize(wait);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return waitTasks.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ss.editor.executor.impl;
+
+import com.ss.editor.executor.TaskQueue;
+import com.ss.rlib.util.array.Array;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The lock-free implementation of the {@link TaskQueue} for many producers and the only one consumer.
+ * Producers link new nodes by swapping the tail, the consumer owns the head and parks itself while the
+ * queue is empty.
+ *
+ * @author JavaSaBr
+ */
+public class MpscTaskQueue implements TaskQueue {
+
+    /**
+     * The node of the queue.
+     */
+    private static final class Node {
+
+        @NotNull
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        /**
+         * The next node.
+         */
+        @Nullable
+        private volatile Node next;
+
+        /**
+         * The task of this node.
+         */
+        @Nullable
+        private Runnable task;
+
+        private Node(@Nullable final Runnable task) {
+            this.task = task;
+        }
+
+        private void setNext(@NotNull final Node next) {
+            NEXT_UPDATER.lazySet(this, next);
+        }
+    }
+
+    /**
+     * The last linked node, is updated by producers.
+     */
+    @NotNull
+    private final AtomicReference<Node> tail;
+
+    /**
+     * The flag of parking the consumer.
+     */
+    @NotNull
+    private final AtomicBoolean parked;
+
+    /**
+     * The already consumed node, is updated only by the consumer.
+     */
+    @NotNull
+    private Node head;
+
+    /**
+     * The consumer thread.
+     */
+    @Nullable
+    private volatile Thread consumer;
+
+    /**
+     * Instantiates a new MPSC task queue.
+     */
+    public MpscTaskQueue() {
+        this.head = new Node(null);
+        this.tail = new AtomicReference<>(head);
+        this.parked = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void offer(@NotNull final Runnable task) {
+
+        final Node node = new Node(task);
+        final Node prev = tail.getAndSet(node);
+        prev.setNext(node);
+
+        if (parked.get() && parked.compareAndSet(true, false)) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public int drainTo(@NotNull final Array<Runnable> container, final int limit) {
+
+        int count = 0;
+
+        while (count < limit) {
+
+            Node next = head.next;
+
+            if (next == null) {
+
+                if (head == tail.get()) {
+                    break;
+                }
+
+                // a producer has swapped the tail but hasn't linked the node yet
+                while ((next = head.next) == null) {
+                    Thread.yield();
+                }
+            }
+
+            container.add(next.task);
+            next.task = null;
+            head = next;
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void await() {
+
+        consumer = Thread.currentThread();
+
+        while (isEmpty()) {
+
+            parked.set(true);
+
+            // recheck after publishing the flag to not lose a signal from a producer
+            if (!isEmpty()) {
+                parked.set(false);
+                break;
+            }
+
+            LockSupport.park(this);
+            parked.set(false);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head == tail.get();
+    }
+}
@@ -0,0 +1,289 @@
+package com.ss.editor.executor.impl;
+
+import com.ss.editor.EditorThread;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.BackgroundTask;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The scheduler of background tasks with work stealing between its workers. Each worker has own deque per
+ * {@link TaskPriority}, idle workers steal tasks from other workers starting from the highest priority.
+ *
+ * @author JavaSaBr
+ */
+public class WorkStealingTaskScheduler {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(WorkStealingTaskScheduler.class);
+
+    /**
+     * The worker thread of the scheduler.
+     */
+    private final class Worker extends EditorThread {
+
+        /**
+         * The deques of tasks per priority.
+         */
+        @NotNull
+        private final ConcurrentLinkedDeque<BackgroundTask<?>>[] lanes;
+
+        /**
+         * Is this worker parked.
+         */
+        @NotNull
+        private final AtomicBoolean parked;
+
+        /**
+         * The index of this worker.
+         */
+        private final int index;
+
+        @SuppressWarnings("unchecked")
+        private Worker(final int index) {
+            this.index = index;
+            this.parked = new AtomicBoolean(false);
+            this.lanes = new ConcurrentLinkedDeque[TaskPriority.VALUES.length];
+
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new ConcurrentLinkedDeque<>();
+            }
+
+            setName(WorkStealingTaskScheduler.class.getSimpleName() + "_" + (index + 1));
+            setPriority(NORM_PRIORITY - 2);
+            setDaemon(true);
+        }
+
+        /**
+         * @return the scheduler of this worker.
+         */
+        @NotNull
+        private WorkStealingTaskScheduler getScheduler() {
+            return WorkStealingTaskScheduler.this;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+
+                final BackgroundTask<?> task = findTask(index);
+
+                if (task == null) {
+                    waitTasks(this);
+                    continue;
+                }
+
+                try {
+                    task.run();
+                } catch (final Throwable e) {
+                    LOGGER.warning(this, e);
+                } finally {
+                    finish(task);
+                }
+            }
+        }
+    }
+
+    /**
+     * The workers.
+     */
+    @NotNull
+    private final Worker[] workers;
+
+    /**
+     * The table of the last submitted task per coalescing key.
+     */
+    @NotNull
+    private final ConcurrentMap<Object, BackgroundTask<?>> coalescedTasks;
+
+    /**
+     * The index of a next worker to submit a task from external threads.
+     */
+    @NotNull
+    private final AtomicInteger nextWorker;
+
+    /**
+     * Instantiates a new work stealing task scheduler.
+     *
+     * @param workers the count of workers.
+     */
+    public WorkStealingTaskScheduler(final int workers) {
+        this.workers = new Worker[Math.max(workers, 1)];
+        this.coalescedTasks = new ConcurrentHashMap<>();
+        this.nextWorker = new AtomicInteger(0);
+
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new Worker(i);
+        }
+
+        for (final Worker worker : this.workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Submit a new task. If the task has a coalescing key, a not started task with the same key is cancelled.
+     *
+     * @param <T>  the type of the result.
+     * @param task the task.
+     * @return the submitted task.
+     */
+    @NotNull
+    @FromAnyThread
+    public <T> BackgroundTask<T> submit(@NotNull final BackgroundTask<T> task) {
+
+        final Object coalescingKey = task.getCoalescingKey();
+
+        if (coalescingKey != null) {
+            final BackgroundTask<?> prev = coalescedTasks.put(coalescingKey, task);
+            if (prev != null) prev.cancel(false);
+        }
+
+        final Thread thread = Thread.currentThread();
+        final Worker target;
+
+        if (thread instanceof Worker && ((Worker) thread).getScheduler() == this) {
+            target = (Worker) thread;
+        } else {
+            target = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        }
+
+        target.lanes[task.getPriority().ordinal()].offerLast(task);
+
+        if (!unpark(target)) {
+            for (final Worker worker : workers) {
+                if (unpark(worker)) break;
+            }
+        }
+
+        return task;
+    }
+
+    /**
+     * Get the count of waited tasks.
+     *
+     * @return the count of waited tasks.
+     */
+    @FromAnyThread
+    public int getWaitedTasks() {
+
+        int count = 0;
+
+        for (final Worker worker : workers) {
+            for (final ConcurrentLinkedDeque<BackgroundTask<?>> lane : worker.lanes) {
+                count += lane.size();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Find a next task for the worker: own tasks first and then steal tasks from other workers, the higher
+     * priority goes before own tasks of the lower priority.
+     */
+    @Nullable
+    @BackgroundThread
+    private BackgroundTask<?> findTask(final int index) {
+
+        final Worker[] workers = this.workers;
+
+        for (int priority = 0; priority < TaskPriority.VALUES.length; priority++) {
+
+            BackgroundTask<?> task = pollFirst(workers[index].lanes[priority]);
+            if (task != null) return task;
+
+            for (int i = 1; i < workers.length; i++) {
+                final Worker victim = workers[(index + i) % workers.length];
+                task = pollLast(victim.lanes[priority]);
+                if (task != null) return task;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private BackgroundTask<?> pollFirst(@NotNull final ConcurrentLinkedDeque<BackgroundTask<?>> lane) {
+        for (BackgroundTask<?> task = lane.pollFirst(); task != null; task = lane.pollFirst()) {
+            if (!task.isDone()) return task;
+            finish(task);
+        }
+        return null;
+    }
+
+    @Nullable
+    private BackgroundTask<?> pollLast(@NotNull final ConcurrentLinkedDeque<BackgroundTask<?>> lane) {
+        for (BackgroundTask<?> task = lane.pollLast(); task != null; task = lane.pollLast()) {
+            if (!task.isDone()) return task;
+            finish(task);
+        }
+        return null;
+    }
+
+    /**
+     * Check all workers for waited tasks.
+     */
+    private boolean hasTasks() {
+
+        for (final Worker worker : workers) {
+            for (final ConcurrentLinkedDeque<BackgroundTask<?>> lane : worker.lanes) {
+                if (!lane.isEmpty()) return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Park the worker until a new task is submitted.
+     */
+    @BackgroundThread
+    private void waitTasks(@NotNull final Worker worker) {
+
+        worker.parked.set(true);
+
+        // recheck after publishing the flag to not lose a signal from a submitter
+        if (hasTasks()) {
+            worker.parked.set(false);
+            return;
+        }
+
+        LockSupport.park(this);
+        worker.parked.set(false);
+    }
+
+    /**
+     * Wake up the worker if it is parked.
+     *
+     * @return true if the worker was parked.
+     */
+    private boolean unpark(@NotNull final Worker worker) {
+
+        if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+            LockSupport.unpark(worker);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Release the coalescing key of the finished task.
+     */
+    private void finish(@NotNull final BackgroundTask<?> task) {
+        final Object coalescingKey = task.getCoalescingKey();
+        if (coalescingKey != null) coalescedTasks.remove(coalescingKey, task);
+    }
+}
@@ -14,6 +14,7 @@ import com.jme3.scene.Spatial;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FXThread;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.model.tool.TangentGenerator;
 import com.ss.editor.serializer.MaterialSerializer;
 import com.ss.editor.ui.dialog.converter.ModelConverterDialog;
@@ -66,7 +67,7 @@ public abstract class AbstractModelFileConverter extends AbstractFileConverter {
         final EditorFXScene scene = JFX_APPLICATION.getScene();
         scene.incrementLoading();
 
-        EXECUTOR_MANAGER.addBackgroundTask(() -> convertImpl(source, dialog));
+        EXECUTOR_MANAGER.addBackgroundTask(() -> convertImpl(source, dialog), TaskPriority.BULK);
     }
 
     /**
@@ -8,6 +8,9 @@ import com.jme3.material.Material;
 import com.jme3.scene.Spatial;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.Messages;
+import com.ss.editor.manager.ResourceManager;
+import com.ss.editor.model.asset.AssetDependencyGraph;
+import com.ss.editor.model.asset.AssetIndex;
 import com.ss.editor.ui.dialog.ConfirmDialog;
 import com.ss.editor.ui.scene.EditorFXScene;
 import com.ss.editor.util.EditorUtil;
@@ -23,59 +26,79 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
- * The implementation of delete handler to delete related materials.
+ * The implementation of delete handler to delete related materials. Only materials which are assigned to
+ * geometries of the model are deleted, they are taken from the dependency graph and the model is loaded to find
+ * them only if the graph doesn't know them for sure.
  *
  * @author JavaSaBr
  */
 public class DeleteMaterialsModelFileDeleteHandler extends AbstractFileDeleteHandler {
 
+    /**
+     * The asset paths of materials of the removed model.
+     */
     @Nullable
-    private Spatial model;
+    private Array<String> materials;
 
     @Override
     public void preDelete(@NotNull final Path file) {
         super.preDelete(file);
 
-        final AssetManager assetManager = EDITOR.getAssetManager();
         final Path assetFile = notNull(getAssetFile(file));
         final String assetPath = toAssetPath(assetFile);
 
-        this.model = assetManager.loadModel(assetPath);
+        final ResourceManager resourceManager = ResourceManager.getInstance();
+        final AssetIndex assetIndex = resourceManager.getAssetIndex();
+        final AssetDependencyGraph dependencyGraph = resourceManager.getDependencyGraph();
+
+        if (assetIndex != null && dependencyGraph != null && dependencyGraph.isReady()) {
+            this.materials = dependencyGraph.getMaterials(assetIndex, assetPath);
+            if (this.materials != null) return;
+        }
+
+        final Array<String> materials = ArrayFactory.newArray(String.class);
+        this.materials = materials;
+
+        final AssetManager assetManager = EDITOR.getAssetManager();
+        final Spatial model = assetManager.loadModel(assetPath);
+
+        NodeUtils.visitGeometry(model, geometry -> {
+            final Material material = geometry.getMaterial();
+            final String assetName = material == null ? null : material.getAssetName();
+            if (!StringUtils.isEmpty(assetName) && !materials.contains(assetName)) materials.add(assetName);
+        });
     }
 
     /**
-     * @return removed model.
+     * @return the asset paths of materials of the removed model.
      */
     @NotNull
-    private Spatial getModel() {
-        return notNull(model);
+    private Array<String> getMaterials() {
+        return notNull(materials);
     }
 
     @Override
     public void postDelete(@NotNull final Path file) {
         super.postDelete(file);
 
-        String question = Messages.FILE_DELETE_HANDLER_DELETE_MATERIALS;
-        question = question.replace("%file_name%", file.getFileName().toString());
+        final Array<String> materials = getMaterials();
+        if (materials.isEmpty()) return;
+
+        final StringBuilder question = new StringBuilder(Messages.FILE_DELETE_HANDLER_DELETE_MATERIALS
+                .replace("%file_name%", file.getFileName().toString()));
+
+        materials.forEach(assetPath -> question.append('\n').append(assetPath));
 
         final EditorFXScene scene = JFX_APPLICATION.getScene();
-        final ConfirmDialog confirmDialog = new ConfirmDialog(this::handle);
+        final ConfirmDialog confirmDialog = new ConfirmDialog(this::handle, question.toString());
         confirmDialog.show(scene.getWindow());
     }
 
     private void handle(@NotNull final Boolean result) {
         if (!result) return;
 
-        final Array<String> assetKeys = ArrayFactory.newArray(String.class);
-
-        final Spatial model = getModel();
-        NodeUtils.visitGeometry(model, geometry -> {
-            final Material material = geometry.getMaterial();
-            final String assetName = material.getAssetName();
-            if (!StringUtils.isEmpty(assetName)) assetKeys.add(assetName);
-        });
-
-        assetKeys.stream().map(EditorUtil::getRealFile)
+        final Array<String> materials = getMaterials();
+        materials.stream().map(EditorUtil::getRealFile)
                 .filter(Files::exists)
                 .forEach(FileUtils::delete);
     }
@@ -14,6 +14,8 @@
 
 package com.ss.editor.file.reader;
 
+import java.util.stream.IntStream;
+
 /**
  * The type Dds reader.
  */
@@ -82,6 +84,143 @@ public final class DDSReader {
                 (buffer[107] & 0xFF) << 24;
     }
 
+    /**
+     * The size of the header.
+     */
+    public static final int HEADER_SIZE = 128;
+
+    /**
+     * The min count of block rows in a strip of parallel decoding.
+     */
+    private static final int MIN_STRIP_ROWS = 16;
+
+    /**
+     * Gets the count of mipmap levels.
+     *
+     * @param header the header
+     * @return the count of mipmap levels
+     */
+    public static int getMipmapCount(byte[] header) {
+        return Math.max(1, getMipmap(header));
+    }
+
+    /**
+     * Gets the width of the mipmap level.
+     *
+     * @param header      the header
+     * @param mipmapLevel the mipmap level
+     * @return the width
+     */
+    public static int getMipmapWidth(byte[] header, int mipmapLevel) {
+        return Math.max(1, getWidth(header) >> mipmapLevel);
+    }
+
+    /**
+     * Gets the height of the mipmap level.
+     *
+     * @param header      the header
+     * @param mipmapLevel the mipmap level
+     * @return the height
+     */
+    public static int getMipmapHeight(byte[] header, int mipmapLevel) {
+        return Math.max(1, getHeight(header) >> mipmapLevel);
+    }
+
+    /**
+     * Gets the length of data of the mipmap level.
+     *
+     * @param header      the header
+     * @param mipmapLevel the mipmap level
+     * @return the length or -1 if the format isn't supported
+     */
+    public static long getMipmapLength(byte[] header, int mipmapLevel) {
+        return getLength(getType(header), getMipmapWidth(header, mipmapLevel), getMipmapHeight(header, mipmapLevel));
+    }
+
+    /**
+     * Gets the offset of data of the mipmap level from the start of the file.
+     *
+     * @param header      the header
+     * @param mipmapLevel the mipmap level
+     * @return the offset or -1 if the format isn't supported
+     */
+    public static long getMipmapOffset(byte[] header, int mipmapLevel) {
+
+        long offset = HEADER_SIZE;
+
+        for (int i = 0; i < mipmapLevel; i++) {
+            long length = getMipmapLength(header, i);
+            if (length < 0) return -1;
+            offset += length;
+        }
+
+        return offset;
+    }
+
+    /**
+     * Gets the height of a row of data of the mipmap level, compressed formats are stored by rows of 4x4 blocks.
+     *
+     * @param header the header
+     * @return the height of a row in pixels or -1 if the format isn't supported
+     */
+    public static int getRowHeight(byte[] header) {
+        int type = getType(header);
+        if (getLength(type, 1, 1) < 0) return -1;
+        return type == DXT1 || type == DXT2 || type == DXT3 || type == DXT4 || type == DXT5 ? 4 : 1;
+    }
+
+    /**
+     * Gets the length of data of rows of the mipmap level.
+     *
+     * @param header      the header
+     * @param mipmapLevel the mipmap level
+     * @param height      the height of rows in pixels
+     * @return the length or -1 if the format isn't supported
+     */
+    public static long getRowsLength(byte[] header, int mipmapLevel, int height) {
+        return getLength(getType(header), getMipmapWidth(header, mipmapLevel), height);
+    }
+
+    /**
+     * Read rows of the mipmap level from the data which was read separately, so a large level can be decoded by
+     * strips. The strip should start at a row of data.
+     *
+     * @param header      the header
+     * @param data        the data of the rows
+     * @param order       the order
+     * @param mipmapLevel the mipmap level
+     * @param height      the height of rows in pixels
+     * @return the pixels or null if the format isn't supported
+     * @see #getRowHeight(byte[])
+     */
+    public static int[] readRows(byte[] header, byte[] data, Order order, int mipmapLevel, int height) {
+        return decode(getType(header), getMipmapWidth(header, mipmapLevel), height, 0, data, order);
+    }
+
+    private static long getLength(int type, int width, int height) {
+        switch (type) {
+            case DXT1:
+                return 8L * ((width + 3) / 4) * ((height + 3) / 4);
+            case DXT2:
+            case DXT3:
+            case DXT4:
+            case DXT5:
+                return 16L * ((width + 3) / 4) * ((height + 3) / 4);
+            case A1R5G5B5:
+            case X1R5G5B5:
+            case A4R4G4B4:
+            case X4R4G4B4:
+            case R5G6B5:
+            case R8G8B8:
+            case A8B8G8R8:
+            case X8B8G8R8:
+            case A8R8G8B8:
+            case X8R8G8B8:
+                return (long) (type & 0xFF) * width * height;
+        }
+        return -1;
+    }
+
     /**
      * Read int [ ].
      *
@@ -92,65 +231,43 @@ public final class DDSReader {
      */
     public static int[] read(byte[] buffer, Order order, int mipmapLevel) {
 
-        // header
-        int width = getWidth(buffer);
-        int height = getHeight(buffer);
-        int mipmap = getMipmap(buffer);
-
-        // type
-        int type = getType(buffer);
-        if (type == 0) return null;
-
-        // offset
-        int offset = 128; // header size
-        if (mipmapLevel > 0 && mipmapLevel < mipmap) {
-            for (int i = 0; i < mipmapLevel; i++) {
-                switch (type) {
-                    case DXT1:
-                        offset += 8 * ((width + 3) / 4) * ((height + 3) / 4);
-                        break;
-                    case DXT2:
-                    case DXT3:
-                    case DXT4:
-                    case DXT5:
-                        offset += 16 * ((width + 3) / 4) * ((height + 3) / 4);
-                        break;
-                    case A1R5G5B5:
-                    case X1R5G5B5:
-                    case A4R4G4B4:
-                    case X4R4G4B4:
-                    case R5G6B5:
-                    case R8G8B8:
-                    case A8B8G8R8:
-                    case X8B8G8R8:
-                    case A8R8G8B8:
-                    case X8R8G8B8:
-                        offset += (type & 0xFF) * width * height;
-                        break;
-                }
-                width /= 2;
-                height /= 2;
-            }
-            if (width <= 0) width = 1;
-            if (height <= 0) height = 1;
+        if (mipmapLevel < 0 || mipmapLevel >= getMipmapCount(buffer)) {
+            mipmapLevel = 0;
         }
 
+        long offset = getMipmapOffset(buffer, mipmapLevel);
+        if (offset < 0) return null;
+
+        return decode(getType(buffer), getMipmapWidth(buffer, mipmapLevel), getMipmapHeight(buffer, mipmapLevel),
+                (int) offset, buffer, order);
+    }
+
+    /**
+     * Read the mipmap level from the data which was read separately from the header, so other levels don't need
+     * to be read from the file.
+     *
+     * @param header      the header
+     * @param data        the data of the mipmap level
+     * @param order       the order
+     * @param mipmapLevel the mipmap level
+     * @return the pixels or null if the format isn't supported
+     */
+    public static int[] readMipmap(byte[] header, byte[] data, Order order, int mipmapLevel) {
+        return decode(getType(header), getMipmapWidth(header, mipmapLevel), getMipmapHeight(header, mipmapLevel),
+                0, data, order);
+    }
+
+    private static int[] decode(int type, int width, int height, int offset, byte[] buffer, Order order) {
+
         int[] pixels = null;
         switch (type) {
             case DXT1:
-                pixels = decodeDXT1(width, height, offset, buffer, order);
-                break;
             case DXT2:
-                pixels = decodeDXT2(width, height, offset, buffer, order);
-                break;
             case DXT3:
-                pixels = decodeDXT3(width, height, offset, buffer, order);
-                break;
             case DXT4:
-                pixels = decodeDXT4(width, height, offset, buffer, order);
-                break;
             case DXT5:
-                pixels = decodeDXT5(width, height, offset, buffer, order);
+                pixels = new int[width * height];
+                decodeDXT(type, width, height, offset, buffer, order, pixels);
                 break;
             case A1R5G5B5:
                 pixels = readA1R5G5B5(width, height, offset, buffer, order);
@@ -187,6 +304,41 @@ public final class DDSReader {
         return pixels;
     }
 
+    /**
+     * Decode DXT blocks, large images are decoded by strips of block rows in parallel.
+     */
+    private static void decodeDXT(int type, int width, int height, int offset, byte[] buffer, Order order,
+                                  int[] pixels) {
+
+        int rows = (height + 3) / 4;
+        int strips = Math.min(Runtime.getRuntime().availableProcessors(), rows / MIN_STRIP_ROWS);
+
+        if (strips < 2) {
+            decodeDXT(type, width, height, offset, buffer, order, pixels, 0, rows);
+            return;
+        }
+
+        IntStream.range(0, strips).parallel().forEach(strip -> decodeDXT(type, width, height, offset, buffer,
+                order, pixels, rows * strip / strips, rows * (strip + 1) / strips));
+    }
+
+    private static void decodeDXT(int type, int width, int height, int offset, byte[] buffer, Order order,
+                                  int[] pixels, int fromRow, int toRow) {
+        switch (type) {
+            case DXT1:
+                decodeDXT1(width, height, offset, buffer, order, pixels, fromRow, toRow);
+                break;
+            case DXT2:
+            case DXT3:
+                decodeDXT3(width, height, offset, buffer, order, pixels, fromRow, toRow);
+                break;
+            case DXT4:
+            case DXT5:
+                decodeDXT5(width, height, offset, buffer, order, pixels, fromRow, toRow);
+                break;
+        }
+    }
+
     private static int getType(byte[] buffer) {
 
         int type = 0;
@@ -264,12 +416,11 @@ public final class DDSReader {
 
     }
 
-    private static int[] decodeDXT1(int width, int height, int offset, byte[] buffer, Order order) {
-        int[] pixels = new int[width * height];
-        int index = offset;
+    private static void decodeDXT1(int width, int height, int offset, byte[] buffer, Order order, int[] pixels,
+                                   int fromRow, int toRow) {
         int w = (width + 3) / 4;
-        int h = (height + 3) / 4;
-        for (int i = 0; i < h; i++) {
+        int index = offset + 8 * w * fromRow;
+        for (int i = fromRow; i < toRow; i++) {
             for (int j = 0; j < w; j++) {
                 int c0 = (buffer[index] & 0xFF) | (buffer[index + 1] & 0xFF) << 8;
                 index += 2;
@@ -291,20 +442,14 @@ public final class DDSReader {
                 }
             }
         }
-        return pixels;
-    }
-
-    private static int[] decodeDXT2(int width, int height, int offset, byte[] buffer, Order order) {
-        return decodeDXT3(width, height, offset, buffer, order);
     }
 
-    private static int[] decodeDXT3(int width, int height, int offset, byte[] buffer, Order order) {
-        int index = offset;
+    private static void decodeDXT3(int width, int height, int offset, byte[] buffer, Order order, int[] pixels,
+                                   int fromRow, int toRow) {
         int w = (width + 3) / 4;
-        int h = (height + 3) / 4;
-        int[] pixels = new int[width * height];
+        int index = offset + 16 * w * fromRow;
         int[] alphaTable = new int[16];
-        for (int i = 0; i < h; i++) {
+        for (int i = fromRow; i < toRow; i++) {
             for (int j = 0; j < w; j++) {
                 // create alpha table(4bit to 8bit)
                 for (int k = 0; k < 4; k++) {
@@ -340,20 +485,14 @@ public final class DDSReader {
                 }
             }
         }
-        return pixels;
-    }
-
-    private static int[] decodeDXT4(int width, int height, int offset, byte[] buffer, Order order) {
-        return decodeDXT5(width, height, offset, buffer, order);
     }
 
-    private static int[] decodeDXT5(int width, int height, int offset, byte[] buffer, Order order) {
-        int index = offset;
+    private static void decodeDXT5(int width, int height, int offset, byte[] buffer, Order order, int[] pixels,
+                                   int fromRow, int toRow) {
         int w = (width + 3) / 4;
-        int h = (height + 3) / 4;
-        int[] pixels = new int[width * height];
+        int index = offset + 16 * w * fromRow;
         int[] alphaTable = new int[16];
-        for (int i = 0; i < h; i++) {
+        for (int i = fromRow; i < toRow; i++) {
             for (int j = 0; j < w; j++) {
                 // create alpha table
                 int a0 = (buffer[index++] & 0xFF);
@@ -402,7 +541,6 @@ public final class DDSReader {
                 }
             }
         }
-        return pixels;
     }
 
     private static int[] readA1R5G5B5(int width, int height, int offset, byte[] buffer, Order order) {
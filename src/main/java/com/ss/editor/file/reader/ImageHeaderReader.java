@@ -0,0 +1,407 @@
+package com.ss.editor.file.reader;
+
+import com.ss.editor.FileExtensions;
+import com.ss.editor.model.asset.ImageMetadata;
+import com.ss.rlib.util.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * The reader of metadata of images from headers of image files, pixels are never decoded. PNG, JPEG, TGA, DDS and
+ * HDR headers are parsed here, other formats are asked by ImageIO readers for the size only.
+ *
+ * @author JavaSaBr
+ */
+public class ImageHeaderReader {
+
+    /**
+     * The size of the read buffer.
+     */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The max length of a text line of a HDR header.
+     */
+    private static final int MAX_HDR_LINE = 256;
+
+    @NotNull
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @NotNull
+    private static final byte[] DDS_SIGNATURE = {'D', 'D', 'S', ' '};
+
+    @NotNull
+    private static final byte[] HDR_SIGNATURE = {'#', '?'};
+
+    private static final int DDPF_ALPHAPIXELS = 0x1;
+    private static final int DDPF_FOURCC = 0x4;
+    private static final int DDPF_RGB = 0x40;
+    private static final int DDPF_LUMINANCE = 0x20000;
+
+    /**
+     * Read metadata of the image file.
+     *
+     * @param file the image file.
+     * @return the metadata or null if the format isn't supported.
+     * @throws IOException if the file can't be read.
+     */
+    @Nullable
+    public static ImageMetadata read(@NotNull final Path file) throws IOException {
+
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+
+            if (startsWith(in, PNG_SIGNATURE)) {
+                return readPNG(in);
+            } else if (startsWith(in, DDS_SIGNATURE)) {
+                return readDDS(in);
+            } else if (startsWith(in, HDR_SIGNATURE)) {
+                return readHDR(in);
+            }
+
+            in.mark(2);
+
+            if (in.read() == 0xFF && in.read() == 0xD8) {
+                return readJPEG(in);
+            }
+        }
+
+        // TGA files have no signature
+        if (FileExtensions.IMAGE_TGA.equals(FileUtils.getExtension(file))) {
+            try (final InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+                return readTGA(in);
+            }
+        }
+
+        return readOther(file);
+    }
+
+    /**
+     * Read the IHDR chunk which follows the signature.
+     */
+    @Nullable
+    private static ImageMetadata readPNG(@NotNull final InputStream in) throws IOException {
+
+        final byte[] chunk = new byte[21];
+        readFully(in, chunk);
+
+        if (chunk[4] != 'I' || chunk[5] != 'H' || chunk[6] != 'D' || chunk[7] != 'R') {
+            return null;
+        }
+
+        final int width = readIntBE(chunk, 8);
+        final int height = readIntBE(chunk, 12);
+        final int bitDepth = chunk[16] & 0xFF;
+        final int colorType = chunk[17] & 0xFF;
+        final boolean interlaced = chunk[20] != 0;
+
+        final String channels;
+
+        switch (colorType) {
+            case 0: channels = "L"; break;
+            case 2: channels = "RGB"; break;
+            case 3: channels = "Indexed"; break;
+            case 4: channels = "LA"; break;
+            case 6: channels = "RGBA"; break;
+            default: return null;
+        }
+
+        final int samples = colorType == 3 ? 1 : channels.length();
+        final String compression = interlaced ? "Deflate, Adam7" : "Deflate";
+
+        return new ImageMetadata("PNG", width, height, 1, channels, samples * bitDepth, compression);
+    }
+
+    /**
+     * Walk segments of the JPEG stream up to the first start of frame segment.
+     */
+    @Nullable
+    private static ImageMetadata readJPEG(@NotNull final InputStream in) throws IOException {
+
+        while (true) {
+
+            int marker = readByte(in);
+            if (marker != 0xFF) return null;
+
+            // markers can be padded by fill bytes
+            while (marker == 0xFF) {
+                marker = readByte(in);
+            }
+
+            if (marker == 0xD9 || marker == 0xDA) {
+                return null;
+            } else if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                continue;
+            }
+
+            final int length = readByte(in) << 8 | readByte(in);
+            if (length < 2) return null;
+
+            final boolean frame = marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 &&
+                    marker != 0xCC;
+
+            if (!frame) {
+                skipFully(in, length - 2);
+                continue;
+            }
+
+            final byte[] header = new byte[6];
+            readFully(in, header);
+
+            final int precision = header[0] & 0xFF;
+            final int height = (header[1] & 0xFF) << 8 | header[2] & 0xFF;
+            final int width = (header[3] & 0xFF) << 8 | header[4] & 0xFF;
+            final int components = header[5] & 0xFF;
+
+            final String channels;
+
+            switch (components) {
+                case 1: channels = "L"; break;
+                case 3: channels = "YCbCr"; break;
+                case 4: channels = "CMYK"; break;
+                default: channels = String.valueOf(components);
+            }
+
+            final String compression;
+
+            switch (marker & 0x03) {
+                case 0x00: compression = "Baseline"; break;
+                case 0x01: compression = "Extended"; break;
+                case 0x02: compression = "Progressive"; break;
+                default: compression = "Lossless";
+            }
+
+            final String coding = (marker & 0x08) == 0 ? "" : ", Arithmetic";
+
+            return new ImageMetadata("JPEG", width, height, 1, channels, components * precision,
+                    compression + coding);
+        }
+    }
+
+    /**
+     * Read the fixed header of the TGA image.
+     */
+    @Nullable
+    private static ImageMetadata readTGA(@NotNull final InputStream in) throws IOException {
+
+        final byte[] header = new byte[18];
+        readFully(in, header);
+
+        final int imageType = header[2] & 0xFF;
+        final int width = (header[12] & 0xFF) | (header[13] & 0xFF) << 8;
+        final int height = (header[14] & 0xFF) | (header[15] & 0xFF) << 8;
+        final int bitsPerPixel = header[16] & 0xFF;
+        final int alphaBits = header[17] & 0x0F;
+
+        final String channels;
+
+        switch (imageType & ~0x08) {
+            case 1: channels = "Indexed"; break;
+            case 2: channels = alphaBits > 0 || bitsPerPixel == 32 ? "RGBA" : "RGB"; break;
+            case 3: channels = alphaBits > 0 ? "LA" : "L"; break;
+            default: return null;
+        }
+
+        final String compression = (imageType & 0x08) == 0 ? "None" : "RLE";
+
+        return new ImageMetadata("TGA", width, height, 1, channels, bitsPerPixel, compression);
+    }
+
+    /**
+     * Read the header of the DDS image which follows the signature.
+     */
+    @NotNull
+    private static ImageMetadata readDDS(@NotNull final InputStream in) throws IOException {
+
+        final byte[] header = new byte[DDSReader.HEADER_SIZE];
+        System.arraycopy(DDS_SIGNATURE, 0, header, 0, DDS_SIGNATURE.length);
+        readFully(in, header, DDS_SIGNATURE.length, header.length - DDS_SIGNATURE.length);
+
+        final int width = DDSReader.getWidth(header);
+        final int height = DDSReader.getHeight(header);
+        final int mipmapCount = DDSReader.getMipmapCount(header);
+        final int flags = readIntLE(header, 80);
+        final int bitCount = readIntLE(header, 88);
+
+        if ((flags & DDPF_FOURCC) != 0) {
+
+            final String fourCC = new String(header, 84, 4, StandardCharsets.US_ASCII).trim();
+            final String channels;
+            final int bitsPerPixel;
+
+            switch (fourCC) {
+                case "DXT1": channels = "RGB"; bitsPerPixel = 4; break;
+                case "ATI1":
+                case "BC4U": channels = "R"; bitsPerPixel = 4; break;
+                case "ATI2":
+                case "BC5U": channels = "RG"; bitsPerPixel = 8; break;
+                case "DXT2":
+                case "DXT3":
+                case "DXT4":
+                case "DXT5": channels = "RGBA"; bitsPerPixel = 8; break;
+                default: channels = ""; bitsPerPixel = 0;
+            }
+
+            return new ImageMetadata("DDS", width, height, mipmapCount, channels, bitsPerPixel, fourCC);
+        }
+
+        final boolean alpha = (flags & DDPF_ALPHAPIXELS) != 0;
+        final String channels;
+
+        if ((flags & DDPF_RGB) != 0) {
+            channels = alpha ? "RGBA" : "RGB";
+        } else if ((flags & DDPF_LUMINANCE) != 0) {
+            channels = alpha ? "LA" : "L";
+        } else {
+            channels = alpha ? "A" : "";
+        }
+
+        return new ImageMetadata("DDS", width, height, mipmapCount, channels, bitCount, "None");
+    }
+
+    /**
+     * Read text lines of the Radiance header up to the resolution line.
+     */
+    @Nullable
+    private static ImageMetadata readHDR(@NotNull final InputStream in) throws IOException {
+
+        String channels = "RGBE";
+
+        // the rest of the signature line
+        readLine(in);
+
+        for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            if (line.startsWith("FORMAT=")) {
+                channels = line.contains("xyze") ? "XYZE" : "RGBE";
+            }
+        }
+
+        final String[] resolution = readLine(in).trim().split("\\s+");
+        if (resolution.length != 4) return null;
+
+        final int height;
+        final int width;
+
+        try {
+
+            if (resolution[0].endsWith("Y")) {
+                height = Integer.parseInt(resolution[1]);
+                width = Integer.parseInt(resolution[3]);
+            } else {
+                width = Integer.parseInt(resolution[1]);
+                height = Integer.parseInt(resolution[3]);
+            }
+
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+
+        return new ImageMetadata("HDR", width, height, 1, channels, 32, "RLE");
+    }
+
+    /**
+     * Ask an ImageIO reader for the size of the image, the readers read only headers for that.
+     */
+    @Nullable
+    private static ImageMetadata readOther(@NotNull final Path file) throws IOException {
+
+        try (final ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+            if (iis == null) return null;
+
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                final String format = reader.getFormatName().toUpperCase();
+                return new ImageMetadata(format, reader.getWidth(0), reader.getHeight(0), 1, "", 0, "");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Check the stream starts with the signature, the stream is reset if it doesn't.
+     */
+    private static boolean startsWith(@NotNull final InputStream in, @NotNull final byte[] signature)
+            throws IOException {
+
+        in.mark(signature.length);
+
+        for (final byte value : signature) {
+            if (in.read() != (value & 0xFF)) {
+                in.reset();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @NotNull
+    private static String readLine(@NotNull final InputStream in) throws IOException {
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (int value = readByte(in); value != '\n'; value = readByte(in)) {
+            if (builder.length() >= MAX_HDR_LINE) throw new IOException("too long header line");
+            builder.append((char) value);
+        }
+
+        return builder.toString();
+    }
+
+    private static int readIntBE(@NotNull final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 |
+                (buffer[offset + 2] & 0xFF) << 8 | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static int readIntLE(@NotNull final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xFF) | (buffer[offset + 1] & 0xFF) << 8 |
+                (buffer[offset + 2] & 0xFF) << 16 | (buffer[offset + 3] & 0xFF) << 24;
+    }
+
+    private static int readByte(@NotNull final InputStream in) throws IOException {
+        final int value = in.read();
+        if (value < 0) throw new EOFException();
+        return value;
+    }
+
+    private static void readFully(@NotNull final InputStream in, @NotNull final byte[] buffer) throws IOException {
+        readFully(in, buffer, 0, buffer.length);
+    }
+
+    private static void readFully(@NotNull final InputStream in, @NotNull final byte[] buffer, final int offset,
+                                  final int length) throws IOException {
+        for (int read = 0; read < length; ) {
+            final int count = in.read(buffer, offset + read, length - read);
+            if (count < 0) throw new EOFException();
+            read += count;
+        }
+    }
+
+    private static void skipFully(@NotNull final InputStream in, final long length) throws IOException {
+        for (long remaining = length; remaining > 0; ) {
+            final long skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else {
+                readByte(in);
+                remaining--;
+            }
+        }
+    }
+}
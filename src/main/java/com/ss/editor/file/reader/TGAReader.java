@@ -5,14 +5,34 @@ import org.jetbrains.annotations.Nullable;
 
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * The TGA image reader.
+ * The TGA image reader which decodes true color images scanline by scanline from a stream, so the encoded file is
+ * never loaded into memory and previews can be decoded with subsampling without a full size image.
  *
  * @author JavaSaBr
  */
 public class TGAReader {
 
+    /**
+     * The size of the header.
+     */
+    private static final int HEADER_SIZE = 18;
+
+    /**
+     * The type of uncompressed true color images.
+     */
+    private static final int TYPE_TRUE_COLOR = 2;
+
+    /**
+     * The type of RLE compressed true color images.
+     */
+    private static final int TYPE_RLE_TRUE_COLOR = 10;
+
     /**
      * Gets image.
      *
@@ -21,90 +41,244 @@ public class TGAReader {
      */
     @Nullable
     public static Image getImage(@NotNull final byte[] buffer) {
-        return decode(buffer);
+        try {
+            return new TGAReader(new ByteArrayInputStream(buffer)).read(1);
+        } catch (final IOException e) {
+            return null;
+        }
     }
 
-    private static int btoi(final byte b) {
-        return ((int) b < 0 ? 256 + (int) b : (int) b);
+    /**
+     * The input stream.
+     */
+    @NotNull
+    private final InputStream in;
+
+    /**
+     * The buffer of an encoded row.
+     */
+    @NotNull
+    private final byte[] rowBuffer;
+
+    /**
+     * The width of the image.
+     */
+    private final int width;
+
+    /**
+     * The height of the image.
+     */
+    private final int height;
+
+    /**
+     * The type of the image.
+     */
+    private final int imageType;
+
+    /**
+     * The count of bytes per pixel.
+     */
+    private final int bytesPerPixel;
+
+    /**
+     * The count of remaining pixels of the current RLE packet.
+     */
+    private int packetRemaining;
+
+    /**
+     * The color of the current RLE packet.
+     */
+    private int packetColor;
+
+    /**
+     * True if the current RLE packet is raw.
+     */
+    private boolean packetRaw;
+
+    /**
+     * Instantiates a new reader and reads the header of the image.
+     *
+     * @param in the buffered input stream of the image.
+     * @throws IOException if the header can't be read.
+     */
+    public TGAReader(@NotNull final InputStream in) throws IOException {
+        this.in = in;
+
+        final byte[] header = new byte[HEADER_SIZE];
+        readFully(header, header.length);
+
+        final int idLength = header[0] & 0xFF;
+        final int colorMapLength = (header[5] & 0xFF) | (header[6] & 0xFF) << 8;
+        final int colorMapDepth = header[7] & 0xFF;
+
+        this.imageType = header[2] & 0xFF;
+        this.width = (header[12] & 0xFF) | (header[13] & 0xFF) << 8;
+        this.height = (header[14] & 0xFF) | (header[15] & 0xFF) << 8;
+        this.bytesPerPixel = (header[16] & 0xFF) / 8;
+        this.rowBuffer = new byte[width * bytesPerPixel];
+
+        skipFully(idLength + colorMapLength * ((colorMapDepth + 7) / 8));
     }
 
-    private static int read(final int offset, @NotNull final byte[] buffer) {
-        return btoi(buffer[offset]);
+    /**
+     * @return the width of the image.
+     */
+    public int getWidth() {
+        return width;
     }
 
+    /**
+     * @return the height of the image.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Read the image, only every n-th row and column is decoded to the result.
+     *
+     * @param subsampling the step of decoded rows and columns.
+     * @return the image or null if the type of the image isn't supported.
+     * @throws IOException if the image can't be read.
+     */
     @Nullable
-    private static Image decode(@NotNull final byte[] buffer) {
+    public BufferedImage read(final int subsampling) throws IOException {
+        if (!isSupported()) return null;
+
+        final int step = Math.max(1, subsampling);
+        final int resultWidth = (width + step - 1) / step;
+        final int resultHeight = (height + step - 1) / step;
+
+        final BufferedImage image = new BufferedImage(resultWidth, resultHeight, BufferedImage.TYPE_INT_ARGB);
+        final int[] row = new int[resultWidth];
 
-        int offset = 0;
+        for (int y = 0; y < height; y++) {
+
+            final boolean decoded = y % step == 0;
+
+            if (imageType == TYPE_TRUE_COLOR) {
+                readRawRow(row, step, decoded);
+            } else {
+                readRLERow(row, step, decoded);
+            }
 
-        for (int i = 0; i < 12; i++) {
-            read(offset++, buffer);
+            if (decoded) {
+                image.setRGB(0, y / step, resultWidth, 1, row, 0, resultWidth);
+            }
         }
 
-        int width = read(offset++, buffer) + (read(offset++, buffer) << 8);   // 00,04=1024
-        int height = read(offset++, buffer) + (read(offset++, buffer) << 8);  // 40,02=576
+        return image;
+    }
 
-        read(offset++, buffer);
-        read(offset++, buffer);
+    /**
+     * Read the next rows of the image in full resolution, so a large image can be processed by strips without
+     * decoding the whole image.
+     *
+     * @param pixels the array for pixels of the rows in the ARGB format.
+     * @param rows   the count of rows to read.
+     * @return false if the type of the image isn't supported.
+     * @throws IOException if the rows can't be read.
+     */
+    public boolean readRows(@NotNull final int[] pixels, final int rows) throws IOException {
+        if (!isSupported()) return false;
 
-        int n = width * height;
-        int[] pixels = new int[n];
-        int idx = 0;
+        final int[] row = new int[width];
 
-        if (buffer[2] == 0x02 && buffer[16] == 0x20) { // uncompressed BGRA
+        for (int y = 0; y < rows; y++) {
 
-            while (n > 0) {
-                int b = read(offset++, buffer);
-                int g = read(offset++, buffer);
-                int r = read(offset++, buffer);
-                int a = read(offset++, buffer);
-                int v = (a << 24) | (r << 16) | (g << 8) | b;
-                pixels[idx++] = v;
-                n -= 1;
+            if (imageType == TYPE_TRUE_COLOR) {
+                readRawRow(row, 1, true);
+            } else {
+                readRLERow(row, 1, true);
             }
 
-        } else if (buffer[2] == 0x02 && buffer[16] == 0x18) {  // uncompressed BGR
+            System.arraycopy(row, 0, pixels, y * width, width);
+        }
+
+        return true;
+    }
+
+    private boolean isSupported() {
+        if (imageType != TYPE_TRUE_COLOR && imageType != TYPE_RLE_TRUE_COLOR) {
+            return false;
+        } else if (bytesPerPixel != 3 && bytesPerPixel != 4) {
+            return false;
+        }
+        return width > 0 && height > 0;
+    }
 
-            while (n > 0) {
-                int b = read(offset++, buffer);
-                int g = read(offset++, buffer);
-                int r = read(offset++, buffer);
-                int a = 255; // opaque pixel
-                int v = (a << 24) | (r << 16) | (g << 8) | b;
-                pixels[idx++] = v;
-                n -= 1;
+    private void readRawRow(@NotNull final int[] row, final int step, final boolean decoded) throws IOException {
+
+        if (!decoded) {
+            skipFully(rowBuffer.length);
+            return;
+        }
+
+        readFully(rowBuffer, rowBuffer.length);
+
+        final int offsetStep = step * bytesPerPixel;
+
+        for (int x = 0, offset = 0; x < row.length; x++, offset += offsetStep) {
+            row[x] = toColor(rowBuffer, offset);
+        }
+    }
+
+    private void readRLERow(@NotNull final int[] row, final int step, final boolean decoded) throws IOException {
+
+        for (int x = 0; x < width; x++) {
+
+            if (packetRemaining == 0) {
+                final int packet = readByte();
+                packetRemaining = (packet & 0x7F) + 1;
+                packetRaw = (packet & 0x80) == 0;
+                if (!packetRaw) packetColor = readPixel();
             }
 
-        } else {
-
-            // RLE compressed
-            while (n > 0) {
-
-                int nb = read(offset++, buffer); // num of pixels
-
-                if ((nb & 0x80) == 0) { // 0x80=dec 128, bits 10000000
-                    for (int i = 0; i <= nb; i++) {
-                        int b = read(offset++, buffer);
-                        int g = read(offset++, buffer);
-                        int r = read(offset++, buffer);
-                        pixels[idx++] = 0xff000000 | (r << 16) | (g << 8) | b;
-                    }
-                } else {
-                    nb &= 0x7f;
-                    int b = read(offset++, buffer);
-                    int g = read(offset++, buffer);
-                    int r = read(offset++, buffer);
-                    int v = 0xff000000 | (r << 16) | (g << 8) | b;
-                    for (int i = 0; i <= nb; i++)
-                        pixels[idx++] = v;
-                }
-                n -= nb + 1;
+            final int color = packetRaw ? readPixel() : packetColor;
+            packetRemaining--;
+
+            if (decoded && x % step == 0) {
+                row[x / step] = color;
             }
         }
+    }
+
+    private int readPixel() throws IOException {
+        readFully(rowBuffer, bytesPerPixel);
+        return toColor(rowBuffer, 0);
+    }
 
-        final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        bufferedImage.setRGB(0, 0, width, height, pixels, 0, width);
+    private int toColor(@NotNull final byte[] buffer, final int offset) {
+        final int b = buffer[offset] & 0xFF;
+        final int g = buffer[offset + 1] & 0xFF;
+        final int r = buffer[offset + 2] & 0xFF;
+        final int a = bytesPerPixel == 4 ? buffer[offset + 3] & 0xFF : 0xFF;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private int readByte() throws IOException {
+        final int value = in.read();
+        if (value < 0) throw new EOFException();
+        return value;
+    }
 
-        return bufferedImage;
+    private void readFully(@NotNull final byte[] buffer, final int length) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            final int read = in.read(buffer, offset, length - offset);
+            if (read < 0) throw new EOFException();
+            offset += read;
+        }
+    }
+
+    private void skipFully(final long length) throws IOException {
+        for (long remaining = length; remaining > 0; ) {
+            final long skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else {
+                readByte();
+                remaining--;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,15 @@
 package com.ss.editor.manager;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * Defines a current editor state.
+ * Defines a current state of the application and current states of its editors.
+ * <p>
+ * The application state is global, the states of editors are tracked per an owner (a file editor or an app
+ * state), so loading or saving in one editor doesn't stop updating other editors.
  *
  * @author pavl_g.
  */
@@ -23,7 +31,12 @@ public final class EditorStateManager {
     }
     private static State currentState = State.UPDATING;
 
-    private static void setCurrentState(final EditorStateManager.State currentState) {
+    /**
+     * The table of not updating states per an owner, an owner without a state is updating.
+     */
+    private static final ConcurrentMap<Object, State> OWNER_STATES = new ConcurrentHashMap<>();
+
+    private static synchronized void setCurrentState(final EditorStateManager.State currentState) {
         EditorStateManager.currentState = currentState;
     }
 
@@ -31,51 +44,85 @@ public final class EditorStateManager {
         return currentState;
     }
 
-    public static void setLoading() {
-        setCurrentState(State.LOADING);
+    public static void setInitializing() {
+        setCurrentState(State.INITIALIZING);
     }
 
-    public static boolean isLoading() {
-        return getCurrentState().state.equals(State.LOADING.getState());
+    public static boolean isInitializing() {
+        return getCurrentState() == State.INITIALIZING;
     }
 
-    public static void setInitializing() {
-        setCurrentState(State.INITIALIZING);
+    public static void setUpdating() {
+        setCurrentState(State.UPDATING);
     }
 
-    public static boolean isInitializing() {
-        return getCurrentState().state.equals(State.INITIALIZING.getState());
+    public static boolean isUpdating() {
+        return getCurrentState() == State.UPDATING;
+    }
+
+    public static void setExiting() {
+        setCurrentState(State.EXITING);
     }
 
-    public static void setSaving() {
-        setCurrentState(State.SAVING);
+    public static boolean isExiting() {
+        return getCurrentState() == State.EXITING;
     }
 
-    public static boolean isSaving() {
-        return getCurrentState().getState().equals(State.SAVING.getState());
+    /**
+     * Gets the current state of the owner.
+     *
+     * @param owner the owner.
+     * @return the current state of the owner.
+     */
+    @NotNull
+    public static State getState(@NotNull final Object owner) {
+        final State state = OWNER_STATES.get(owner);
+        return state == null ? State.UPDATING : state;
     }
 
-    public static void setUpdating() {
-        setCurrentState(State.UPDATING);
+    /**
+     * Sets the current state of the owner.
+     *
+     * @param owner the owner.
+     * @param state the new state.
+     */
+    public static void setState(@NotNull final Object owner, @NotNull final State state) {
+        if (state == State.UPDATING) {
+            OWNER_STATES.remove(owner);
+        } else {
+            OWNER_STATES.put(owner, state);
+        }
     }
 
-    public static boolean isUpdating() {
-        return getCurrentState().getState().equals(State.UPDATING.getState());
+    public static void setLoading(@NotNull final Object owner) {
+        setState(owner, State.LOADING);
     }
 
-    public static void setOpeningFile() {
-        setCurrentState(State.OPENING_FILE);
+    public static boolean isLoading(@NotNull final Object owner) {
+        return getState(owner) == State.LOADING;
     }
 
-    public static boolean isOpeningFile() {
-        return getCurrentState().getState().equals(State.OPENING_FILE.getState());
+    public static void setSaving(@NotNull final Object owner) {
+        setState(owner, State.SAVING);
     }
 
-    public static void setExiting() {
-        setCurrentState(State.EXITING);
+    public static boolean isSaving(@NotNull final Object owner) {
+        return getState(owner) == State.SAVING;
     }
 
-    public static boolean isExiting() {
-        return getCurrentState().getState().equals(State.EXITING.getState());
+    public static void setUpdating(@NotNull final Object owner) {
+        setState(owner, State.UPDATING);
+    }
+
+    public static boolean isUpdating(@NotNull final Object owner) {
+        return getState(owner) == State.UPDATING;
+    }
+
+    public static void setOpeningFile(@NotNull final Object owner) {
+        setState(owner, State.OPENING_FILE);
+    }
+
+    public static boolean isOpeningFile(@NotNull final Object owner) {
+        return getState(owner) == State.OPENING_FILE;
     }
 }
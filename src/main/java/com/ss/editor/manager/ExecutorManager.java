@@ -1,18 +1,23 @@
 package com.ss.editor.manager;
 
-import com.jme3x.jfx.injfx.JmeToJFXApplication;
 import com.ss.editor.Editor;
 import com.ss.editor.EditorThread;
 import com.ss.editor.JFXApplication;
+import com.ss.editor.executor.BackgroundTask;
 import com.ss.editor.executor.TaskExecutor;
-import com.ss.editor.executor.impl.BackgroundTaskExecutor;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.executor.impl.FXTaskExecutor;
 import com.ss.editor.executor.impl.GLTaskExecutor;
+import com.ss.editor.executor.impl.WorkStealingTaskScheduler;
 import com.ss.editor.executor.throwable.GLThreadException;
 import com.ss.editor.executor.throwable.JfxThreadException;
-import com.ss.rlib.concurrent.atomic.AtomicInteger;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -30,23 +35,17 @@ public class ExecutorManager {
     private static final int PROP_BACKGROUND_TASK_EXECUTORS = RUNTIME.availableProcessors();
     private static ExecutorManager instance;
     private final ScheduledExecutorService scheduledExecutorService;
-    private final TaskExecutor[] backgroundTaskExecutors;
+    private final WorkStealingTaskScheduler backgroundTaskScheduler;
     private final GLTaskExecutor editorGLTaskExecutor;
     private final TaskExecutor fxTaskExecutor;
-    private final AtomicInteger nextBackgroundTaskExecutor;
     public static EditorThread GL_THREAD;
     public static EditorThread JFX_THREAD;
 
     private ExecutorManager() {
         this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
-        this.backgroundTaskExecutors = new TaskExecutor[PROP_BACKGROUND_TASK_EXECUTORS];
+        this.backgroundTaskScheduler = new WorkStealingTaskScheduler(PROP_BACKGROUND_TASK_EXECUTORS);
         this.editorGLTaskExecutor = GLTaskExecutor.getInstance();
         this.fxTaskExecutor = new FXTaskExecutor();
-        this.nextBackgroundTaskExecutor = new AtomicInteger(0);
-
-        for (int i = 0, length = backgroundTaskExecutors.length; i < length; i++) {
-            backgroundTaskExecutors[i] = new BackgroundTaskExecutor(i + 1);
-        }
 
         LOGGER.info("initialized.");
     }
@@ -68,12 +67,15 @@ public class ExecutorManager {
         if (GL_THREAD == null) {
             synchronized (ExecutorManager.class) {
                 if (GL_THREAD == null) {
-                    final JmeToJFXApplication application = Editor.prepareToStart();
+                    final Editor application = Editor.prepareToStart();
                     final ThreadGroup editorGroup = new ThreadGroup("GL-Thread-Group");
                     final Runnable startWrapper = application::start;
                     GL_THREAD = new EditorThread(editorGroup, startWrapper, "GL-Renderer");
                     GL_THREAD.start();
-                    while (application.getAssetManager() == null); // block until the application resources are online
+                    // block until the application resources are online
+                    while (!application.waitForInitialization(5, TimeUnit.SECONDS)) {
+                        LOGGER.warning("the GL thread is still initializing the application...");
+                    }
                     onStart.run();
                 }
             }
@@ -97,25 +99,78 @@ public class ExecutorManager {
     }
 
     /**
-     * Add a new background task.
+     * Add a new interactive background task.
      *
      * @param task the background task.
      */
     public void addBackgroundTask(final Runnable task) {
+        addBackgroundTask(task, TaskPriority.INTERACTIVE);
+    }
+
+    /**
+     * Add a new background task.
+     *
+     * @param task     the background task.
+     * @param priority the priority of the task.
+     */
+    public void addBackgroundTask(final Runnable task, @NotNull final TaskPriority priority) {
+        addBackgroundTask(task, priority, null);
+    }
+
+    /**
+     * Add a new background task. If the coalescing key isn't null, a not started task with the same key is
+     * dropped as superseded.
+     *
+     * @param task          the background task.
+     * @param priority      the priority of the task.
+     * @param coalescingKey the coalescing key or null.
+     */
+    public void addBackgroundTask(final Runnable task, @NotNull final TaskPriority priority,
+                                  @Nullable final Object coalescingKey) {
         if (task == null) {
             return;
         }
-        final TaskExecutor[] executors = getBackgroundTaskExecutors();
-        final AtomicInteger nextTaskExecutor = getNextBackgroundTaskExecutor();
+        final BackgroundTask<Void> backgroundTask = submitBackgroundTask(() -> {
+            task.run();
+            return null;
+        }, priority, coalescingKey);
+        backgroundTask.whenComplete((result, error) -> {
+            if (error != null && !(error instanceof CancellationException)) {
+                LOGGER.warning(error);
+            }
+        });
+    }
 
-        final int index = nextTaskExecutor.incrementAndGet();
+    /**
+     * Submit a new background task.
+     *
+     * @param <T>      the type of the result.
+     * @param task     the background task.
+     * @param priority the priority of the task.
+     * @return the handle of the task.
+     */
+    @NotNull
+    public <T> BackgroundTask<T> submitBackgroundTask(@NotNull final Callable<T> task,
+                                                      @NotNull final TaskPriority priority) {
+        return submitBackgroundTask(task, priority, null);
+    }
 
-        if (index < executors.length) {
-            executors[index].execute(task);
-        } else {
-            nextTaskExecutor.set(0);
-            executors[0].execute(task);
-        }
+    /**
+     * Submit a new background task. If the coalescing key isn't null, a not started task with the same key is
+     * cancelled as superseded.
+     *
+     * @param <T>           the type of the result.
+     * @param task          the background task.
+     * @param priority      the priority of the task.
+     * @param coalescingKey the coalescing key or null.
+     * @return the handle of the task.
+     */
+    @NotNull
+    public <T> BackgroundTask<T> submitBackgroundTask(@NotNull final Callable<T> task,
+                                                      @NotNull final TaskPriority priority,
+                                                      @Nullable final Object coalescingKey) {
+        final WorkStealingTaskScheduler scheduler = getBackgroundTaskScheduler();
+        return scheduler.submit(new BackgroundTask<>(task, priority, coalescingKey));
     }
 
     /**
@@ -145,24 +200,31 @@ public class ExecutorManager {
     }
 
     /**
-     * @return the list of background tasks executors.
+     * Add a new editor task with the priority, bulk tasks are executed within the time budget per frame.
+     *
+     * @param task     the editor task.
+     * @param priority the priority of the task.
      */
-    private TaskExecutor[] getBackgroundTaskExecutors() {
-        return backgroundTaskExecutors;
+    public void addEditorThreadTask(final Runnable task, @NotNull final TaskPriority priority) {
+        if (task == null) {
+            return;
+        }
+        final GLTaskExecutor executor = getEditorThreadExecutor();
+        executor.addToExecute(task, priority);
     }
 
     /**
-     * @return the executor of javaFX tasks.
+     * @return the scheduler of background tasks.
      */
-    private TaskExecutor getFxTaskExecutor() {
-        return fxTaskExecutor;
+    private WorkStealingTaskScheduler getBackgroundTaskScheduler() {
+        return backgroundTaskScheduler;
     }
 
     /**
-     * @return the index of a next background executor.
+     * @return the executor of javaFX tasks.
      */
-    private AtomicInteger getNextBackgroundTaskExecutor() {
-        return nextBackgroundTaskExecutor;
+    private TaskExecutor getFxTaskExecutor() {
+        return fxTaskExecutor;
     }
 
     /**
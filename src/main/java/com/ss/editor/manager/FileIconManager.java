@@ -1,9 +1,14 @@
 package com.ss.editor.manager;
 
 import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FXThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.ui.css.CssColorTheme;
+import com.ss.editor.ui.util.IconAtlas;
 import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
@@ -14,17 +19,22 @@ import com.ss.rlib.util.dictionary.DictionaryFactory;
 import com.ss.rlib.util.dictionary.IntegerDictionary;
 import com.ss.rlib.util.dictionary.ObjectDictionary;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
-import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
-import javafx.scene.paint.Color;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.IntBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Properties;
 
 import static com.ss.editor.util.EditorUtil.toAssetPath;
 import static com.ss.rlib.util.ObjectUtils.notNull;
@@ -44,6 +54,32 @@ public class FileIconManager {
      */
     public static final int DEFAULT_FILE_ICON_SIZE = 16;
 
+    /**
+     * The name of the folder of cached icons.
+     */
+    @NotNull
+    private static final String ICON_CACHE_FOLDER = "icon-cache";
+
+    /**
+     * The name of the file of probed content types.
+     */
+    @NotNull
+    private static final String FILE_CONTENT_TYPES = "content-types.properties";
+
+    /**
+     * The key of the URL of the folder icon in the cache of URLs, extensions never contain '/'.
+     */
+    @NotNull
+    private static final String FOLDER_KEY = "/folder";
+
+    /**
+     * The coalescing key of saving tasks.
+     */
+    @NotNull
+    private static final String SAVE_TASK_KEY = FileIconManager.class.getName() + ".save";
+
+    private static final String RASTERIZE_TASK_KEY = FileIconManager.class.getName() + ".rasterize";
+
     @NotNull
     private static final ObjectDictionary<String, String> EXTENSION_TO_CONTENT_TYPE = DictionaryFactory.newObjectDictionary();
 
@@ -104,6 +140,43 @@ public class FileIconManager {
         MIME_TYPES_FOLDERS.add(Paths.get("/ui/icons/filetypes/"));
     }
 
+    /**
+     * The icon which is rasterized in background.
+     */
+    private static final class PendingIcon {
+
+        /**
+         * The URL of the icon.
+         */
+        @NotNull
+        private final String url;
+
+        /**
+         * The shown image.
+         */
+        @NotNull
+        private final WritableImage image;
+
+        /**
+         * The original image, it's the shown image for dark themes.
+         */
+        @NotNull
+        private final WritableImage original;
+
+        /**
+         * The size of the icon.
+         */
+        private final int size;
+
+        private PendingIcon(@NotNull final String url, final int size, @NotNull final WritableImage image,
+                            @NotNull final WritableImage original) {
+            this.url = url;
+            this.size = size;
+            this.image = image;
+            this.original = original;
+        }
+    }
+
     @Nullable
     private static FileIconManager instance;
 
@@ -136,10 +209,61 @@ public class FileIconManager {
     @NotNull
     private final ObjectDictionary<String, String> extensionToUrl;
 
+    /**
+     * The probed content types by extensions, an empty content type means that it wasn't detected.
+     */
+    @NotNull
+    private final Properties probedContentTypes;
+
+    /**
+     * The atlas of rasterized SVG icons.
+     */
+    @NotNull
+    private final IconAtlas iconAtlas;
+
+    /**
+     * The folder of cached icons.
+     */
+    @NotNull
+    private final Path cacheFolder;
+
+    /**
+     * The lazy icons which wait for rasterizing.
+     */
+    @NotNull
+    private final Array<PendingIcon> pendingIcons;
+
+    /**
+     * True if lazy icons were preloaded and new lazy icons should be rasterized at once.
+     */
+    private volatile boolean preloaded;
+
+    /**
+     * True if there are unsaved probed content types.
+     */
+    private volatile boolean contentTypesChanged;
+
+    /**
+     * The time in nanoseconds spent to create lazy icons.
+     */
+    private long lazyIconsTime;
+
+    /**
+     * The count of created lazy icons.
+     */
+    private int lazyIconsCount;
+
     private FileIconManager() {
         this.imageCache = DictionaryFactory.newIntegerDictionary();
         this.extensionToUrl = DictionaryFactory.newObjectDictionary();
         this.originalImageCache = DictionaryFactory.newObjectDictionary();
+        this.probedContentTypes = new Properties();
+        this.pendingIcons = ArrayFactory.newArray(PendingIcon.class);
+        this.cacheFolder = Config.getAppFolderInUserHome().resolve(ICON_CACHE_FOLDER);
+        this.iconAtlas = new IconAtlas(cacheFolder, getResourcesStamp());
+        this.iconAtlas.load();
+
+        loadContentTypes();
     }
 
     /**
@@ -148,23 +272,72 @@ public class FileIconManager {
      * @param path the file.
      * @param size the icon size.
      * @return the icon.
+     * @see #getIcon(Path, boolean, int)
      */
     @NotNull
     @FXThread
     public Image getIcon(@NotNull final Path path, int size) {
+        return getIcon(path, Files.isDirectory(path), size);
+    }
+
+    /**
+     * Get an icon to a file by its extension, the file system isn't accessed for known extensions.
+     *
+     * @param path   the file.
+     * @param folder true if the file is a folder.
+     * @param size   the icon size.
+     * @return the icon.
+     */
+    @NotNull
+    @FXThread
+    public Image getIcon(@NotNull final Path path, final boolean folder, int size) {
 
         final String extension = FileUtils.getExtension(path);
-        String contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
+        final String key = folder ? FOLDER_KEY : extension;
 
-        if (contentType == null) {
-            try {
-                contentType = Files.probeContentType(path);
-            } catch (IOException e) {
-                LOGGER.warning(e);
-            }
+        String url = extensionToUrl.get(key);
+
+        if (url == null) {
+            url = findUrl(path, extension, folder ? "folder" : getContentType(path, extension));
+            extensionToUrl.put(key, url);
         }
 
-        if (Files.isDirectory(path)) contentType = "folder";
+        return getImage(url, size);
+    }
+
+    /**
+     * Get a content type of a file by its extension, unknown extensions are probed once.
+     */
+    @Nullable
+    private String getContentType(@NotNull final Path path, @NotNull final String extension) {
+
+        final String contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
+        if (contentType != null) return contentType;
+
+        final String probed = probedContentTypes.getProperty(extension);
+        if (probed != null) return probed.isEmpty() ? null : probed;
+
+        String result = null;
+        try {
+            result = Files.probeContentType(path);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+
+        probedContentTypes.setProperty(extension, result == null ? "" : result);
+        contentTypesChanged = true;
+        requestSave();
+
+        return result;
+    }
+
+    /**
+     * Find an URL of an icon of the content type.
+     */
+    @NotNull
+    private String findUrl(@NotNull final Path path, @NotNull final String extension,
+                           @Nullable String contentType) {
+
         if (contentType != null) contentType = contentType.replace("/", "-");
 
         if (contentType == null) {
@@ -172,40 +345,36 @@ public class FileIconManager {
             contentType = "none";
         }
 
-        String url = extensionToUrl.get(extension);
+        String url = null;
 
-        if (url == null) {
-            for (final Path mimeTypes : MIME_TYPES_FOLDERS) {
+        for (final Path mimeTypes : MIME_TYPES_FOLDERS) {
+
+            Path iconPath = mimeTypes.resolve(contentType + ".svg");
+            url = toAssetPath(iconPath);
 
-                Path iconPath = mimeTypes.resolve(contentType + ".svg");
+            if (!EditorUtil.checkExists(url)) {
+                contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
+                iconPath = mimeTypes.resolve(contentType + ".svg");
                 url = toAssetPath(iconPath);
+            }
 
-                if (!EditorUtil.checkExists(url)) {
-                    contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
-                    iconPath = mimeTypes.resolve(contentType + ".svg");
-                    url = toAssetPath(iconPath);
-                }
-
-                if (!EditorUtil.checkExists(url)) {
-                    contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
-                    iconPath = mimeTypes.resolve(contentType + ".png");
-                    url = toAssetPath(iconPath);
-                }
-
-                if (EditorUtil.checkExists(url)) {
-                    break;
-                }
+            if (!EditorUtil.checkExists(url)) {
+                contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
+                iconPath = mimeTypes.resolve(contentType + ".png");
+                url = toAssetPath(iconPath);
             }
 
-            if (url == null || !EditorUtil.checkExists(url)) {
-                LOGGER.warning("not found image for contentType " + contentType + " and path " + path);
-                url = "/ui/icons/svg/document.svg";
+            if (EditorUtil.checkExists(url)) {
+                break;
             }
+        }
 
-            extensionToUrl.put(extension, url);
+        if (url == null || !EditorUtil.checkExists(url)) {
+            LOGGER.warning("not found image for contentType " + contentType + " and path " + path);
+            url = "/ui/icons/svg/document.svg";
         }
 
-        return getImage(url, size);
+        return url;
     }
 
     /**
@@ -253,39 +422,268 @@ public class FileIconManager {
     @NotNull
     private Image buildImage(@NotNull final String url, final int size) {
 
-        final Image image = new Image(url, size, size, false, true);
+        final int[] pixels = url.contains("icons/svg/") ? rasterize(url, size) : null;
 
-        if (!url.contains("icons/svg/")) {
+        if (pixels == null) {
+            final Image image = new Image(url, size, size, false, true);
             originalImageCache.put(image, image);
             return image;
         }
 
+        final WritableImage image = new WritableImage(size, size);
+        image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), pixels, 0, size);
+
+        if (isDarkTheme()) {
+            originalImageCache.put(image, image);
+            return image;
+        }
+
+        final WritableImage inverted = new WritableImage(size, size);
+        inverted.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), invert(pixels), 0,
+                size);
+
+        originalImageCache.put(inverted, image);
+
+        return inverted;
+    }
+
+    /**
+     * Get an image by an URL which is rasterized later if it isn't in the atlas yet. An empty image is returned
+     * immediately and is filled after {@link #preloadIcons()}, so static icon tables don't rasterize SVG icons
+     * before the main window is shown. After that new lazy icons are rasterized in background at once.
+     *
+     * @param url  the url.
+     * @param size the size.
+     * @return the image.
+     */
+    @NotNull
+    @FromAnyThread
+    public Image getLazyImage(@NotNull final String url, final int size) {
+        return getLazyImage(url, size, true);
+    }
+
+    /**
+     * Get an image by an URL which is rasterized later if it isn't in the atlas yet.
+     *
+     * @param url      the url.
+     * @param size     the size.
+     * @param useCache true if need to use cache.
+     * @return the image.
+     * @see #getLazyImage(String, int)
+     */
+    @NotNull
+    @FromAnyThread
+    public synchronized Image getLazyImage(@NotNull final String url, final int size, final boolean useCache) {
+
+        final long time = System.nanoTime();
+        try {
+
+            if (!Config.UI_LAZY_ICONS || !url.contains("icons/svg/") || iconAtlas.get(url, size) != null) {
+                return getImage(url, size, useCache);
+            }
+
+            final ObjectDictionary<String, Image> cache = imageCache.get(size, DictionaryFactory::newObjectDictionary);
+            final Image cached = useCache ? cache.get(url) : null;
+            if (cached != null) return cached;
+
+            final WritableImage original = new WritableImage(size, size);
+            final WritableImage image = isDarkTheme() ? original : new WritableImage(size, size);
+
+            originalImageCache.put(image, original);
+            if (useCache) cache.put(url, image);
+
+            synchronized (pendingIcons) {
+                pendingIcons.add(new PendingIcon(url, size, image, original));
+            }
+
+            if (preloaded) {
+                final ExecutorManager executorManager = ExecutorManager.getInstance();
+                executorManager.addBackgroundTask(this::rasterizePendingIcons, TaskPriority.INTERACTIVE,
+                        RASTERIZE_TASK_KEY);
+            }
+
+            return image;
+
+        } finally {
+            lazyIconsTime += System.nanoTime() - time;
+            lazyIconsCount++;
+        }
+    }
+
+    /**
+     * Rasterize lazy icons which aren't rasterized yet in background, should be called when the main window is
+     * shown.
+     */
+    @FXThread
+    public void preloadIcons() {
+
+        preloaded = true;
+
+        synchronized (this) {
+            LOGGER.debug(this, "created " + lazyIconsCount + " static icons for " + (lazyIconsTime / 1000_000) +
+                    " ms" + (Config.UI_LAZY_ICONS ? "." : " without lazy icons."));
+        }
+
+        final ExecutorManager executorManager = ExecutorManager.getInstance();
+        executorManager.addBackgroundTask(this::rasterizePendingIcons, TaskPriority.INTERACTIVE, RASTERIZE_TASK_KEY);
+    }
+
+    /**
+     * Rasterize all pending lazy icons and fill their images in the FX UI Thread.
+     */
+    @BackgroundThread
+    private void rasterizePendingIcons() {
+
+        final Array<PendingIcon> icons = ArrayFactory.newArray(PendingIcon.class);
+
+        synchronized (pendingIcons) {
+            icons.addAll(pendingIcons);
+            pendingIcons.clear();
+        }
+
+        if (icons.isEmpty()) return;
+
+        final ExecutorManager executorManager = ExecutorManager.getInstance();
+        final long time = System.currentTimeMillis();
+
+        for (final PendingIcon icon : icons) {
+            final int[] pixels = rasterize(icon.url, icon.size);
+            if (pixels != null) executorManager.addFXTask(() -> fill(icon, pixels));
+        }
+
+        LOGGER.debug(this, "rasterized " + icons.size() + " icons for " + (System.currentTimeMillis() - time) +
+                " ms.");
+    }
+
+    /**
+     * Fill images of the lazy icon by rasterized pixels.
+     */
+    @FXThread
+    private void fill(@NotNull final PendingIcon icon, @NotNull final int[] pixels) {
+
+        final int size = icon.size;
+        final PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+
+        icon.original.getPixelWriter().setPixels(0, 0, size, size, format, pixels, 0, size);
+
+        if (icon.image != icon.original) {
+            icon.image.getPixelWriter().setPixels(0, 0, size, size, format, invert(pixels), 0, size);
+        }
+    }
+
+    /**
+     * Invert colors of visible pixels for light themes.
+     */
+    @NotNull
+    private static int[] invert(@NotNull final int[] pixels) {
+
+        final int[] result = new int[pixels.length];
+
+        for (int i = 0; i < pixels.length; i++) {
+            final int argb = pixels[i];
+            // pixels with opacity not more than 0.1 are dropped
+            if ((argb >>> 24) * 10 > 255) result[i] = argb ^ 0x00FFFFFF;
+        }
+
+        return result;
+    }
+
+    private static boolean isDarkTheme() {
         final EditorConfig config = EditorConfig.getInstance();
         final CssColorTheme theme = config.getTheme();
+        return theme.isDark();
+    }
 
-        if (!theme.isDark()) {
+    /**
+     * Get pixels of the rasterized SVG icon from the atlas or rasterize it and put it to the atlas.
+     *
+     * @return the pixels in the ARGB format or null if the icon can't be rasterized.
+     */
+    @Nullable
+    @FromAnyThread
+    private int[] rasterize(@NotNull final String url, final int size) {
+
+        final int[] pixels = iconAtlas.get(url, size);
+        if (pixels != null) return pixels;
+
+        final Image image = new Image(url, size, size, false, true);
+
+        if (image.isError() || image.getWidth() != size || image.getHeight() != size) {
+            return null;
+        }
 
-            final WritableImage wimage = new WritableImage(size, size);
-            final PixelWriter pixelWriter = wimage.getPixelWriter();
-            final PixelReader pixelReader = image.getPixelReader();
+        final int[] rasterized = new int[size * size];
+        final PixelReader pixelReader = image.getPixelReader();
+        pixelReader.getPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), rasterized, 0, size);
 
-            for (int i = 0; i < size; i++) {
-                for (int j = 0; j < size; j++) {
-                    final Color color = pixelReader.getColor(i, j);
-                    if (color.getOpacity() > 0.1) {
-                        pixelWriter.setColor(i, j, color.invert());
-                    }
-                }
+        iconAtlas.put(url, size, rasterized);
+        requestSave();
+
+        return rasterized;
+    }
+
+    /**
+     * Save the atlas and probed content types in background, several requests are coalesced.
+     */
+    @FromAnyThread
+    private void requestSave() {
+        final ExecutorManager executorManager = ExecutorManager.getInstance();
+        executorManager.addBackgroundTask(this::save, TaskPriority.BULK, SAVE_TASK_KEY);
+    }
+
+    @BackgroundThread
+    private void save() {
+
+        iconAtlas.save();
+
+        if (!contentTypesChanged) return;
+        contentTypesChanged = false;
+
+        final Path file = cacheFolder.resolve(FILE_CONTENT_TYPES);
+
+        try {
+            Files.createDirectories(cacheFolder);
+            try (final OutputStream out = Files.newOutputStream(file)) {
+                probedContentTypes.store(out, null);
             }
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
 
-            originalImageCache.put(wimage, image);
+    private void loadContentTypes() {
 
-            return wimage;
+        final Path file = cacheFolder.resolve(FILE_CONTENT_TYPES);
+        if (!Files.exists(file)) return;
+
+        try (final InputStream in = Files.newInputStream(file)) {
+            probedContentTypes.load(in);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
         }
+    }
+
+    /**
+     * Get the version of icon resources: the version of the editor and the last modified time of its classpath
+     * entry, so icons are rasterized again after updates.
+     */
+    @NotNull
+    private static String getResourcesStamp() {
 
-        originalImageCache.put(image, image);
+        final CodeSource codeSource = FileIconManager.class.getProtectionDomain().getCodeSource();
+        final URL location = codeSource == null ? null : codeSource.getLocation();
+
+        long lastModified = 0;
+
+        if (location != null) {
+            try {
+                lastModified = Files.getLastModifiedTime(Paths.get(location.toURI())).toMillis();
+            } catch (final Exception e) {
+                LOGGER.warning(e);
+            }
+        }
 
-        return image;
+        return Config.STRING_VERSION + ":" + lastModified;
     }
 
     /**
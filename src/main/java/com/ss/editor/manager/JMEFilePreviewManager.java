@@ -29,7 +29,9 @@ import com.ss.editor.FileExtensions;
 import com.ss.editor.JFXApplication;
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.JMEThread;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.executor.impl.GLTaskExecutor;
 import com.ss.editor.model.tool.TangentGenerator;
 import com.ss.editor.ui.scene.EditorFXScene;
@@ -45,6 +47,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * The class to manage previews of JME files.
@@ -80,9 +84,18 @@ public class JMEFilePreviewManager extends AbstractControl {
         AUDIO_FORMATS.add(FileExtensions.AUDIO_WAV);
     }
 
+    /**
+     * The coalescing key of loading tasks of previewed assets.
+     */
+    @NotNull
+    private static final String LOAD_TASK_KEY = JMEFilePreviewManager.class.getName() + ".load";
+
     @NotNull
     private static final GLTaskExecutor EDITOR_THREAD_EXECUTOR = GLTaskExecutor.getInstance();
 
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
     @NotNull
     private static final JFXApplication JFX_APPLICATION = JFXApplication.getInstance();
 
@@ -166,6 +179,12 @@ public class JMEFilePreviewManager extends AbstractControl {
     @Nullable
     private volatile FrameTransferSceneProcessor processor;
 
+    /**
+     * The id of the last request, previews of older requests are dropped.
+     */
+    @NotNull
+    private final AtomicLong lastRequest;
+
     /**
      * The count of frames.
      */
@@ -175,6 +194,7 @@ public class JMEFilePreviewManager extends AbstractControl {
         this.imageView = new ImageView();
         this.testBox = new Geometry("Box", new Box(2, 2, 2));
         this.modelNode = new Node("Model Node");
+        this.lastRequest = new AtomicLong();
 
         final EditorFXScene scene = JFX_APPLICATION.getScene();
         final StackPane container = scene.getHideLayer();
@@ -207,7 +227,8 @@ public class JMEFilePreviewManager extends AbstractControl {
     }
 
     /**
-     * Show a file.
+     * Show a file. The file is loaded in background and a newer request drops the older one, so fast switching
+     * between files doesn't block the editor thread.
      *
      * @param file      the file.
      * @param fitWidth  the target width of preview.
@@ -221,23 +242,70 @@ public class JMEFilePreviewManager extends AbstractControl {
         final Path assetFile = notNull(getAssetFile(file), "File can't be null.");
         final String path = toAssetPath(assetFile);
         final String extension = getExtension(assetFile);
+        final long request = lastRequest.incrementAndGet();
 
         if (FileExtensions.JME_MATERIAL.equals(extension)) {
-            EDITOR_THREAD_EXECUTOR.addToExecute(() -> showMaterial(path));
+            load(request, path, AssetManager::loadMaterial, this::showMaterial);
         } else if (FileExtensions.JME_OBJECT.equals(extension)) {
-            EDITOR_THREAD_EXECUTOR.addToExecute(() -> showObject(path));
+            load(request, path, AssetManager::loadModel, this::showObject);
         } else {
-            EDITOR_THREAD_EXECUTOR.addToExecute(this::clear);
+            EDITOR_THREAD_EXECUTOR.addToExecute(this::clearImpl);
         }
     }
 
+    /**
+     * Load the asset in background and show it in the editor thread if the request is still actual.
+     */
+    @FromAnyThread
+    private <T> void load(final long request, @NotNull final String path,
+                          @NotNull final AssetLoader<T> loader, @NotNull final Consumer<T> shower) {
+
+        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+            if (!isActual(request)) return;
+
+            final T asset;
+            try {
+                asset = loader.load(EDITOR.getAssetManager(), path);
+            } catch (final AssetNotFoundException | UnsupportedOperationException e) {
+                EditorUtil.handleException(LOGGER, this, e);
+                return;
+            }
+
+            if (!isActual(request)) return;
+
+            EDITOR_THREAD_EXECUTOR.addToExecute(() -> {
+                if (isActual(request)) shower.accept(asset);
+            });
+
+        }, TaskPriority.INTERACTIVE, LOAD_TASK_KEY);
+    }
+
+    /**
+     * Check the request is the last request.
+     */
+    @FromAnyThread
+    private boolean isActual(final long request) {
+        return lastRequest.get() == request;
+    }
+
+    /**
+     * The function to load an asset.
+     */
+    @FunctionalInterface
+    private interface AssetLoader<T> {
+
+        @NotNull
+        @BackgroundThread
+        T load(@NotNull AssetManager assetManager, @NotNull String path);
+    }
+
     /**
      * Show a j3o object.
      *
-     * @param path the path to object.
+     * @param model the loaded object.
      */
     @JMEThread
-    private void showObject(@NotNull final String path) {
+    private void showObject(@NotNull final Spatial model) {
         if (processor != null) processor.setEnabled(true);
 
         frame = 0;
@@ -248,8 +316,6 @@ public class JMEFilePreviewManager extends AbstractControl {
 
         modelNode.detachAllChildren();
 
-        final AssetManager assetManager = EDITOR.getAssetManager();
-        final Spatial model = assetManager.loadModel(path);
         try {
 
             final RenderManager renderManager = EDITOR.getRenderManager();
@@ -268,10 +334,10 @@ public class JMEFilePreviewManager extends AbstractControl {
     /**
      * Show a j3m material.
      *
-     * @param path the path to material.
+     * @param material the loaded material.
      */
     @JMEThread
-    private void showMaterial(@NotNull final String path) {
+    private void showMaterial(@NotNull final Material material) {
         if (processor != null) processor.setEnabled(true);
 
         frame = 0;
@@ -280,9 +346,6 @@ public class JMEFilePreviewManager extends AbstractControl {
         camera.setLocation(CAMERA_LOCATION);
         camera.setRotation(CAMERA_ROTATION);
 
-        final AssetManager assetManager = EDITOR.getAssetManager();
-        final Material material = assetManager.loadMaterial(path);
-
         modelNode.detachAllChildren();
 
         testBox.setMaterial(material);
@@ -306,6 +369,7 @@ public class JMEFilePreviewManager extends AbstractControl {
      */
     @FromAnyThread
     public void clear() {
+        lastRequest.incrementAndGet();
         EDITOR_THREAD_EXECUTOR.addToExecute(this::clearImpl);
     }
 
@@ -3,47 +3,49 @@ package com.ss.editor.manager;
 import static com.ss.editor.util.EditorUtil.getAssetFile;
 import static com.ss.editor.util.EditorUtil.toAssetPath;
 import static com.ss.rlib.util.ObjectUtils.notNull;
-import static java.awt.Image.SCALE_DEFAULT;
 import com.jme3.asset.AssetManager;
 import com.jme3.texture.Texture;
 import com.ss.editor.Editor;
 import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FXThread;
+import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.config.Config;
-import com.ss.editor.file.reader.DDSReader;
-import com.ss.editor.file.reader.TGAReader;
+import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.BackgroundTask;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.file.reader.ImageHeaderReader;
+import com.ss.editor.model.asset.ImageMetadata;
+import com.ss.editor.model.asset.ImageMetadataIndex;
+import com.ss.editor.model.asset.ThumbnailCache;
+import com.ss.editor.model.asset.TilePyramid;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.event.FXEventManager;
-import com.ss.editor.ui.event.impl.DeletedFileEvent;
+import com.ss.editor.ui.event.impl.ChangedCurrentAssetFolderEvent;
+import com.ss.editor.ui.event.impl.ChangedFilesEvent;
 import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ImageUtils;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.manager.InitializeManager;
 import com.ss.rlib.util.FileUtils;
-import com.ss.rlib.util.StringUtils;
-import com.ss.rlib.util.Utils;
 import com.ss.rlib.util.array.Array;
 import com.ss.rlib.util.array.ArrayFactory;
-import com.ss.rlib.util.dictionary.DictionaryFactory;
-import com.ss.rlib.util.dictionary.ObjectDictionary;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import jme3tools.converters.ImageToAwt;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.metadata.IIOMetadata;
-import javax.imageio.stream.ImageInputStream;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
-import java.util.Iterator;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 
 /**
  * The class to manage previews of images to JavaFX
@@ -58,9 +60,21 @@ public class JavaFXImageManager {
     @NotNull
     private static final FXEventManager FX_EVENT_MANAGER = FXEventManager.getInstance();
 
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
     @NotNull
     private static final String PREVIEW_CACHE_FOLDER = "preview-cache";
 
+    @NotNull
+    private static final String TILE_CACHE_FOLDER = "tile-cache";
+
+    /**
+     * The coalescing key of saving tasks of the image metadata index.
+     */
+    @NotNull
+    private static final String SAVE_METADATA_TASK_KEY = JavaFXImageManager.class.getName() + ".saveMetadata";
+
     @NotNull
     private static final Array<String> FX_FORMATS = ArrayFactory.newArray(String.class);
 
@@ -118,35 +132,144 @@ public class JavaFXImageManager {
     }
 
     /**
-     * The metadatas cache.
+     * The cache of thumbnails.
      */
     @NotNull
-    private final ObjectDictionary<Path, IIOMetadata> iioMetadatas;
+    private final ThumbnailCache thumbnailCache;
 
     /**
-     * The cache folder.
+     * The folder of temporary files of tile pyramids.
      */
     @NotNull
-    private final Path cacheFolder;
+    private final Path tileCacheFolder;
+
+    /**
+     * The last requests of previews by requesters.
+     */
+    @NotNull
+    private final Map<Object, BackgroundTask<Image>> previewRequests;
+
+    /**
+     * The last requests of metadata by requesters.
+     */
+    @NotNull
+    private final Map<Object, BackgroundTask<ImageMetadata>> metadataRequests;
+
+    /**
+     * The index of metadata of images of the current asset folder or null.
+     */
+    @Nullable
+    private volatile ImageMetadataIndex metadataIndex;
 
     private JavaFXImageManager() {
         final Path appFolder = Config.getAppFolderInUserHome();
-        this.cacheFolder = appFolder.resolve(PREVIEW_CACHE_FOLDER);
-        this.iioMetadatas = DictionaryFactory.newObjectDictionary();
-        if (Files.exists(cacheFolder)) FileUtils.delete(cacheFolder);
-        FX_EVENT_MANAGER.addEventHandler(DeletedFileEvent.EVENT_TYPE, event -> processEvent((DeletedFileEvent) event));
+        final Path cacheFolder = appFolder.resolve(PREVIEW_CACHE_FOLDER);
+        this.thumbnailCache = new ThumbnailCache(cacheFolder, Config.PREVIEW_MEMORY_CACHE * 1024L * 1024L);
+        this.tileCacheFolder = appFolder.resolve(TILE_CACHE_FOLDER);
+        this.previewRequests = new WeakHashMap<>();
+        this.metadataRequests = new WeakHashMap<>();
+
+        EXECUTOR_MANAGER.addBackgroundTask(thumbnailCache::prune, TaskPriority.BULK);
+        EXECUTOR_MANAGER.addBackgroundTask(() -> TilePyramid.prune(tileCacheFolder), TaskPriority.BULK);
+        EXECUTOR_MANAGER.addFXTask(() -> {
+            FX_EVENT_MANAGER.addEventHandler(ChangedFilesEvent.EVENT_TYPE,
+                    event -> processEvent((ChangedFilesEvent) event));
+            FX_EVENT_MANAGER.addEventHandler(ChangedCurrentAssetFolderEvent.EVENT_TYPE,
+                    event -> EXECUTOR_MANAGER.addBackgroundTask(this::unloadMetadataIndex, TaskPriority.BULK));
+        });
     }
 
     /**
-     * @return the cache folder.
+     * Get the cache of thumbnails.
+     *
+     * @return the cache of thumbnails.
      */
     @NotNull
-    private Path getCacheFolder() {
-        return cacheFolder;
+    @FromAnyThread
+    public ThumbnailCache getThumbnailCache() {
+        return thumbnailCache;
+    }
+
+    /**
+     * Get the folder of temporary files of tile pyramids.
+     *
+     * @return the folder of temporary files of tile pyramids.
+     */
+    @NotNull
+    @FromAnyThread
+    public Path getTileCacheFolder() {
+        return tileCacheFolder;
+    }
+
+    /**
+     * Request a preview of the image for the image view, the placeholder is shown immediately.
+     *
+     * @param imageView the image view.
+     * @param file      the image file.
+     * @param width     the required width.
+     * @param height    the required height.
+     * @see #requestTexturePreview(Object, Path, int, int, Consumer)
+     */
+    @FXThread
+    public void requestTexturePreview(@NotNull final ImageView imageView, @Nullable final Path file,
+                                      final int width, final int height) {
+        requestTexturePreview(imageView, file, width, height, imageView::setImage);
+    }
+
+    /**
+     * Request a preview of the image. The consumer gets the placeholder immediately and the preview later in the
+     * FX thread, the preview is loaded in background. A newer request of the same requester cancels the previous
+     * request, so the consumer never gets outdated previews.
+     *
+     * @param requester the requester.
+     * @param file      the image file.
+     * @param width     the required width.
+     * @param height    the required height.
+     * @param consumer  the consumer of the placeholder and the preview.
+     */
+    @FXThread
+    public void requestTexturePreview(@NotNull final Object requester, @Nullable final Path file, final int width,
+                                      final int height, @NotNull final Consumer<Image> consumer) {
+
+        cancelTexturePreview(requester);
+
+        final ThumbnailCache thumbnailCache = getThumbnailCache();
+        final Image cached = file == null ? null : thumbnailCache.getFromMemory(file, width, height);
+
+        if (cached != null) {
+            consumer.accept(cached);
+            return;
+        }
+
+        consumer.accept(Icons.IMAGE_512);
+
+        if (file == null) return;
+
+        final BackgroundTask<Image> task = EXECUTOR_MANAGER.submitBackgroundTask(() ->
+                getTexturePreview(file, width, height), TaskPriority.INTERACTIVE, requester);
+
+        previewRequests.put(requester, task);
+
+        task.whenComplete((image, error) -> EXECUTOR_MANAGER.addFXTask(() -> {
+            if (previewRequests.get(requester) != task) return;
+            previewRequests.remove(requester);
+            if (image != null) consumer.accept(image);
+        }));
     }
 
     /**
-     * Get image preview.
+     * Cancel the last request of a preview of the requester.
+     *
+     * @param requester the requester.
+     */
+    @FXThread
+    public void cancelTexturePreview(@NotNull final Object requester) {
+        final BackgroundTask<Image> task = previewRequests.remove(requester);
+        if (task != null) task.cancel(false);
+    }
+
+    /**
+     * Get image preview, the preview is loaded in the current thread.
      *
      * @param file   the image file.
      * @param width  the required width.
@@ -154,72 +277,98 @@ public class JavaFXImageManager {
      * @return the image.
      */
     @NotNull
-    @FXThread
+    @FromAnyThread
     public Image getTexturePreview(@Nullable final Path file, final int width, final int height) {
-        if (file == null || !Files.exists(file)) return Icons.IMAGE_512;
+        if (file == null) return Icons.IMAGE_512;
 
-        final String absolutePath = file.toAbsolutePath().toString();
-        final String fileHash = StringUtils.toMD5(absolutePath) + ".png";
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            return Icons.IMAGE_512;
+        }
 
-        final Path cacheFolder = getCacheFolder();
-        final Path imageFolder = cacheFolder.resolve(String.valueOf(width)).resolve(String.valueOf(height));
-        final Path cacheFile = imageFolder.resolve(fileHash);
+        final ThumbnailCache thumbnailCache = getThumbnailCache();
+        final Image cached = thumbnailCache.get(file, attributes, width, height);
+        if (cached != null) return cached;
 
-        if (Files.exists(cacheFile)) {
+        // the request was superseded before decoding
+        if (BackgroundTask.isCurrentCancelled()) return Icons.IMAGE_512;
 
-            try {
+        final long time = System.currentTimeMillis();
+        final BufferedImage thumbnail = createThumbnail(file, width, height, true);
+        if (thumbnail == null) return Icons.IMAGE_512;
 
-                final FileTime lastModCacheFile = Files.getLastModifiedTime(cacheFile);
-                final FileTime lastModFile = Files.getLastModifiedTime(file);
+        if (LOGGER.isEnabledDebug()) {
+            LOGGER.debug(this, "the thumbnail of " + file + " was decoded for " +
+                    (System.currentTimeMillis() - time) + " ms.");
+        }
 
-                if (lastModCacheFile.compareTo(lastModFile) >= 0) {
-                    return new Image(cacheFile.toUri().toString(), width, height, false, false);
-                }
+        return thumbnailCache.put(file, attributes, width, height, thumbnail);
+    }
 
-            } catch (final IOException e) {
-                LOGGER.warning(e);
-            }
-        }
+    /**
+     * Generate a thumbnail of the image file to the store of thumbnails if it isn't stored yet, the thumbnail
+     * isn't kept in memory.
+     *
+     * @param file   the image file.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return true if a new thumbnail was generated.
+     */
+    @BackgroundThread
+    public boolean pregenerateTexturePreview(@NotNull final Path file, final int width, final int height) {
 
-        final Path parent = cacheFile.getParent();
+        final BasicFileAttributes attributes;
         try {
-            Files.createDirectories(parent);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
         } catch (final IOException e) {
-            LOGGER.warning(e);
+            return false;
         }
 
-        final String extension = FileUtils.getExtension(file);
-
-        if (FX_FORMATS.contains(extension)) {
+        final ThumbnailCache thumbnailCache = getThumbnailCache();
+        if (thumbnailCache.isStored(file, attributes, width, height)) return false;
 
-            final String url = file.toUri().toString();
+        final BufferedImage thumbnail = createThumbnail(file, width, height, false);
+        if (thumbnail == null) return false;
 
-            Image image = new Image(url);
+        thumbnailCache.store(file, attributes, width, height, thumbnail);
+        return true;
+    }
 
-            final int imageWidth = (int) image.getWidth();
-            final int imageHeight = (int) image.getHeight();
+    /**
+     * Decode the image file and scale it to the required size.
+     *
+     * @param file       the image file.
+     * @param width      the required width.
+     * @param height     the required height.
+     * @param showErrors true if decoding errors should be shown to a user.
+     * @return the thumbnail or null if the image can't be decoded.
+     */
+    @Nullable
+    @FromAnyThread
+    private BufferedImage createThumbnail(@NotNull final Path file, final int width, final int height,
+                                          final boolean showErrors) {
 
-            if (imageWidth > width || imageHeight > height) {
-                if (imageWidth == imageHeight) {
-                    image = new Image(url, width, height, false, false);
-                } else if (imageWidth > imageHeight) {
-                    float mod = imageHeight * 1F / imageWidth;
-                    image = new Image(url, width, height * mod, false, false);
-                } else if (imageHeight > imageWidth) {
-                    float mod = imageWidth * 1F / imageHeight;
-                    image = new Image(url, width * mod, height, false, false);
-                }
-            }
+        final String extension = FileUtils.getExtension(file);
 
-            final BufferedImage bufferedImage = SwingFXUtils.fromFXImage(image, null);
+        if (FX_FORMATS.contains(extension)) {
 
-            try (final OutputStream out = Files.newOutputStream(cacheFile)) {
-                ImageIO.write(bufferedImage, "png", out);
+            BufferedImage read;
+            try {
+                read = ImageUtils.readSubsampled(file, width, height);
             } catch (final IOException e) {
-                LOGGER.warning(e);
+                read = null;
+            }
+
+            // some images like CMYK jpegs can be decoded only by JavaFX
+            if (read == null) {
+                final Image image = new Image(file.toUri().toString(), width, height, true, true);
+                if (image.isError()) return null;
+                read = SwingFXUtils.fromFXImage(image, null);
             }
 
-            return image;
+            return ImageUtils.toThumbnail(read, width, height);
 
         } else if (JME_FORMATS.contains(extension)) {
 
@@ -229,187 +378,200 @@ public class JavaFXImageManager {
             final Editor editor = Editor.getInstance();
             final AssetManager assetManager = editor.getAssetManager();
             final Texture texture = assetManager.loadTexture(assetPath);
-            final BufferedImage textureImage;
 
             try {
-                textureImage = ImageToAwt.convert(texture.getImage(), false, true, 0);
+                final BufferedImage read = ImageToAwt.convert(texture.getImage(), false, true, 0);
+                return ImageUtils.toThumbnail(read, width, height);
             } catch (final UnsupportedOperationException e) {
-                EditorUtil.handleException(LOGGER, this, e);
-                return Icons.IMAGE_512;
+                handleException(e, showErrors);
+                return null;
             }
 
-            final int imageWidth = textureImage.getWidth();
-            final int imageHeight = textureImage.getHeight();
-
-            final java.awt.Image newImage = scaleImage(width, height, textureImage, imageWidth, imageHeight);
-            final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-
-            final Graphics2D g2d = bufferedImage.createGraphics();
-            g2d.drawImage(newImage, 0, 0, null);
-            g2d.dispose();
-
-            Image javaFXImage;
+        } else if (IMAGE_IO_FORMATS.contains(extension)) {
 
-            try (final OutputStream out = Files.newOutputStream(cacheFile)) {
-                ImageIO.write(bufferedImage, "png", out);
-                javaFXImage = new Image(cacheFile.toUri().toString());
+            final BufferedImage read;
+            try {
+                read = ImageUtils.readSubsampled(file, width, height);
             } catch (final IOException e) {
-                LOGGER.warning(e);
-                javaFXImage = Icons.IMAGE_512;
+                handleException(e, showErrors);
+                return null;
             }
 
-            return javaFXImage;
+            return read == null ? null : ImageUtils.toThumbnail(read, width, height);
 
-        } else if (IMAGE_IO_FORMATS.contains(extension)) {
+        } else if (FileExtensions.IMAGE_DDS.equals(extension)) {
 
             final BufferedImage read;
             try {
-                read = ImageIO.read(file.toFile());
+                read = ImageUtils.readDDS(file, width, height);
             } catch (final IOException e) {
-                EditorUtil.handleException(LOGGER, this, e);
-                return Icons.IMAGE_512;
+                handleException(e, showErrors);
+                return null;
             }
 
-            final int imageWidth = read.getWidth();
-            final int imageHeight = read.getHeight();
-
-            final java.awt.Image newImage = scaleImage(width, height, read, imageWidth, imageHeight);
-            final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            return read == null ? null : ImageUtils.toThumbnail(read, width, height);
 
-            final Graphics2D g2d = bufferedImage.createGraphics();
-            g2d.drawImage(newImage, 0, 0, null);
-            g2d.dispose();
-
-            Image javaFXImage;
+        } else if (FileExtensions.IMAGE_TGA.equals(extension)) {
 
-            try (final OutputStream out = Files.newOutputStream(cacheFile)) {
-                ImageIO.write(bufferedImage, "png", out);
-                javaFXImage = new Image(cacheFile.toUri().toString());
+            final BufferedImage read;
+            try {
+                read = ImageUtils.readTGA(file, width, height);
             } catch (final IOException e) {
-                LOGGER.warning(e);
-                javaFXImage = Icons.IMAGE_512;
+                handleException(e, showErrors);
+                return null;
             }
 
-            return javaFXImage;
+            return read == null ? null : ImageUtils.toThumbnail(read, width, height);
+        }
 
-        } else if (FileExtensions.IMAGE_DDS.equals(extension)) {
+        return null;
+    }
 
-            final byte[] content = notNull(Utils.get(file, Files::readAllBytes));
-            final int[] pixels = DDSReader.read(content, DDSReader.ARGB, 0);
-            final int currentWidth = DDSReader.getWidth(content);
-            final int currentHeight = DDSReader.getHeight(content);
+    private void handleException(@NotNull final Exception e, final boolean showErrors) {
+        if (showErrors) {
+            EditorUtil.handleException(LOGGER, this, e);
+        } else {
+            LOGGER.warning(this, e);
+        }
+    }
 
-            final BufferedImage read = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
-            read.setRGB(0, 0, currentWidth, currentHeight, pixels, 0, currentWidth);
+    private void processEvent(@NotNull final ChangedFilesEvent event) {
 
-            final java.awt.Image newImage = scaleImage(width, height, read, currentWidth, currentHeight);
-            final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Array<Path> files = ArrayFactory.newArray(Path.class);
+        files.addAll(event.getDeletedFiles());
 
-            final Graphics2D g2d = bufferedImage.createGraphics();
-            g2d.drawImage(newImage, 0, 0, null);
-            g2d.dispose();
+        for (final Path file : event.getChangedFiles()) {
+            if (isImage(file)) files.add(file);
+        }
 
-            Image javaFXImage;
+        if (files.isEmpty()) return;
 
-            try (final OutputStream out = Files.newOutputStream(cacheFile)) {
-                ImageIO.write(bufferedImage, "png", out);
-                javaFXImage = new Image(cacheFile.toUri().toString());
-            } catch (final IOException e) {
-                LOGGER.warning(e);
-                javaFXImage = Icons.IMAGE_512;
+        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+            for (final Path file : files) {
+                thumbnailCache.invalidate(file);
+                invalidateMetadata(file);
             }
+        }, TaskPriority.BULK);
+    }
 
-            return javaFXImage;
-
-        } else if (FileExtensions.IMAGE_TGA.equals(extension)) {
+    /**
+     * Request metadata of the image. The consumer gets the metadata or null later in the FX thread, the header of
+     * the image is read in background. A newer request of the same requester cancels the previous request.
+     *
+     * @param requester the requester.
+     * @param file      the image file.
+     * @param consumer  the consumer of the metadata.
+     */
+    @FXThread
+    public void requestImageMetadata(@NotNull final Object requester, @NotNull final Path file,
+                                     @NotNull final Consumer<ImageMetadata> consumer) {
 
-            final byte[] content = notNull(Utils.get(file, Files::readAllBytes));
+        cancelImageMetadata(requester);
 
-            final BufferedImage awtImage = (BufferedImage) TGAReader.getImage(content);
-            if (awtImage == null) return Icons.IMAGE_512;
+        final BackgroundTask<ImageMetadata> task = EXECUTOR_MANAGER.submitBackgroundTask(() ->
+                getImageMetadata(file), TaskPriority.INTERACTIVE);
 
-            final int imageWidth = awtImage.getWidth();
-            final int imageHeight = awtImage.getHeight();
+        metadataRequests.put(requester, task);
 
-            final java.awt.Image newImage = scaleImage(width, height, awtImage, imageWidth, imageHeight);
-            final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        task.whenComplete((metadata, error) -> EXECUTOR_MANAGER.addFXTask(() -> {
+            if (metadataRequests.get(requester) != task) return;
+            metadataRequests.remove(requester);
+            consumer.accept(metadata);
+        }));
+    }
 
-            final Graphics2D g2d = bufferedImage.createGraphics();
-            g2d.drawImage(newImage, 0, 0, null);
-            g2d.dispose();
+    /**
+     * Cancel the last request of metadata of the requester.
+     *
+     * @param requester the requester.
+     */
+    @FXThread
+    public void cancelImageMetadata(@NotNull final Object requester) {
+        final BackgroundTask<ImageMetadata> task = metadataRequests.remove(requester);
+        if (task != null) task.cancel(false);
+    }
 
-            Image javaFXImage;
+    /**
+     * Get metadata of the image from its header, metadata of images of the current asset folder is indexed, so
+     * headers are read again only after changes of images.
+     *
+     * @param file the image file.
+     * @return the metadata or null if the image can't be read.
+     */
+    @Nullable
+    @FromAnyThread
+    public ImageMetadata getImageMetadata(@NotNull final Path file) {
 
-            try (final OutputStream out = Files.newOutputStream(cacheFile)) {
-                ImageIO.write(bufferedImage, "png", out);
-                javaFXImage = new Image(cacheFile.toUri().toString());
-            } catch (final IOException e) {
-                LOGGER.warning(e);
-                javaFXImage = Icons.IMAGE_512;
-            }
+        final ImageMetadataIndex metadataIndex = getMetadataIndex();
 
-            return javaFXImage;
+        if (metadataIndex != null && metadataIndex.contains(file)) {
+            final ImageMetadata metadata = metadataIndex.get(file);
+            EXECUTOR_MANAGER.addBackgroundTask(metadataIndex::save, TaskPriority.BULK, SAVE_METADATA_TASK_KEY);
+            return metadata;
         }
 
-        return Icons.IMAGE_512;
-    }
-
-    @NotNull
-    private java.awt.Image scaleImage(final int width, final int height, @NotNull final BufferedImage read,
-                                      final int imageWidth, final int imageHeight) {
-
-        java.awt.Image newImage = read;
-
-        if (imageWidth > width || imageHeight > height) {
-            if (imageWidth == imageHeight) {
-                newImage = read.getScaledInstance(width, height, SCALE_DEFAULT);
-            } else if (imageWidth > imageHeight) {
-                float mod = imageHeight * 1F / imageWidth;
-                newImage = read.getScaledInstance(width, (int) (height * mod), SCALE_DEFAULT);
-            } else if (imageHeight > imageWidth) {
-                float mod = imageWidth * 1F / imageHeight;
-                newImage = read.getScaledInstance((int) (width * mod), height, SCALE_DEFAULT);
-            }
+        try {
+            return ImageHeaderReader.read(file);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warning(this, e);
+            return null;
         }
-
-        return newImage;
-    }
-
-    private void processEvent(@NotNull final DeletedFileEvent event) {
-        //TODO need to add remove from cache
     }
 
     /**
-     * Gets metadata.
+     * Get the index of metadata of images of the current asset folder, the index is loaded on the first access.
      *
-     * @param file the file
-     * @return the metadata
+     * @return the index or null if no asset folder is opened.
      */
     @Nullable
-    public synchronized IIOMetadata getMetadata(@NotNull final Path file) {
+    @FromAnyThread
+    private synchronized ImageMetadataIndex getMetadataIndex() {
 
-        if (iioMetadatas.containsKey(file)) {
-            return iioMetadatas.get(file);
-        }
+        final Path currentAsset = EditorConfig.getInstance().getCurrentAsset();
+        final ImageMetadataIndex metadataIndex = this.metadataIndex;
 
-        try (final ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+        if (currentAsset == null) {
+            return null;
+        } else if (metadataIndex != null && metadataIndex.getAssetFolder().equals(currentAsset)) {
+            return metadataIndex;
+        }
 
-            final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (metadataIndex != null) {
+            EXECUTOR_MANAGER.addBackgroundTask(metadataIndex::save, TaskPriority.BULK);
+        }
 
-            if (readers.hasNext()) {
+        final ImageMetadataIndex newIndex = ImageMetadataIndex.load(currentAsset);
+        this.metadataIndex = newIndex;
+        return newIndex;
+    }
 
-                final ImageReader reader = readers.next();
-                reader.setInput(iis, true);
+    /**
+     * Save the index of the previous asset folder and forget it, the index of the new asset folder is loaded on
+     * the first access.
+     */
+    @BackgroundThread
+    private void unloadMetadataIndex() {
 
-                final IIOMetadata imageMetadata = reader.getImageMetadata(0);
-                iioMetadatas.put(file, imageMetadata);
-                return imageMetadata;
-            }
+        final ImageMetadataIndex metadataIndex;
 
-        } catch (final Exception e) {
-            iioMetadatas.put(file, null);
+        synchronized (this) {
+            metadataIndex = this.metadataIndex;
+            this.metadataIndex = null;
         }
 
-        return null;
+        if (metadataIndex != null) metadataIndex.save();
+    }
+
+    /**
+     * Remove the changed or deleted file from the index of metadata.
+     */
+    @BackgroundThread
+    private void invalidateMetadata(@NotNull final Path file) {
+
+        final ImageMetadataIndex metadataIndex = this.metadataIndex;
+        if (metadataIndex == null) return;
+
+        metadataIndex.remove(file);
+        EXECUTOR_MANAGER.addBackgroundTask(metadataIndex::save, TaskPriority.BULK, SAVE_METADATA_TASK_KEY);
     }
 }
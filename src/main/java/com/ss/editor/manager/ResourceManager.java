@@ -3,18 +3,29 @@ package com.ss.editor.manager;
 import com.jme3.asset.AssetEventListener;
 import com.jme3.asset.AssetKey;
 import com.jme3.asset.AssetManager;
+import com.jme3.material.Material;
+import com.jme3.scene.Spatial;
 import com.ss.editor.Editor;
 import com.ss.editor.EditorThread;
 import com.ss.editor.FileExtensions;
+import com.ss.editor.FolderAssetLocator;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.InitializeAfter;
+import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.model.asset.AssetDependencyGraph;
+import com.ss.editor.model.asset.AssetIndex;
+import com.ss.editor.model.asset.AssetType;
+import com.ss.editor.model.asset.BudgetedAssetCache;
 import com.ss.editor.ui.event.FXEventManager;
+import com.ss.editor.ui.event.SceneEvent;
 import com.ss.editor.ui.event.impl.*;
-import com.ss.editor.util.SimpleFileVisitor;
-import com.ss.editor.util.SimpleFolderVisitor;
+import com.ss.editor.util.CachedClassPathScanner;
+import com.ss.editor.util.FileChangeSet;
+import com.ss.editor.util.NodeUtils;
+import com.ss.editor.util.ParallelFolderWalker;
 import com.ss.rlib.classpath.ClassPathScanner;
-import com.ss.rlib.classpath.ClassPathScannerFactory;
-import com.ss.rlib.concurrent.util.ThreadUtils;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.util.FileUtils;
@@ -35,7 +46,8 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.*;
 import java.nio.file.attribute.FileTime;
-import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 import static com.ss.editor.FileExtensions.*;
@@ -56,6 +68,7 @@ import static java.nio.file.StandardWatchEventKinds.*;
  *
  * @author JavaSaBr
  */
+@InitializeAfter(ClasspathManager.class)
 public class ResourceManager extends EditorThread implements AssetEventListener {
 
     @NotNull
@@ -67,6 +80,51 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private static final FXEventManager FX_EVENT_MANAGER = FXEventManager.getInstance();
 
+    /**
+     * The coalescing key of reloading tasks.
+     */
+    @NotNull
+    private static final String RELOAD_TASK_KEY = ResourceManager.class.getName() + ".reload";
+
+    /**
+     * The coalescing key of saving tasks of the asset index.
+     */
+    @NotNull
+    private static final String SAVE_INDEX_TASK_KEY = ResourceManager.class.getName() + ".saveIndex";
+
+    /**
+     * The coalescing key of validating tasks of the dependency graph.
+     */
+    @NotNull
+    private static final String VALIDATE_GRAPH_TASK_KEY = ResourceManager.class.getName() + ".validateGraph";
+
+    /**
+     * The coalescing key of evicting tasks of cached assets.
+     */
+    @NotNull
+    private static final String EVICT_ASSETS_TASK_KEY = ResourceManager.class.getName() + ".evictAssets";
+
+    /**
+     * The name of the file with cached resources of the classpath.
+     */
+    @NotNull
+    private static final String CLASSPATH_CACHE_FILE = "classpath-resources.cache";
+
+    /**
+     * The quiet window to debounce file events in nanoseconds.
+     */
+    private static final long DEBOUNCE_WINDOW = TimeUnit.MILLISECONDS.toNanos(Config.WATCHER_DEBOUNCE);
+
+    /**
+     * The max delay of publishing a batch of file events in nanoseconds.
+     */
+    private static final long MAX_BATCH_DELAY = TimeUnit.MILLISECONDS.toNanos(Config.WATCHER_MAX_DELAY);
+
+    /**
+     * The max count of created and deleted files in one batch to update the asset tree by them.
+     */
+    private static final int MAX_STRUCTURE_CHANGES = 500;
+
     @NotNull
     private static final ArrayComparator<String> STRING_ARRAY_COMPARATOR = StringUtils::compareIgnoreCase;
 
@@ -102,6 +160,13 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private final ObjectDictionary<String, Reference> assetCacheTable;
 
+    /**
+     * The table of entries of the asset index by asset paths of requested models to record materials of the models
+     * when they are loaded.
+     */
+    @NotNull
+    private final ObjectDictionary<String, AssetIndex.Entry> requestedModels;
+
     /**
      * The list of additional ENVs.
      */
@@ -132,6 +197,24 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private final Array<String> materialDefinitions;
 
+    /**
+     * The sorted list of all available material definitions or null if it should be rebuilt.
+     */
+    @Nullable
+    private Array<String> availableMaterialDefinitions;
+
+    /**
+     * The index of the current asset folder.
+     */
+    @Nullable
+    private volatile AssetIndex assetIndex;
+
+    /**
+     * The dependency graph of the current asset folder.
+     */
+    @Nullable
+    private volatile AssetDependencyGraph dependencyGraph;
+
     /**
      * The list of keys for watching to folders.
      */
@@ -144,11 +227,18 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private final ClassPathScanner classPathScanner;
 
+    /**
+     * The memory budgeted layer over the cache of the asset manager.
+     */
+    @NotNull
+    private final BudgetedAssetCache assetCache;
+
     /**
      * Instantiates a new Resource manager.
      */
     public ResourceManager() {
         this.assetCacheTable = DictionaryFactory.newObjectDictionary();
+        this.requestedModels = DictionaryFactory.newObjectDictionary();
         this.additionalEnvs = ArrayFactory.newArray(Path.class);
         this.watchKeys = ArrayFactory.newArray(WatchKey.class);
         this.classLoaders = ArrayFactory.newArray(URLClassLoader.class);
@@ -156,7 +246,9 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         this.materialDefinitionsInClasspath = ArrayFactory.newArray(String.class);
         this.materialDefinitions = ArrayFactory.newArray(String.class);
 
-        classPathScanner = ClassPathScannerFactory.newManifestScanner(Editor.class, "Class-Path");
+        final Path cacheFile = Config.getAppFolderInUserHome().resolve(CLASSPATH_CACHE_FILE);
+
+        classPathScanner = new CachedClassPathScanner(Editor.class, "Class-Path", cacheFile);
         classPathScanner.scanning(path -> {
 
             if (!(path.contains("jme3-core") || path.contains("jme3-effects") || path.contains("tonegod"))) {
@@ -178,12 +270,14 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             final FXEventManager fxEventManager = FXEventManager.getInstance();
             fxEventManager.addEventHandler(ChangedCurrentAssetFolderEvent.EVENT_TYPE, event -> processChangeAsset());
             fxEventManager.addEventHandler(RequestedRefreshAssetEvent.EVENT_TYPE, event -> processRefreshAsset());
-            fxEventManager.addEventHandler(CreatedFileEvent.EVENT_TYPE, event -> processEvent((CreatedFileEvent) event));
-            fxEventManager.addEventHandler(DeletedFileEvent.EVENT_TYPE, event -> processEvent((DeletedFileEvent) event));
+            fxEventManager.addEventHandler(ChangedFilesEvent.EVENT_TYPE, event -> processEvent((ChangedFilesEvent) event));
         });
 
         final Editor editor = Editor.getInstance();
         final AssetManager assetManager = editor.getAssetManager();
+
+        this.assetCache = new BudgetedAssetCache(assetManager, Config.ASSET_CACHE_BUDGET * 1024L * 1024L);
+
         assetManager.addAssetEventListener(this);
 
         updateAdditionalEnvs();
@@ -202,25 +296,140 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         return classPathScanner;
     }
 
+    /**
+     * Get the memory budgeted layer over the cache of the asset manager.
+     *
+     * @return the asset cache.
+     */
+    @NotNull
+    @FromAnyThread
+    public BudgetedAssetCache getAssetCache() {
+        return assetCache;
+    }
+
+    /**
+     * Delete the asset from the cache of the asset manager and forget its size in the memory budget.
+     *
+     * @param key the key of the asset.
+     */
+    @FromAnyThread
+    public void deleteFromCache(@NotNull final AssetKey<?> key) {
+        final Editor editor = Editor.getInstance();
+        final AssetManager assetManager = editor.getAssetManager();
+        assetManager.deleteFromCache(key);
+        assetCache.remove(key);
+    }
+
+    /**
+     * Pin the asset of the file and its dependencies to not evict them from the asset cache.
+     *
+     * @param file the file.
+     * @return the pinned asset paths to unpin them later.
+     */
+    @NotNull
+    @FromAnyThread
+    public Array<String> pinAssets(@NotNull final Path file) {
+
+        final Array<String> assetPaths = ArrayFactory.newArray(String.class);
+
+        final Path assetFile = getAssetFile(file);
+        if (assetFile == null) return assetPaths;
+
+        final String assetPath = toAssetPath(assetFile);
+        assetPaths.add(assetPath);
+
+        final AssetDependencyGraph dependencyGraph = getDependencyGraph();
+
+        if (dependencyGraph != null && dependencyGraph.isReady()) {
+            dependencyGraph.getAllDependencies(assetPath).forEach(assetPaths::add);
+        }
+
+        assetCache.pin(assetPaths);
+        return assetPaths;
+    }
+
+    /**
+     * Unpin the pinned asset paths.
+     *
+     * @param assetPaths the pinned asset paths.
+     */
+    @FromAnyThread
+    public void unpinAssets(@NotNull final Array<String> assetPaths) {
+        assetCache.unpin(assetPaths);
+    }
+
+    /**
+     * Evict least recently used assets in background, several requests are coalesced.
+     */
+    @FromAnyThread
+    private void requestEvictAssets() {
+        EXECUTOR_MANAGER.addBackgroundTask(assetCache::evict, TaskPriority.BULK, EVICT_ASSETS_TASK_KEY);
+    }
+
     @Override
     @FromAnyThread
     public synchronized void assetLoaded(@NotNull final AssetKey key) {
 
+        if (assetCache.notifyLoaded(key)) {
+            requestEvictAssets();
+        }
+
         final String extension = key.getExtension();
         if (StringUtils.isEmpty(extension)) return;
 
+        final AssetIndex.Entry entry = requestedModels.remove(key.getName());
+        if (entry != null) recordMaterials(key, entry);
+
         final ObjectDictionary<String, Reference> table = getAssetCacheTable();
         final Reference reference = notNull(table.get(key.getName(), () -> newRef(ReferenceType.LONG)));
         reference.setLong(currentTimeMillis());
     }
 
+    /**
+     * Record materials of the loaded model to the dependency graph.
+     *
+     * @param key   the key of the model.
+     * @param entry the entry of the model in the asset index when the model was requested.
+     */
+    @FromAnyThread
+    private void recordMaterials(@NotNull final AssetKey key, @NotNull final AssetIndex.Entry entry) {
+
+        final AssetDependencyGraph dependencyGraph = getDependencyGraph();
+        if (dependencyGraph == null) return;
+
+        final Editor editor = Editor.getInstance();
+        final AssetManager assetManager = editor.getAssetManager();
+        final Object asset = assetManager.getFromCache(key);
+        if (!(asset instanceof Spatial)) return;
+
+        final Array<String> materials = ArrayFactory.newArray(String.class);
+
+        NodeUtils.visitGeometry((Spatial) asset, geometry -> {
+            final Material material = geometry.getMaterial();
+            final String assetName = material == null ? null : material.getAssetName();
+            if (!StringUtils.isEmpty(assetName) && !materials.contains(assetName)) materials.add(assetName);
+        });
+
+        dependencyGraph.recordMaterials(entry, materials);
+        requestSaveAssetIndex();
+    }
+
     @Override
     @FromAnyThread
     public synchronized void assetRequested(@NotNull final AssetKey key) {
 
+        assetCache.notifyRequested(key);
+
         final String extension = key.getExtension();
         if (StringUtils.isEmpty(extension)) return;
 
+        final AssetIndex assetIndex = getAssetIndex();
+
+        if (assetIndex != null && (JME_OBJECT.equals(extension) || JME_SCENE.equals(extension))) {
+            final AssetIndex.Entry entry = assetIndex.getEntry(key.getName());
+            if (entry != null) requestedModels.put(key.getName(), entry);
+        }
+
         final ObjectDictionary<String, Reference> table = getAssetCacheTable();
         final Reference reference = table.get(key.getName());
         if (reference == null) return;
@@ -235,9 +444,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             final FileTime lastModifiedTime = Files.getLastModifiedTime(assetFile);
             if (lastModifiedTime.to(TimeUnit.MILLISECONDS) <= timestamp) return;
 
-            final Editor editor = Editor.getInstance();
-            final AssetManager assetManager = editor.getAssetManager();
-            assetManager.deleteFromCache(key);
+            deleteFromCache(key);
 
         } catch (final IOException e) {
             LOGGER.warning(e);
@@ -285,14 +492,27 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         return assetCacheTable;
     }
 
+    /**
+     * Handle a batch of changed files.
+     */
+    @FromAnyThread
+    private synchronized void processEvent(@NotNull final ChangedFilesEvent event) {
+
+        for (final Path file : event.getDeletedFiles()) {
+            if (!event.isDirectory(file)) processDeleted(file);
+        }
+
+        for (final Path file : event.getCreatedFiles()) {
+            if (!event.isDirectory(file)) handleFile(file);
+        }
+    }
+
     /**
      * Handle a removed file.
      */
     @FromAnyThread
-    private synchronized void processEvent(@NotNull final DeletedFileEvent event) {
-        if (event.isDirectory()) return;
+    private synchronized void processDeleted(@NotNull final Path file) {
 
-        final Path file = event.getFile();
         final String extension = FileUtils.getExtension(file);
 
         final Path assetFile = notNull(getAssetFile(file), "Not found asset file for " + file);
@@ -301,6 +521,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         if (extension.endsWith(FileExtensions.JME_MATERIAL_DEFINITION)) {
             final Array<String> materialDefinitions = getMaterialDefinitions();
             materialDefinitions.fastRemove(assetPath);
+            availableMaterialDefinitions = null;
         } else if (extension.endsWith(FileExtensions.JAVA_LIBRARY)) {
 
             final Editor editor = Editor.getInstance();
@@ -318,15 +539,6 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         }
     }
 
-    /**
-     * Handle a created file.
-     */
-    @FromAnyThread
-    private synchronized void processEvent(@NotNull final CreatedFileEvent event) {
-        if (event.isDirectory()) return;
-        handleFile(event.getFile());
-    }
-
     /**
      * @return the list of material definitions in the classpath.
      */
@@ -395,18 +607,102 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @FromAnyThread
     public synchronized void addAvailableMaterialDefinitionsTo(@NotNull final Array<String> result) {
 
-        final Array<String> materialDefinitions = getMaterialDefinitions();
+        final Array<String> available = getSortedMaterialDefinitions();
 
-        move(materialDefinitions, result, false);
+        if (result.isEmpty()) {
+            result.addAll(available);
+            return;
+        }
 
-        final Array<String> materialDefinitionsInClasspath = getMaterialDefinitionsInClasspath();
-        materialDefinitionsInClasspath.forEach(result, (resource, container) -> {
+        available.forEach(result, (resource, container) -> {
             if (!container.contains(resource)) container.add(resource);
         });
 
         result.sort(STRING_ARRAY_COMPARATOR);
     }
 
+    /**
+     * Get the sorted list of all available material definitions, the list is rebuilt only after changes of
+     * material definitions in the asset folder.
+     *
+     * @return the sorted list.
+     */
+    @NotNull
+    private Array<String> getSortedMaterialDefinitions() {
+
+        if (availableMaterialDefinitions != null) {
+            return availableMaterialDefinitions;
+        }
+
+        final Array<String> result = ArrayFactory.newArray(String.class);
+
+        move(getMaterialDefinitions(), result, false);
+
+        getMaterialDefinitionsInClasspath().forEach(result, (resource, container) -> {
+            if (!container.contains(resource)) container.add(resource);
+        });
+
+        result.sort(STRING_ARRAY_COMPARATOR);
+
+        availableMaterialDefinitions = result;
+        return result;
+    }
+
+    /**
+     * Get the index of the current asset folder.
+     *
+     * @return the asset index or null if no asset folder is opened.
+     */
+    @Nullable
+    @FromAnyThread
+    public AssetIndex getAssetIndex() {
+        return assetIndex;
+    }
+
+    /**
+     * Get the dependency graph of the current asset folder, the graph is validated in background, so it should be
+     * checked by {@link AssetDependencyGraph#isReady()} before using.
+     *
+     * @return the dependency graph or null if no asset folder is opened.
+     */
+    @Nullable
+    @FromAnyThread
+    public AssetDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * Save the asset index in background, several requests are coalesced.
+     */
+    @FromAnyThread
+    private void requestSaveAssetIndex() {
+
+        final AssetIndex assetIndex = getAssetIndex();
+        final AssetDependencyGraph dependencyGraph = getDependencyGraph();
+        if (assetIndex == null || dependencyGraph == null) return;
+
+        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+            assetIndex.save();
+            dependencyGraph.save();
+        }, TaskPriority.BULK, SAVE_INDEX_TASK_KEY);
+    }
+
+    /**
+     * Validate the dependency graph against the asset index in background, several requests are coalesced.
+     */
+    @FromAnyThread
+    private void requestValidateDependencyGraph() {
+
+        final AssetIndex assetIndex = getAssetIndex();
+        final AssetDependencyGraph dependencyGraph = getDependencyGraph();
+        if (assetIndex == null || dependencyGraph == null) return;
+
+        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+            dependencyGraph.validate(assetIndex);
+            requestSaveAssetIndex();
+        }, TaskPriority.BULK, VALIDATE_GRAPH_TASK_KEY);
+    }
+
     /**
      * Reload available resources.
      */
@@ -415,6 +711,9 @@ public class ResourceManager extends EditorThread implements AssetEventListener
 
         final ObjectDictionary<String, Reference> lastModifyTable = getAssetCacheTable();
         lastModifyTable.clear();
+        requestedModels.clear();
+
+        FolderAssetLocator.invalidateAll();
 
         final Array<WatchKey> watchKeys = getWatchKeys();
         watchKeys.forEach(WatchKey::cancel);
@@ -429,29 +728,53 @@ public class ResourceManager extends EditorThread implements AssetEventListener
 
         final Array<String> materialDefinitions = getMaterialDefinitions();
         materialDefinitions.clear();
+        availableMaterialDefinitions = null;
 
         final EditorConfig editorConfig = EditorConfig.getInstance();
         final Path currentAsset = editorConfig.getCurrentAsset();
-        if (currentAsset == null) return;
 
-        try {
-            Files.walkFileTree(currentAsset, (SimpleFileVisitor) (file, attrs) -> handleFile(file));
-        } catch (IOException e) {
-            LOGGER.warning(e);
+        if (currentAsset == null) {
+            assetIndex = null;
+            dependencyGraph = null;
+            return;
         }
 
+        final AssetIndex assetIndex = AssetIndex.load(currentAsset);
+        assetIndex.validate();
+
+        this.assetIndex = assetIndex;
+        this.dependencyGraph = AssetDependencyGraph.load(currentAsset);
+
+        materialDefinitions.addAll(assetIndex.find(AssetType.MATERIAL_DEFINITION));
+
+        final Array<String> libraries = assetIndex.find(AssetType.JAVA_LIBRARY);
+        libraries.forEach(currentAsset, (assetPath, folder) -> handleFile(folder.resolve(assetPath)));
+
+        final Array<String> folders = assetIndex.getFolders();
+        final Queue<WatchKey> newWatchKeys = new ConcurrentLinkedQueue<>();
+
+        // the root folder has an empty asset path
+        ParallelFolderWalker.forEach(folders, assetPath -> {
+            final WatchKey watchKey = register(currentAsset.resolve(assetPath));
+            if (watchKey != null) newWatchKeys.add(watchKey);
+        });
+
+        newWatchKeys.forEach(watchKeys::add);
+
+        requestSaveAssetIndex();
+        requestValidateDependencyGraph();
+    }
+
+    @Nullable
+    private static WatchKey register(@NotNull final Path folder) {
         try {
-            watchKeys.add(currentAsset.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
-            Files.walkFileTree(currentAsset, (SimpleFolderVisitor) (file, attrs) -> registerFiles(watchKeys, file));
+            return folder.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
         } catch (final IOException e) {
             LOGGER.warning(e);
+            return null;
         }
     }
 
-    private static void registerFiles(@NotNull final Array<WatchKey> watchKeys, @NotNull final Path file) {
-        watchKeys.add(get(file, toRegister -> toRegister.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY)));
-    }
-
     /**
      * Handle a file event in an asset folder.
      */
@@ -465,6 +788,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             final Path assetFile = notNull(getAssetFile(file), "Not found asset file for " + file);
             final Array<String> materialDefinitions = getMaterialDefinitions();
             materialDefinitions.add(toAssetPath(assetFile));
+            availableMaterialDefinitions = null;
         } else if (extension.endsWith(FileExtensions.JAVA_LIBRARY)) {
 
             final Editor editor = Editor.getInstance();
@@ -486,66 +810,190 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     public void run() {
         super.run();
 
+        final FileChangeSet changeSet = new FileChangeSet();
+
         while (true) {
-            ThreadUtils.sleep(200);
 
-            final Array<WatchKey> watchKeys = getWatchKeys();
+            try {
+                collectChanges(changeSet);
+            } catch (final InterruptedException e) {
+                LOGGER.warning(this, e);
+                return;
+            }
 
-            List<WatchEvent<?>> watchEvents = null;
-            WatchKey watchKey = null;
+            if (!changeSet.isEmpty()) {
+                publishChanges(changeSet);
+            }
 
-            synchronized (this) {
-                for (final WatchKey key : watchKeys) {
-                    watchKey = key;
-                    watchEvents = key.pollEvents();
-                    if (!watchEvents.isEmpty()) break;
-                }
+            changeSet.clear();
+        }
+    }
+
+    /**
+     * Block until the first event and then collect next events until the debounce window is quiet or the max
+     * delay of the batch is exceeded.
+     *
+     * @param changeSet the set to collect changes.
+     * @throws InterruptedException if the thread was interrupted.
+     */
+    private void collectChanges(@NotNull final FileChangeSet changeSet) throws InterruptedException {
+
+        WatchKey watchKey = WATCH_SERVICE.take();
+
+        final long deadline = System.nanoTime() + MAX_BATCH_DELAY;
+
+        while (watchKey != null) {
+
+            handleWatchKey(watchKey, changeSet);
+
+            final long now = System.nanoTime();
+            final long timeout = Math.min(now + DEBOUNCE_WINDOW, deadline) - now;
+            if (timeout <= 0) break;
+
+            watchKey = WATCH_SERVICE.poll(timeout, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Move raw events of the watch key to the change set, watch keys of new directories are registered
+     * immediately to not miss events of their content.
+     */
+    private void handleWatchKey(@NotNull final WatchKey watchKey, @NotNull final FileChangeSet changeSet) {
+
+        final Path folder = (Path) watchKey.watchable();
+
+        for (final WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+
+            final WatchEvent.Kind<?> kind = watchEvent.kind();
+
+            if (kind == OVERFLOW) {
+                changeSet.setOverflow();
+                continue;
+            }
+
+            final Path file = folder.resolve((Path) watchEvent.context());
+            final boolean directory;
+
+            if (kind == ENTRY_CREATE) {
+                directory = Files.isDirectory(file);
+                if (directory) registerWatchKey(file);
+            } else if (kind == ENTRY_DELETE) {
+                directory = findWatchKey(file) != null;
+                if (directory) removeWatchKeyFor(file);
+            } else if (Files.isDirectory(file)) {
+                // changes of directories are reported by changes of their content
+                continue;
+            } else {
+                directory = false;
             }
 
-            if (watchEvents == null || watchEvents.isEmpty()) continue;
+            changeSet.add(file, kind, directory);
+        }
+
+        if (!watchKey.reset()) {
+            removeWatchKeyFor(folder);
+        }
+    }
+
+    /**
+     * Publish the batch of changes by one FX task. Too large batches of created and deleted files are replaced
+     * by refreshing of the asset folder.
+     */
+    private void publishChanges(@NotNull final FileChangeSet changeSet) {
+
+        final Array<Path> createdFiles = changeSet.getFiles(FileChangeSet.Kind.CREATED);
+        final Array<Path> deletedFiles = changeSet.getFiles(FileChangeSet.Kind.DELETED);
+        final Array<Path> changedFiles = changeSet.getFiles(FileChangeSet.Kind.CHANGED);
+
+        final boolean refresh = changeSet.isOverflow() ||
+                createdFiles.size() + deletedFiles.size() > MAX_STRUCTURE_CHANGES;
+
+        // the asset manager shouldn't wait for the FX thread to see new files,
+        // a deleted and then created file is merged to a changed file
+        if (changeSet.isOverflow()) {
+            FolderAssetLocator.invalidateAll();
+        } else {
+            createdFiles.forEach(FolderAssetLocator::invalidate);
+            changedFiles.forEach(FolderAssetLocator::invalidate);
+        }
+
+        LOGGER.debug(this, "coalesced " + changeSet.getEvents() + " events to " + createdFiles.size() +
+                " created, " + deletedFiles.size() + " deleted and " + changedFiles.size() + " changed files" +
+                (refresh ? ", the asset folder will be refreshed" : ""));
 
-            for (final WatchEvent<?> watchEvent : watchEvents) {
+        // the refreshing of the asset folder replaces handling of created and deleted files
+        final ChangedFilesEvent event = new ChangedFilesEvent();
+        event.setCreatedFiles(refresh ? ArrayFactory.newArray(Path.class) : createdFiles);
+        event.setDeletedFiles(refresh ? ArrayFactory.newArray(Path.class) : deletedFiles);
+        event.setChangedFiles(changedFiles);
+        event.setDirectories(changeSet.getDirectories());
 
-                final Path file = (Path) watchEvent.context();
-                final Path folder = (Path) watchKey.watchable();
-                final Path realFile = folder.resolve(file);
+        final Array<SceneEvent> events = ArrayFactory.newArray(SceneEvent.class);
+        events.add(event);
 
-                if (watchEvent.kind() == ENTRY_CREATE) {
+        if (refresh) {
+            events.add(new RequestedRefreshAssetEvent());
+        }
 
-                    final boolean directory = Files.isDirectory(realFile);
+        updateAssetIndex(createdFiles, deletedFiles, changedFiles, refresh);
 
-                    final CreatedFileEvent event = new CreatedFileEvent();
-                    event.setFile(realFile);
-                    event.setNeedSelect(false);
-                    event.setDirectory(directory);
+        EXECUTOR_MANAGER.addFXTask(() -> events.forEach(FX_EVENT_MANAGER::notify));
+    }
 
-                    if (directory) {
-                        registerWatchKey(realFile);
-                    }
+    /**
+     * Update the asset index and the dependency graph by the batch of changes, a refreshing of the asset folder
+     * validates them itself.
+     */
+    private void updateAssetIndex(@NotNull final Array<Path> createdFiles, @NotNull final Array<Path> deletedFiles,
+                                  @NotNull final Array<Path> changedFiles, final boolean refresh) {
 
-                    FX_EVENT_MANAGER.notify(event);
+        final AssetIndex assetIndex = getAssetIndex();
+        if (assetIndex == null || refresh) return;
 
-                } else if (watchEvent.kind() == ENTRY_DELETE) {
+        deletedFiles.forEach(assetIndex::remove);
+        createdFiles.forEach(assetIndex::update);
+        changedFiles.forEach(assetIndex::update);
 
-                    final boolean directory = Files.isDirectory(realFile);
+        final AssetDependencyGraph dependencyGraph = getDependencyGraph();
 
-                    final DeletedFileEvent event = new DeletedFileEvent();
-                    event.setFile(realFile);
-                    event.setDirectory(directory);
+        if (dependencyGraph != null) {
+            updateDependencyGraph(dependencyGraph, assetIndex, createdFiles, deletedFiles, changedFiles);
+        }
 
-                    removeWatchKeyFor(realFile);
+        requestSaveAssetIndex();
+    }
 
-                    FX_EVENT_MANAGER.notify(event);
+    /**
+     * Update the dependency graph by the batch of changes, sources are rescanned here to have the actual graph
+     * before notifying about the changes. Created folders request a full validation.
+     */
+    private void updateDependencyGraph(@NotNull final AssetDependencyGraph dependencyGraph,
+                                       @NotNull final AssetIndex assetIndex, @NotNull final Array<Path> createdFiles,
+                                       @NotNull final Array<Path> deletedFiles, @NotNull final Array<Path> changedFiles) {
+
+        final Path assetFolder = dependencyGraph.getAssetFolder();
 
-                } else if (watchEvent.kind() == ENTRY_MODIFY) {
+        boolean needValidate = false;
 
-                    final FileChangedEvent event = new FileChangedEvent();
-                    event.setFile(realFile);
+        for (final Path file : deletedFiles) {
+            dependencyGraph.remove(toAssetPath(assetFolder.relativize(file)));
+        }
 
-                    FX_EVENT_MANAGER.notify(event);
-                }
+        for (final Path file : createdFiles) {
+            if (Files.isDirectory(file)) {
+                needValidate = true;
+            } else {
+                dependencyGraph.update(assetIndex, toAssetPath(assetFolder.relativize(file)));
             }
         }
+
+        for (final Path file : changedFiles) {
+            dependencyGraph.update(assetIndex, toAssetPath(assetFolder.relativize(file)));
+        }
+
+        if (needValidate) {
+            requestValidateDependencyGraph();
+        }
     }
 
     /**
@@ -592,14 +1040,14 @@ public class ResourceManager extends EditorThread implements AssetEventListener
      * Handle refreshing asset folder.
      */
     private void processRefreshAsset() {
-        EXECUTOR_MANAGER.addBackgroundTask(this::reload);
+        EXECUTOR_MANAGER.addBackgroundTask(this::reload, TaskPriority.INTERACTIVE, RELOAD_TASK_KEY);
     }
 
     /**
      * Handle changing asset folder.
      */
     private void processChangeAsset() {
-        EXECUTOR_MANAGER.addBackgroundTask(this::reload);
+        EXECUTOR_MANAGER.addBackgroundTask(this::reload, TaskPriority.INTERACTIVE, RELOAD_TASK_KEY);
     }
 
     /**
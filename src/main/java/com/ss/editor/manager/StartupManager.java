@@ -0,0 +1,244 @@
+package com.ss.editor.manager;
+
+import com.ss.editor.EditorThread;
+import com.ss.editor.annotation.InitializeAfter;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The manager to initialize singleton managers during startup. Managers declare their dependencies using
+ * {@link InitializeAfter}, independent managers are initialized concurrently on a startup pool and after
+ * initialization the timeline with wall time of each manager and the critical path is reported.
+ *
+ * @author JavaSaBr
+ */
+public final class StartupManager {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(StartupManager.class);
+
+    @NotNull
+    private static final String METHOD_NAME = "getInstance";
+
+    /**
+     * The timing of initializing a manager.
+     */
+    private static final class Timing {
+
+        /**
+         * The class of the manager.
+         */
+        @NotNull
+        private final Class<?> type;
+
+        /**
+         * The dependency which was finished last.
+         */
+        @Nullable
+        private final Timing critical;
+
+        /**
+         * The start time in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * The end time in nanoseconds.
+         */
+        private final long end;
+
+        private Timing(@NotNull final Class<?> type, @Nullable final Timing critical, final long start,
+                       final long end) {
+            this.type = type;
+            this.critical = critical;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The registered managers.
+     */
+    @NotNull
+    private static final Array<Class<?>> MANAGERS = ArrayFactory.newArray(Class.class);
+
+    private StartupManager() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Register a manager to initialize, the manager should have a static method 'getInstance'.
+     *
+     * @param type the class of the manager.
+     */
+    public static synchronized void register(@NotNull final Class<?> type) {
+
+        try {
+            type.getMethod(METHOD_NAME);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException("not found the method " + METHOD_NAME + " in the " + type, e);
+        }
+
+        if (!MANAGERS.contains(type)) {
+            MANAGERS.add(type);
+        }
+    }
+
+    /**
+     * Initialize all registered managers and block the current thread until all of them are initialized.
+     */
+    public static synchronized void initialize() {
+
+        if (MANAGERS.isEmpty()) {
+            return;
+        }
+
+        final int threads = Math.min(MANAGERS.size(), Runtime.getRuntime().availableProcessors());
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+            final EditorThread thread = new EditorThread(null, runnable, "Startup_" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final Map<Class<?>, CompletableFuture<Timing>> futures = new HashMap<>();
+        final Set<Class<?>> visiting = new HashSet<>();
+        final long start = System.nanoTime();
+
+        try {
+
+            for (final Class<?> type : MANAGERS) {
+                schedule(type, futures, visiting, pool);
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()])).join();
+
+        } finally {
+            pool.shutdown();
+        }
+
+        report(futures, start);
+        MANAGERS.clear();
+    }
+
+    /**
+     * Schedule initializing the manager after its dependencies.
+     */
+    @NotNull
+    private static CompletableFuture<Timing> schedule(@NotNull final Class<?> type,
+                                                      @NotNull final Map<Class<?>, CompletableFuture<Timing>> futures,
+                                                      @NotNull final Set<Class<?>> visiting,
+                                                      @NotNull final ExecutorService pool) {
+
+        final CompletableFuture<Timing> exists = futures.get(type);
+        if (exists != null) return exists;
+
+        if (!visiting.add(type)) {
+            throw new IllegalStateException("found a cyclic dependency of the " + type);
+        }
+
+        final Array<CompletableFuture<Timing>> dependencies = ArrayFactory.newArray(CompletableFuture.class);
+        final InitializeAfter annotation = type.getAnnotation(InitializeAfter.class);
+
+        if (annotation != null) {
+            for (final Class<?> dependency : annotation.value()) {
+                if (!MANAGERS.contains(dependency)) {
+                    LOGGER.warning("the dependency " + dependency + " of the " + type + " isn't registered.");
+                    continue;
+                }
+                dependencies.add(schedule(dependency, futures, visiting, pool));
+            }
+        }
+
+        visiting.remove(type);
+
+        final CompletableFuture<?>[] array = dependencies.toArray(new CompletableFuture[dependencies.size()]);
+        final CompletableFuture<Timing> future = CompletableFuture.allOf(array)
+                .thenApplyAsync(ignored -> initialize(type, dependencies), pool);
+
+        futures.put(type, future);
+        return future;
+    }
+
+    /**
+     * Initialize the manager.
+     */
+    @NotNull
+    private static Timing initialize(@NotNull final Class<?> type,
+                                     @NotNull final Array<CompletableFuture<Timing>> dependencies) {
+
+        Timing critical = null;
+
+        for (final CompletableFuture<Timing> dependency : dependencies) {
+            final Timing timing = dependency.join();
+            if (critical == null || timing.end > critical.end) critical = timing;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final Method method = type.getMethod(METHOD_NAME);
+            method.invoke(null);
+        } catch (final Exception e) {
+            LOGGER.warning(e);
+        }
+
+        return new Timing(type, critical, start, System.nanoTime());
+    }
+
+    /**
+     * Report the timeline of initializing managers.
+     */
+    private static void report(@NotNull final Map<Class<?>, CompletableFuture<Timing>> futures, final long start) {
+
+        final StringBuilder builder = new StringBuilder("startup timeline:");
+
+        Timing last = null;
+
+        for (final Class<?> type : MANAGERS) {
+
+            final Timing timing = futures.get(type).join();
+
+            builder.append("\n    ").append(type.getSimpleName())
+                    .append(": start +").append(toMillis(timing.start - start))
+                    .append(" ms, took ").append(toMillis(timing.end - timing.start)).append(" ms");
+
+            if (last == null || timing.end > last.end) last = timing;
+        }
+
+        if (last == null) {
+            LOGGER.info(builder.toString());
+            return;
+        }
+
+        final StringBuilder path = new StringBuilder();
+
+        for (Timing timing = last; timing != null; timing = timing.critical) {
+            if (path.length() > 0) path.insert(0, " -> ");
+            path.insert(0, timing.type.getSimpleName());
+        }
+
+        builder.append("\n    critical path: ").append(path)
+                .append("\n    total: ").append(toMillis(last.end - start)).append(" ms");
+
+        LOGGER.info(builder.toString());
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
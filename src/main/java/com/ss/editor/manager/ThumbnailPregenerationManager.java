@@ -0,0 +1,338 @@
+package com.ss.editor.manager;
+
+import com.ss.editor.JFXApplication;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FXThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.InitializeAfter;
+import com.ss.editor.config.Config;
+import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.model.asset.AssetIndex;
+import com.ss.editor.model.asset.AssetType;
+import com.ss.editor.ui.event.FXEventManager;
+import com.ss.editor.ui.event.impl.ChangedCurrentAssetFolderEvent;
+import com.ss.editor.ui.scene.EditorFXScene;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.array.Array;
+import javafx.scene.input.InputEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The manager to pre-generate thumbnails of textures of the current asset folder in background, so previews are
+ * shown without decoding on the first pass through a folder.
+ * <p>
+ * Textures are processed one by one by low priority background tasks with a delay between them, processing is
+ * paused while a user interacts with the editor. The last processed texture is saved to the asset folder, so
+ * processing is resumed from it after restart.
+ *
+ * @author JavaSaBr
+ */
+@InitializeAfter({ResourceManager.class, JavaFXImageManager.class})
+public class ThumbnailPregenerationManager {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ThumbnailPregenerationManager.class);
+
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    @NotNull
+    private static final EditorConfig EDITOR_CONFIG = EditorConfig.getInstance();
+
+    /**
+     * The name of the file with the last processed texture.
+     */
+    @NotNull
+    private static final String FILE_PROGRESS = "thumbnail-progress";
+
+    /**
+     * The sizes of pre-generated thumbnails: previews in tooltips and in texture controls.
+     */
+    @NotNull
+    private static final int[] SIZES = {120, 28};
+
+    /**
+     * The time in milliseconds to pause processing after an interaction.
+     */
+    private static final int INTERACTION_PAUSE = 2000;
+
+    /**
+     * The delay in milliseconds to wait for the asset index.
+     */
+    private static final int WAIT_INDEX_DELAY = 1000;
+
+    /**
+     * The count of processed textures between saving the progress.
+     */
+    private static final int SAVE_PROGRESS_INTERVAL = 32;
+
+    /**
+     * The processing of an asset folder.
+     */
+    private final class Job {
+
+        /**
+         * The asset folder.
+         */
+        @NotNull
+        private final Path assetFolder;
+
+        /**
+         * The sorted asset paths of textures or null if the asset index isn't ready yet.
+         */
+        @Nullable
+        private volatile Array<String> assetPaths;
+
+        /**
+         * The index of the next texture.
+         */
+        private volatile int index;
+
+        /**
+         * The count of generated thumbnails.
+         */
+        private int generated;
+
+        private Job(@NotNull final Path assetFolder) {
+            this.assetFolder = assetFolder;
+        }
+
+        /**
+         * Process the next texture.
+         */
+        @BackgroundThread
+        private void step() {
+            if (job != this) return;
+
+            final long sinceInteraction = System.currentTimeMillis() - lastInteraction;
+
+            if (sinceInteraction < INTERACTION_PAUSE) {
+                schedule(INTERACTION_PAUSE - sinceInteraction);
+                return;
+            }
+
+            Array<String> assetPaths = this.assetPaths;
+
+            if (assetPaths == null) {
+
+                final ResourceManager resourceManager = ResourceManager.getInstance();
+                final AssetIndex assetIndex = resourceManager.getAssetIndex();
+
+                if (assetIndex == null || !assetFolder.equals(assetIndex.getAssetFolder())) {
+                    schedule(WAIT_INDEX_DELAY);
+                    return;
+                }
+
+                assetPaths = assetIndex.find(AssetType.TEXTURE);
+                assetPaths.sort(String::compareTo);
+
+                final String last = loadProgress(assetFolder);
+
+                while (last != null && index < assetPaths.size() && assetPaths.get(index).compareTo(last) <= 0) {
+                    index++;
+                }
+
+                this.assetPaths = assetPaths;
+            }
+
+            if (index >= assetPaths.size()) {
+                finish();
+                return;
+            }
+
+            final String assetPath = assetPaths.get(index++);
+            final Path file = assetFolder.resolve(assetPath);
+            final JavaFXImageManager imageManager = JavaFXImageManager.getInstance();
+
+            try {
+                for (final int size : SIZES) {
+                    if (imageManager.pregenerateTexturePreview(file, size, size)) generated++;
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.warning(this, e);
+            }
+
+            if (index % SAVE_PROGRESS_INTERVAL == 0) {
+                saveProgress(assetFolder, assetPath);
+            }
+
+            schedule(Config.PREVIEW_PREGENERATION_DELAY);
+        }
+
+        private void finish() {
+
+            synchronized (ThumbnailPregenerationManager.this) {
+                if (job == this) job = null;
+            }
+
+            saveProgress(assetFolder, null);
+
+            if (generated > 0) {
+                LOGGER.debug(this, "generated " + generated + " thumbnails of " + getTotal() + " textures in " +
+                        assetFolder);
+            }
+        }
+
+        private void schedule(final long delay) {
+            EXECUTOR_MANAGER.schedule(() -> EXECUTOR_MANAGER.addBackgroundTask(this::step, TaskPriority.BULK),
+                    Math.max(delay, 1));
+        }
+
+        private int getProcessed() {
+            return assetPaths == null ? 0 : index;
+        }
+
+        private int getTotal() {
+            final Array<String> assetPaths = this.assetPaths;
+            return assetPaths == null ? 0 : assetPaths.size();
+        }
+    }
+
+    @Nullable
+    private static ThumbnailPregenerationManager instance;
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    @NotNull
+    public static ThumbnailPregenerationManager getInstance() {
+        if (instance == null) instance = new ThumbnailPregenerationManager();
+        return instance;
+    }
+
+    /**
+     * The current processing or null.
+     */
+    @Nullable
+    private volatile Job job;
+
+    /**
+     * The time of the last interaction.
+     */
+    private volatile long lastInteraction;
+
+    private ThumbnailPregenerationManager() {
+
+        EXECUTOR_MANAGER.addFXTask(() -> {
+
+            final FXEventManager fxEventManager = FXEventManager.getInstance();
+            fxEventManager.addEventHandler(ChangedCurrentAssetFolderEvent.EVENT_TYPE, event -> restart());
+
+            final EditorFXScene scene = JFXApplication.getInstance().getScene();
+            scene.addEventFilter(InputEvent.ANY, event -> notifyInteraction());
+        });
+
+        restart();
+    }
+
+    /**
+     * Notify about an interaction of a user to pause processing.
+     */
+    @FXThread
+    public void notifyInteraction() {
+        lastInteraction = System.currentTimeMillis();
+    }
+
+    /**
+     * Restart processing of the current asset folder if pre-generating of thumbnails is enabled, else stop
+     * processing.
+     */
+    @FromAnyThread
+    public synchronized void restart() {
+
+        final Path currentAsset = EDITOR_CONFIG.getCurrentAsset();
+        final Job prev = job;
+
+        if (!EDITOR_CONFIG.isPregenerateThumbnails() || currentAsset == null) {
+            job = null;
+            return;
+        } else if (prev != null && prev.assetFolder.equals(currentAsset)) {
+            return;
+        }
+
+        final Job newJob = new Job(currentAsset);
+        job = newJob;
+        newJob.schedule(Config.PREVIEW_PREGENERATION_DELAY);
+    }
+
+    /**
+     * Get the count of processed textures of the current asset folder.
+     *
+     * @return the count of processed textures.
+     */
+    @FromAnyThread
+    public int getProcessed() {
+        final Job job = this.job;
+        return job == null ? 0 : job.getProcessed();
+    }
+
+    /**
+     * Get the count of textures of the current asset folder to process.
+     *
+     * @return the count of textures or 0 if nothing is processed.
+     */
+    @FromAnyThread
+    public int getTotal() {
+        final Job job = this.job;
+        return job == null ? 0 : job.getTotal();
+    }
+
+    /**
+     * @return true if thumbnails are being pre-generated.
+     */
+    @FromAnyThread
+    public boolean isRunning() {
+        return job != null;
+    }
+
+    @NotNull
+    private static Path getProgressFile(@NotNull final Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR).resolve(FILE_PROGRESS);
+    }
+
+    @Nullable
+    private static String loadProgress(@NotNull final Path assetFolder) {
+
+        final Path progressFile = getProgressFile(assetFolder);
+        if (!Files.exists(progressFile)) return null;
+
+        try {
+            return new String(Files.readAllBytes(progressFile), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+            return null;
+        }
+    }
+
+    /**
+     * Save the last processed asset path or remove the progress if processing is finished.
+     */
+    private static void saveProgress(@NotNull final Path assetFolder, @Nullable final String assetPath) {
+
+        final Path progressFile = getProgressFile(assetFolder);
+
+        try {
+
+            if (assetPath == null) {
+                Files.deleteIfExists(progressFile);
+                return;
+            }
+
+            Files.createDirectories(progressFile.getParent());
+            Files.write(progressFile, assetPath.getBytes(StandardCharsets.UTF_8));
+
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+    }
+}
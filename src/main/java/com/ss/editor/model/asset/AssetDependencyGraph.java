@@ -0,0 +1,746 @@
+package com.ss.editor.model.asset;
+
+import static com.ss.rlib.util.ClassUtils.unsafeCast;
+import com.ss.editor.FileExtensions;
+import com.ss.editor.manager.WorkspaceManager;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.FileUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The persistent graph of dependencies between assets of an asset folder: models depend on materials and
+ * textures, materials depend on material definitions and textures, material definitions depend on shaders.
+ * <p>
+ * Dependencies are found by scanning sources for asset paths without loading them, so binary models are scanned
+ * as byte streams. Only dependencies which are found in the asset index are kept, a source is scanned again only
+ * if its size or last modified time was changed. Materials of models are also recorded when models are loaded,
+ * these records are exact and are preferred over scanned dependencies.
+ *
+ * @author JavaSaBr
+ */
+public class AssetDependencyGraph implements Serializable {
+
+    /**
+     * The constant serialVersionUID.
+     */
+    public static final long serialVersionUID = 3;
+
+    /**
+     * The name of the file of a dependency graph.
+     */
+    @NotNull
+    public static final String FILE_DEPENDENCY_GRAPH = "asset-dependencies";
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(AssetDependencyGraph.class);
+
+    /**
+     * The max length in bytes of a scanned token, only the tail of longer tokens is kept.
+     */
+    private static final int MAX_TOKEN_LENGTH = 1024;
+
+    /**
+     * The extensions of files which can have dependencies.
+     */
+    @NotNull
+    private static final Array<String> SOURCE_EXTENSIONS = ArrayFactory.newArray(String.class);
+
+    static {
+        SOURCE_EXTENSIONS.add(FileExtensions.JME_OBJECT);
+        SOURCE_EXTENSIONS.add(FileExtensions.JME_SCENE);
+        SOURCE_EXTENSIONS.add(FileExtensions.JME_MATERIAL);
+        SOURCE_EXTENSIONS.add(FileExtensions.JME_MATERIAL_DEFINITION);
+        SOURCE_EXTENSIONS.addAll(AssetType.SHADER.getExtensions());
+    }
+
+    /**
+     * The extensions of models which can link other models.
+     */
+    @NotNull
+    private static final Array<String> MODEL_EXTENSIONS = ArrayFactory.newArray(String.class);
+
+    static {
+        MODEL_EXTENSIONS.add(FileExtensions.JME_OBJECT);
+        MODEL_EXTENSIONS.add(FileExtensions.JME_SCENE);
+    }
+
+    /**
+     * The scanned source.
+     */
+    private static final class Source {
+
+        /**
+         * The size of the source.
+         */
+        private final long size;
+
+        /**
+         * The last modified time of the source.
+         */
+        private final long lastModified;
+
+        /**
+         * The asset paths of dependencies.
+         */
+        @NotNull
+        private final String[] dependencies;
+
+        /**
+         * True if all asset paths which were found in the source were resolved.
+         */
+        private final boolean complete;
+
+        private Source(final long size, final long lastModified, @NotNull final String[] dependencies,
+                       final boolean complete) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.dependencies = dependencies;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * The table of scanned sources by asset paths.
+     */
+    @NotNull
+    private transient Map<String, Source> sources;
+
+    /**
+     * The table of asset paths of dependent sources by asset paths of dependencies.
+     */
+    @NotNull
+    private transient Map<String, Set<String>> dependents;
+
+    /**
+     * The table of materials which were assigned to loaded models by asset paths of the models.
+     */
+    @NotNull
+    private transient Map<String, Source> materials;
+
+    /**
+     * The asset folder.
+     */
+    @Nullable
+    private transient Path assetFolder;
+
+    /**
+     * True if this graph has unsaved changes.
+     */
+    private transient boolean changed;
+
+    /**
+     * True if this graph was validated against an asset index.
+     */
+    private transient volatile boolean ready;
+
+    private AssetDependencyGraph() {
+        this.sources = new HashMap<>();
+        this.dependents = new HashMap<>();
+        this.materials = new HashMap<>();
+    }
+
+    private void writeObject(@NotNull final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        writeSources(out, sources);
+        writeSources(out, materials);
+    }
+
+    private static void writeSources(@NotNull final ObjectOutputStream out, @NotNull final Map<String, Source> sources)
+            throws IOException {
+
+        out.writeInt(sources.size());
+
+        for (final Map.Entry<String, Source> entry : sources.entrySet()) {
+
+            final Source source = entry.getValue();
+
+            out.writeUTF(entry.getKey());
+            out.writeLong(source.size);
+            out.writeLong(source.lastModified);
+            out.writeBoolean(source.complete);
+            out.writeInt(source.dependencies.length);
+
+            for (final String dependency : source.dependencies) {
+                out.writeUTF(dependency);
+            }
+        }
+    }
+
+    private void readObject(@NotNull final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        final Map<String, Source> sources = readSources(in);
+
+        this.sources = new HashMap<>(sources.size() * 2);
+        this.dependents = new HashMap<>(sources.size() * 2);
+        this.materials = readSources(in);
+
+        sources.forEach(this::put);
+    }
+
+    @NotNull
+    private static Map<String, Source> readSources(@NotNull final ObjectInputStream in) throws IOException {
+
+        final int count = in.readInt();
+        final Map<String, Source> sources = new HashMap<>(count * 2);
+
+        for (int i = 0; i < count; i++) {
+
+            final String path = in.readUTF();
+            final long size = in.readLong();
+            final long lastModified = in.readLong();
+            final boolean complete = in.readBoolean();
+            final String[] dependencies = new String[in.readInt()];
+
+            for (int j = 0; j < dependencies.length; j++) {
+                dependencies[j] = in.readUTF();
+            }
+
+            sources.put(path, new Source(size, lastModified, dependencies, complete));
+        }
+
+        return sources;
+    }
+
+    /**
+     * Load a dependency graph of the asset folder or create a new graph.
+     *
+     * @param assetFolder the asset folder.
+     * @return the dependency graph.
+     */
+    @NotNull
+    public static AssetDependencyGraph load(@NotNull final Path assetFolder) {
+
+        final Path graphFile = getGraphFile(assetFolder);
+
+        AssetDependencyGraph graph = null;
+
+        if (Files.exists(graphFile)) {
+            try (final InputStream in = new BufferedInputStream(Files.newInputStream(graphFile));
+                 final ObjectInputStream objectIn = new ObjectInputStream(in)) {
+                graph = unsafeCast(objectIn.readObject());
+            } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+                LOGGER.warning("can't read the dependency graph " + graphFile + ", it will be rebuilt.");
+            }
+        }
+
+        if (graph == null) {
+            graph = new AssetDependencyGraph();
+        }
+
+        graph.assetFolder = assetFolder;
+        return graph;
+    }
+
+    @NotNull
+    private static Path getGraphFile(@NotNull final Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR).resolve(FILE_DEPENDENCY_GRAPH);
+    }
+
+    /**
+     * @return the asset folder.
+     */
+    @NotNull
+    public Path getAssetFolder() {
+        return Objects.requireNonNull(assetFolder);
+    }
+
+    /**
+     * Check the graph is validated against an asset index, before that the graph can miss dependencies.
+     *
+     * @return true if the graph is ready.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Validate this graph against the asset index, changed sources are scanned again.
+     *
+     * @param assetIndex the asset index.
+     */
+    public void validate(@NotNull final AssetIndex assetIndex) {
+
+        final long time = System.currentTimeMillis();
+        final Array<String> paths = assetIndex.find(SOURCE_EXTENSIONS);
+        final Set<String> existed = new HashSet<>();
+        paths.forEach(existed::add);
+
+        int scanned = 0;
+
+        for (final String path : paths) {
+            if (update(assetIndex, path)) scanned++;
+        }
+
+        synchronized (this) {
+            for (final String path : sources.keySet().toArray(new String[0])) {
+                if (!existed.contains(path)) removeSource(path);
+            }
+
+            if (materials.keySet().removeIf(path -> !existed.contains(path))) {
+                changed = true;
+            }
+        }
+
+        ready = true;
+
+        LOGGER.debug(this, "validated the dependency graph of " + getAssetFolder() + " with " + sources.size() +
+                " sources, scanned " + scanned + " sources in " + (System.currentTimeMillis() - time) + " ms");
+    }
+
+    /**
+     * Update dependencies of the created or changed source.
+     *
+     * @param assetIndex the actual asset index.
+     * @param path       the asset path of the source.
+     * @return true if the source was scanned.
+     */
+    public boolean update(@NotNull final AssetIndex assetIndex, @NotNull final String path) {
+        if (!SOURCE_EXTENSIONS.contains(FileUtils.getExtension(path))) return false;
+
+        final AssetIndex.Entry entry = assetIndex.getEntry(path);
+
+        if (entry == null) {
+            remove(path);
+            return false;
+        }
+
+        synchronized (this) {
+            final Source source = sources.get(path);
+            if (source != null && source.size == entry.getSize() && source.lastModified == entry.getLastModified()) {
+                return false;
+            }
+        }
+
+        final Set<String> dependencies = new HashSet<>();
+        final boolean[] complete = {true};
+
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(getAssetFolder().resolve(path)))) {
+            scan(in, token -> complete[0] &= resolve(assetIndex, token, dependencies));
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return false;
+        }
+
+        dependencies.remove(path);
+
+        synchronized (this) {
+            removeSource(path);
+            put(path, new Source(entry.getSize(), entry.getLastModified(), dependencies.toArray(new String[0]),
+                    complete[0]));
+            changed = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove dependencies of the deleted source or of all sources in the deleted folder, dependencies on the
+     * sources are kept.
+     *
+     * @param path the asset path of the source or the folder.
+     */
+    public synchronized void remove(@NotNull final String path) {
+
+        final String prefix = path + "/";
+
+        if (materials.keySet().removeIf(model -> model.equals(path) || model.startsWith(prefix))) {
+            changed = true;
+        }
+
+        if (sources.containsKey(path)) {
+            removeSource(path);
+            return;
+        }
+
+        for (final String source : sources.keySet().toArray(new String[0])) {
+            if (source.startsWith(prefix)) removeSource(source);
+        }
+    }
+
+    /**
+     * Record materials which are assigned to geometries of the loaded model.
+     *
+     * @param entry     the entry of the model in the asset index when the model was requested.
+     * @param materials the asset paths of the materials.
+     */
+    public synchronized void recordMaterials(@NotNull final AssetIndex.Entry entry,
+                                             @NotNull final Array<String> materials) {
+
+        final String path = entry.getPath();
+        final Source current = this.materials.get(path);
+        final String[] dependencies = materials.toArray(String.class);
+
+        if (current != null && current.size == entry.getSize() && current.lastModified == entry.getLastModified() &&
+                Arrays.equals(current.dependencies, dependencies)) {
+            return;
+        }
+
+        this.materials.put(path, new Source(entry.getSize(), entry.getLastModified(), dependencies, true));
+        changed = true;
+    }
+
+    /**
+     * Get materials which are assigned to geometries of the model and of models which are linked to it. A record of
+     * the loaded model is taken if the model wasn't changed since loading, otherwise materials are taken from
+     * scanned dependencies if the model and linked models were scanned in their current state and all asset paths
+     * which were found in them were resolved.
+     *
+     * @param assetIndex the actual asset index.
+     * @param path       the asset path of the model.
+     * @return the list of asset paths or null if materials of the model aren't known for sure.
+     */
+    @Nullable
+    public Array<String> getMaterials(@NotNull final AssetIndex assetIndex, @NotNull final String path) {
+
+        final AssetIndex.Entry entry = assetIndex.getEntry(path);
+        if (entry == null) return null;
+
+        final Array<String> result = ArrayFactory.newArray(String.class);
+
+        synchronized (this) {
+            final Source record = materials.get(path);
+            if (record != null && record.size == entry.getSize() && record.lastModified == entry.getLastModified()) {
+                result.addAll(record.dependencies);
+                return result;
+            }
+        }
+
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(path);
+        visited.add(path);
+
+        while (!queue.isEmpty()) {
+
+            final String current = queue.poll();
+            final AssetIndex.Entry currentEntry = assetIndex.getEntry(current);
+            final Source source;
+
+            synchronized (this) {
+                source = sources.get(current);
+            }
+
+            if (!isScannedCompletely(currentEntry, source)) return null;
+
+            for (final String dependency : source.dependencies) {
+
+                final String extension = FileUtils.getExtension(dependency);
+
+                if (FileExtensions.JME_MATERIAL.equals(extension)) {
+                    if (!result.contains(dependency)) result.add(dependency);
+                } else if (MODEL_EXTENSIONS.contains(extension) && visited.add(dependency)) {
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void removeSource(@NotNull final String path) {
+
+        final Source source = sources.remove(path);
+        if (source == null) return;
+
+        for (final String dependency : source.dependencies) {
+
+            final Set<String> paths = dependents.get(dependency);
+            if (paths == null) continue;
+
+            paths.remove(path);
+            if (paths.isEmpty()) dependents.remove(dependency);
+        }
+
+        changed = true;
+    }
+
+    private void put(@NotNull final String path, @NotNull final Source source) {
+
+        sources.put(path, source);
+
+        for (final String dependency : source.dependencies) {
+            dependents.computeIfAbsent(dependency, key -> new HashSet<>()).add(path);
+        }
+    }
+
+    /**
+     * Check the source is scanned.
+     *
+     * @param path the asset path of the source.
+     * @return true if the source is scanned.
+     */
+    public synchronized boolean contains(@NotNull final String path) {
+        return sources.containsKey(path);
+    }
+
+    /**
+     * Get direct dependencies of the source.
+     *
+     * @param path the asset path of the source.
+     * @return the list of asset paths.
+     */
+    @NotNull
+    public synchronized Array<String> getDependencies(@NotNull final String path) {
+        final Array<String> result = ArrayFactory.newArray(String.class);
+        final Source source = sources.get(path);
+        if (source != null) result.addAll(source.dependencies);
+        return result;
+    }
+
+    /**
+     * Get dependencies of the source directly or through other sources.
+     *
+     * @param path the asset path of the source.
+     * @return the set of asset paths.
+     */
+    @NotNull
+    public synchronized Set<String> getAllDependencies(@NotNull final String path) {
+
+        final Set<String> result = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(path);
+
+        while (!queue.isEmpty()) {
+
+            final Source source = sources.get(queue.poll());
+            if (source == null) continue;
+
+            for (final String dependency : source.dependencies) {
+                if (result.add(dependency)) queue.add(dependency);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Check dependencies of the source are known for sure: the source and all sources which it depends on were
+     * scanned in their current state and all asset paths which were found in them were resolved. The current state
+     * is taken from the asset index which is kept up to date by the file watcher, so no files are read.
+     *
+     * @param assetIndex the actual asset index.
+     * @param path       the asset path of the source.
+     * @return true if the dependencies of the source are complete.
+     */
+    public boolean isComplete(@NotNull final AssetIndex assetIndex, @NotNull final String path) {
+
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(path);
+        visited.add(path);
+
+        while (!queue.isEmpty()) {
+
+            final String current = queue.poll();
+            final AssetIndex.Entry entry = assetIndex.getEntry(current);
+            final Source source;
+
+            synchronized (this) {
+                source = sources.get(current);
+            }
+
+            if (!isScannedCompletely(entry, source)) return false;
+
+            for (final String dependency : source.dependencies) {
+                if (!SOURCE_EXTENSIONS.contains(FileUtils.getExtension(dependency))) continue;
+                if (visited.add(dependency)) queue.add(dependency);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Check the source was scanned in the state of the index entry and all asset paths which were found in it were
+     * resolved.
+     */
+    private static boolean isScannedCompletely(@Nullable final AssetIndex.Entry entry, @Nullable final Source source) {
+        return entry != null && source != null && source.complete && entry.getSize() == source.size &&
+                entry.getLastModified() == source.lastModified;
+    }
+
+    /**
+     * Get sources which depend on the asset directly.
+     *
+     * @param path the asset path.
+     * @return the set of asset paths.
+     */
+    @NotNull
+    public synchronized Set<String> getDependents(@NotNull final String path) {
+        final Set<String> paths = dependents.get(path);
+        return paths == null ? Collections.emptySet() : new HashSet<>(paths);
+    }
+
+    /**
+     * Get sources which depend on the asset directly or through other sources.
+     *
+     * @param path the asset path.
+     * @return the set of asset paths.
+     */
+    @NotNull
+    public synchronized Set<String> getAllDependents(@NotNull final String path) {
+
+        final Set<String> result = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(path);
+
+        while (!queue.isEmpty()) {
+
+            final Set<String> paths = dependents.get(queue.poll());
+            if (paths == null) continue;
+
+            for (final String dependent : paths) {
+                if (result.add(dependent)) queue.add(dependent);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Save this graph if it has unsaved changes.
+     */
+    public void save() {
+
+        final byte[] serialized;
+
+        synchronized (this) {
+            if (!changed) return;
+            changed = false;
+            serialized = EditorUtil.serialize(this);
+        }
+
+        final Path graphFile = getGraphFile(getAssetFolder());
+
+        try {
+            Files.createDirectories(graphFile.getParent());
+            Files.write(graphFile, serialized);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Add the asset path from the token to dependencies. A token can have a prefix which isn't a part of the path:
+     * words before the path in text sources or a length prefix of the string in binary sources, so the longest
+     * suffix of the token which is an indexed asset path is taken.
+     *
+     * @return false if the token has no indexed asset path and isn't a resource of the classpath.
+     */
+    private static boolean resolve(@NotNull final AssetIndex assetIndex, @NotNull final String token,
+                                   @NotNull final Set<String> dependencies) {
+
+        for (int start = 0, length = token.length(); start < length; start++) {
+            if (!isPathStart(token.charAt(start))) continue;
+
+            final String candidate = token.substring(start);
+
+            if (assetIndex.getEntry(candidate) != null) {
+                dependencies.add(candidate);
+                return true;
+            }
+        }
+
+        return isClasspathResource(token);
+    }
+
+    /**
+     * Check a suffix of the token is a resource of the classpath like assets of the engine.
+     */
+    private static boolean isClasspathResource(@NotNull final String token) {
+
+        final ClassLoader classLoader = AssetDependencyGraph.class.getClassLoader();
+
+        for (int start = 0, length = token.length(); start < length; start++) {
+            if (isPathStart(token.charAt(start)) && classLoader.getResource(token.substring(start)) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Asset paths don't start with slashes or spaces.
+     */
+    private static boolean isPathStart(final char ch) {
+        return ch != '/' && ch != ' ';
+    }
+
+    /**
+     * Scan the stream for tokens which look like asset paths with known extensions, tokens are decoded as UTF-8
+     * and can contain spaces.
+     */
+    private static void scan(@NotNull final InputStream in, @NotNull final Consumer<String> consumer)
+            throws IOException {
+
+        final byte[] token = new byte[MAX_TOKEN_LENGTH];
+        int length = 0;
+
+        for (int value = in.read(); ; value = in.read()) {
+
+            if (value != -1 && isPathByte(value)) {
+
+                if (length == token.length) {
+                    // keep the tail, a path is at the end of a token
+                    System.arraycopy(token, token.length / 2, token, 0, token.length - token.length / 2);
+                    length = token.length - token.length / 2;
+                }
+
+                token[length++] = (byte) value;
+                continue;
+            }
+
+            if (length > 0) {
+                handleToken(new String(token, 0, length, StandardCharsets.UTF_8), consumer);
+                length = 0;
+            }
+
+            if (value == -1) break;
+        }
+    }
+
+    private static void handleToken(@NotNull final String token, @NotNull final Consumer<String> consumer) {
+
+        final String trimmed = token.trim();
+
+        final int index = trimmed.lastIndexOf('.');
+        if (index < 1 || index == trimmed.length() - 1) return;
+
+        final String extension = trimmed.substring(index + 1);
+        if (AssetType.valueOfExtension(extension) == AssetType.OTHER) return;
+
+        consumer.accept(trimmed);
+    }
+
+    private static boolean isPathByte(final int value) {
+        return (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z') || (value >= '0' && value <= '9') ||
+                value == '/' || value == '.' || value == '_' || value == '-' || value == ' ' || value >= 0x80;
+    }
+}
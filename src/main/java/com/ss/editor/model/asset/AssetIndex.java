@@ -0,0 +1,685 @@
+package com.ss.editor.model.asset;
+
+import static com.ss.editor.util.EditorUtil.toAssetPath;
+import com.ss.editor.manager.WorkspaceManager;
+import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ParallelFolderWalker;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.FileUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The persistent index of files of an asset folder. The index is stored in the editor folder of the asset
+ * folder and is validated incrementally: the content of a folder is listed again only if the modification time
+ * of the folder was changed, files are checked again only if their folder was changed or the file watcher
+ * reported about them.
+ *
+ * @author JavaSaBr
+ */
+public class AssetIndex implements Serializable {
+
+    /**
+     * The constant serialVersionUID.
+     */
+    public static final long serialVersionUID = 3;
+
+    /**
+     * The name of the file of an asset index.
+     */
+    @NotNull
+    public static final String FILE_ASSET_INDEX = "asset-index";
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(AssetIndex.class);
+
+    /**
+     * The entry of the index about a file.
+     */
+    public static final class Entry {
+
+        /**
+         * The asset path of the file.
+         */
+        @NotNull
+        private final String path;
+
+        /**
+         * The type of the file.
+         */
+        @NotNull
+        private final AssetType type;
+
+        /**
+         * The size of the file.
+         */
+        private final long size;
+
+        /**
+         * The last modified time of the file.
+         */
+        private final long lastModified;
+
+        private Entry(@NotNull final String path, @NotNull final AssetType type, final long size,
+                      final long lastModified) {
+            this.path = path;
+            this.type = type;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return the asset path of the file.
+         */
+        @NotNull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the type of the file.
+         */
+        @NotNull
+        public AssetType getType() {
+            return type;
+        }
+
+        /**
+         * @return the size of the file.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the last modified time of the file.
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    /**
+     * The content of a modified folder.
+     */
+    private static final class Listing {
+
+        /**
+         * The asset path of the folder.
+         */
+        @NotNull
+        private final String folder;
+
+        /**
+         * The asset paths of subfolders.
+         */
+        @NotNull
+        private final Array<String> folders;
+
+        /**
+         * The new entries of files.
+         */
+        @NotNull
+        private final Array<Entry> files;
+
+        /**
+         * The last modified time of the folder.
+         */
+        private final long lastModified;
+
+        /**
+         * True if the content of the folder was listed, else only changed files of the folder are updated.
+         */
+        private final boolean listed;
+
+        private Listing(@NotNull final String folder, final long lastModified, final boolean listed) {
+            this.folder = folder;
+            this.lastModified = lastModified;
+            this.listed = listed;
+            this.folders = ArrayFactory.newArray(String.class);
+            this.files = ArrayFactory.newArray(Entry.class);
+        }
+    }
+
+    /**
+     * The table of entries by asset paths.
+     */
+    @NotNull
+    private transient Map<String, Entry> files;
+
+    /**
+     * The table of last modified times of folders by asset paths, the root folder has an empty path.
+     */
+    @NotNull
+    private transient Map<String, Long> folders;
+
+    /**
+     * The table of asset paths of files by extensions.
+     */
+    @Nullable
+    private transient Map<String, Set<String>> extensions;
+
+    /**
+     * The table of asset paths of children by asset paths of folders.
+     */
+    @Nullable
+    private transient Map<String, Set<String>> children;
+
+    /**
+     * The asset folder.
+     */
+    @Nullable
+    private transient Path assetFolder;
+
+    /**
+     * True if this index has unsaved changes.
+     */
+    private transient boolean changed;
+
+    private AssetIndex() {
+        this.files = new HashMap<>();
+        this.folders = new HashMap<>();
+    }
+
+    private void writeObject(@NotNull final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        out.writeInt(folders.size());
+
+        for (final Map.Entry<String, Long> entry : folders.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+
+        out.writeInt(files.size());
+
+        for (final Entry entry : files.values()) {
+            out.writeUTF(entry.path);
+            out.writeByte(entry.type.ordinal());
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+        }
+    }
+
+    private void readObject(@NotNull final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        final AssetType[] types = AssetType.values();
+        final int folderCount = in.readInt();
+
+        folders = new HashMap<>(folderCount * 2);
+
+        for (int i = 0; i < folderCount; i++) {
+            folders.put(in.readUTF(), in.readLong());
+        }
+
+        final int fileCount = in.readInt();
+
+        files = new HashMap<>(fileCount * 2);
+
+        for (int i = 0; i < fileCount; i++) {
+            final Entry entry = new Entry(in.readUTF(), types[in.readByte()], in.readLong(), in.readLong());
+            files.put(entry.path, entry);
+        }
+    }
+
+    /**
+     * Load an index of the asset folder or create a new index.
+     *
+     * @param assetFolder the asset folder.
+     * @return the index.
+     */
+    @NotNull
+    public static AssetIndex load(@NotNull final Path assetFolder) {
+
+        final Path indexFile = getIndexFile(assetFolder);
+
+        AssetIndex index = null;
+
+        if (Files.exists(indexFile)) {
+            try (final InputStream in = new BufferedInputStream(Files.newInputStream(indexFile));
+                 final ObjectInputStream objectIn = new ObjectInputStream(in)) {
+                index = (AssetIndex) objectIn.readObject();
+            } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+                LOGGER.warning("can't read the asset index " + indexFile + ", it will be rebuilt.");
+            }
+        }
+
+        if (index == null) {
+            index = new AssetIndex();
+        }
+
+        index.assetFolder = assetFolder;
+        index.restore();
+
+        return index;
+    }
+
+    @NotNull
+    private static Path getIndexFile(@NotNull final Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR).resolve(FILE_ASSET_INDEX);
+    }
+
+    /**
+     * Rebuild the transient tables.
+     */
+    private void restore() {
+
+        extensions = new HashMap<>();
+        children = new HashMap<>();
+
+        for (final String folder : folders.keySet()) {
+            if (!folder.isEmpty()) link(folder);
+        }
+
+        for (final Entry entry : files.values()) {
+            link(entry.getPath());
+            getExtensionTable(entry.getPath()).add(entry.getPath());
+        }
+    }
+
+    /**
+     * @return the asset folder.
+     */
+    @NotNull
+    public Path getAssetFolder() {
+        return Objects.requireNonNull(assetFolder);
+    }
+
+    /**
+     * Validate this index against the asset folder.
+     */
+    public synchronized void validate() {
+
+        final long time = System.currentTimeMillis();
+
+        validateFolder("");
+
+        LOGGER.debug(this, "validated the index of " + getAssetFolder() + " with " + files.size() + " files and " +
+                folders.size() + " folders in " + (System.currentTimeMillis() - time) + " ms");
+    }
+
+    /**
+     * Validate the tree of the folder, folders are visited in parallel and the content of a folder is listed only
+     * if the folder was modified, files of unmodified folders are still compared by size and last modified time.
+     * The index is updated after the walk.
+     */
+    private void validateFolder(@NotNull final String root) {
+
+        final Queue<Listing> listings = new ConcurrentLinkedQueue<>();
+        final Queue<String> missed = new ConcurrentLinkedQueue<>();
+
+        ParallelFolderWalker.walk(root, folder -> listFolder(folder, listings, missed));
+
+        missed.forEach(this::remove);
+        listings.forEach(this::apply);
+    }
+
+    /**
+     * List the folder if it was modified, else read attributes of known files of the folder, files can be changed
+     * in place without modifying the folder. The index isn't changed here, so folders can be listed concurrently.
+     *
+     * @return the subfolders to visit.
+     */
+    @Nullable
+    private Array<String> listFolder(@NotNull final String folder, @NotNull final Queue<Listing> listings,
+                                     @NotNull final Queue<String> missed) {
+
+        final Path directory = toFile(folder);
+        final long lastModified;
+
+        try {
+            lastModified = Files.getLastModifiedTime(directory).toMillis();
+        } catch (final IOException e) {
+            missed.add(folder);
+            return null;
+        }
+
+        final Long known = folders.get(folder);
+
+        if (known != null && known == lastModified) {
+
+            final Set<String> children = getChildren().get(folder);
+            final Listing listing = new Listing(folder, lastModified, false);
+
+            if (children != null) {
+                for (final String child : children) {
+
+                    final Entry entry = files.get(child);
+
+                    if (entry == null) {
+                        listing.folders.add(child);
+                        continue;
+                    }
+
+                    final Entry actual = readEntry(toFile(child), child);
+
+                    if (actual == null) {
+                        missed.add(child);
+                    } else if (actual.size != entry.size || actual.lastModified != entry.lastModified) {
+                        listing.files.add(actual);
+                    }
+                }
+            }
+
+            if (!listing.files.isEmpty()) listings.add(listing);
+            return listing.folders;
+        }
+
+        final Listing listing = new Listing(folder, lastModified, true);
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (final Path child : stream) {
+
+                if (isHidden(child.getFileName())) continue;
+
+                final String childPath = toPath(child);
+
+                if (Files.isDirectory(child)) {
+                    listing.folders.add(childPath);
+                    continue;
+                }
+
+                final Entry entry = readEntry(child, childPath);
+                if (entry != null) listing.files.add(entry);
+            }
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        listings.add(listing);
+        return listing.folders;
+    }
+
+    /**
+     * Apply the listing of the folder to the index.
+     */
+    private void apply(@NotNull final Listing listing) {
+
+        if (!listing.listed) {
+            listing.files.forEach(this::updateFile);
+            return;
+        }
+
+        final Set<String> existed = new HashSet<>();
+
+        for (final String folder : listing.folders) {
+            existed.add(folder);
+            link(folder);
+        }
+
+        for (final Entry entry : listing.files) {
+            existed.add(entry.getPath());
+            link(entry.getPath());
+            updateFile(entry);
+        }
+
+        for (final String child : getChildren(listing.folder).toArray(new String[0])) {
+            if (!existed.contains(child)) remove(child);
+        }
+
+        folders.put(listing.folder, listing.lastModified);
+        changed = true;
+    }
+
+    /**
+     * Update the index by the created or changed file or folder.
+     *
+     * @param file the file.
+     */
+    public synchronized void update(@NotNull final Path file) {
+        if (!file.startsWith(getAssetFolder()) || isHidden(getAssetFolder().relativize(file))) return;
+
+        final String path = toPath(file);
+
+        if (Files.isDirectory(file)) {
+            link(path);
+            validateFolder(path);
+        } else {
+            final Entry entry = readEntry(file, path);
+            if (entry == null) return;
+            link(path);
+            updateFile(entry);
+        }
+
+        // the content of the parent was changed
+        final Path parent = file.getParent();
+        if (parent != null && parent.startsWith(getAssetFolder())) folders.remove(toPath(parent));
+    }
+
+    /**
+     * Remove the deleted file or folder from the index.
+     *
+     * @param file the file.
+     */
+    public synchronized void remove(@NotNull final Path file) {
+        if (!file.startsWith(getAssetFolder()) || isHidden(getAssetFolder().relativize(file))) return;
+
+        remove(toPath(file));
+
+        final Path parent = file.getParent();
+        if (parent != null && parent.startsWith(getAssetFolder())) folders.remove(toPath(parent));
+    }
+
+    private void remove(@NotNull final String path) {
+
+        for (final String child : getChildren(path).toArray(new String[0])) {
+            remove(child);
+        }
+
+        final Entry entry = files.remove(path);
+        if (entry != null) getExtensionTable(path).remove(path);
+
+        folders.remove(path);
+        getChildren().remove(path);
+        getChildren(getParent(path)).remove(path);
+        changed = true;
+    }
+
+    /**
+     * Read a new entry of the file.
+     *
+     * @return the entry or null if the file can't be read.
+     */
+    @Nullable
+    private static Entry readEntry(@NotNull final Path file, @NotNull final String path) {
+
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            return null;
+        }
+
+        final AssetType type = AssetType.valueOfExtension(FileUtils.getExtension(path));
+        return new Entry(path, type, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Update the entry of the file if its size or last modified time was changed.
+     */
+    private void updateFile(@NotNull final Entry newEntry) {
+
+        final String path = newEntry.getPath();
+        final Entry entry = files.get(path);
+
+        if (entry != null && entry.size == newEntry.size && entry.lastModified == newEntry.lastModified) {
+            return;
+        }
+
+        files.put(path, newEntry);
+        getExtensionTable(path).add(path);
+        changed = true;
+    }
+
+    /**
+     * Get an entry of the file.
+     *
+     * @param path the asset path.
+     * @return the entry or null.
+     */
+    @Nullable
+    public synchronized Entry getEntry(@NotNull final String path) {
+        return files.get(path);
+    }
+
+    /**
+     * Find asset paths of files with the extension.
+     *
+     * @param extension the extension.
+     * @return the sorted list of asset paths.
+     */
+    @NotNull
+    public synchronized Array<String> find(@NotNull final String extension) {
+        final Set<String> paths = getExtensions().get(extension);
+        final Array<String> result = ArrayFactory.newArray(String.class, paths == null ? 0 : paths.size());
+        if (paths != null) paths.forEach(result::add);
+        result.sort(String::compareTo);
+        return result;
+    }
+
+    /**
+     * Find asset paths of files with the extensions.
+     *
+     * @param extensions the extensions.
+     * @return the list of asset paths.
+     */
+    @NotNull
+    public synchronized Array<String> find(@NotNull final Array<String> extensions) {
+
+        final Array<String> result = ArrayFactory.newArray(String.class);
+
+        for (final String extension : extensions) {
+            final Set<String> paths = getExtensions().get(extension);
+            if (paths != null) paths.forEach(result::add);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find asset paths of files with the type.
+     *
+     * @param type the type.
+     * @return the list of asset paths.
+     */
+    @NotNull
+    public Array<String> find(@NotNull final AssetType type) {
+        return find(type.getExtensions());
+    }
+
+    /**
+     * Get asset paths of all indexed folders.
+     *
+     * @return the list of asset paths, the root folder has an empty path.
+     */
+    @NotNull
+    public synchronized Array<String> getFolders() {
+        final Array<String> result = ArrayFactory.newArray(String.class, folders.size());
+        folders.keySet().forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Save this index if it has unsaved changes.
+     */
+    public void save() {
+
+        final byte[] serialized;
+
+        synchronized (this) {
+            if (!changed) return;
+            changed = false;
+            serialized = EditorUtil.serialize(this);
+        }
+
+        final Path indexFile = getIndexFile(getAssetFolder());
+
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, serialized);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Add the path to the children of its parent.
+     */
+    private void link(@NotNull final String path) {
+        for (String child = path, parent = getParent(path); !child.isEmpty();
+             child = parent, parent = getParent(parent)) {
+            if (!getChildren(parent).add(child)) return;
+        }
+    }
+
+    @NotNull
+    private Set<String> getChildren(@NotNull final String folder) {
+        return getChildren().computeIfAbsent(folder, key -> new HashSet<>());
+    }
+
+    @NotNull
+    private Map<String, Set<String>> getChildren() {
+        return Objects.requireNonNull(children);
+    }
+
+    @NotNull
+    private Map<String, Set<String>> getExtensions() {
+        return Objects.requireNonNull(extensions);
+    }
+
+    @NotNull
+    private Set<String> getExtensionTable(@NotNull final String path) {
+        return getExtensions().computeIfAbsent(FileUtils.getExtension(path), key -> new HashSet<>());
+    }
+
+    @NotNull
+    private static String getParent(@NotNull final String path) {
+        final int index = path.lastIndexOf('/');
+        return index < 0 ? "" : path.substring(0, index);
+    }
+
+    @NotNull
+    private String toPath(@NotNull final Path file) {
+        return toAssetPath(getAssetFolder().relativize(file));
+    }
+
+    @NotNull
+    private Path toFile(@NotNull final String path) {
+        return path.isEmpty() ? getAssetFolder() : getAssetFolder().resolve(path);
+    }
+
+    /**
+     * Check the relative path contains hidden names.
+     */
+    private static boolean isHidden(@NotNull final Path path) {
+
+        for (final Path name : path) {
+            if (name.toString().startsWith(".")) return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ss.editor.model.asset;
+
+import com.ss.editor.FileExtensions;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The type of an asset in an asset folder.
+ *
+ * @author JavaSaBr
+ */
+public enum AssetType {
+    MATERIAL_DEFINITION(FileExtensions.JME_MATERIAL_DEFINITION),
+    MATERIAL(FileExtensions.JME_MATERIAL),
+    MODEL(FileExtensions.JME_OBJECT, FileExtensions.JME_SCENE, FileExtensions.MODEL_BLENDER,
+            FileExtensions.MODEL_FBX, FileExtensions.MODEL_OBJ, FileExtensions.MODEL_SCENE, FileExtensions.MODEL_XBUF),
+    TEXTURE(FileExtensions.IMAGE_PNG, FileExtensions.IMAGE_JPG, FileExtensions.IMAGE_JPEG, FileExtensions.IMAGE_GIF,
+            FileExtensions.IMAGE_TGA, FileExtensions.IMAGE_BMP, FileExtensions.IMAGE_TIFF, FileExtensions.IMAGE_DDS,
+            FileExtensions.IMAGE_HDR),
+    SHADER(FileExtensions.GLSL_VERTEX, FileExtensions.GLSL_FRAGMENT, FileExtensions.GLSL_TESSELLATION_CONTROL,
+            FileExtensions.GLSL_TESSELLATION_EVALUATION, FileExtensions.GLSL_GEOM, FileExtensions.GLSL_LIB),
+    AUDIO(FileExtensions.AUDIO_MP3, FileExtensions.AUDIO_OGG, FileExtensions.AUDIO_WAV),
+    JAVA_LIBRARY(FileExtensions.JAVA_LIBRARY),
+    OTHER;
+
+    @NotNull
+    private static final AssetType[] VALUES = values();
+
+    /**
+     * Get a type of an asset by its extension.
+     *
+     * @param extension the extension.
+     * @return the type.
+     */
+    @NotNull
+    public static AssetType valueOfExtension(@NotNull final String extension) {
+
+        for (final AssetType type : VALUES) {
+            if (type.extensions.contains(extension)) return type;
+        }
+
+        return OTHER;
+    }
+
+    /**
+     * The extensions of this type.
+     */
+    @NotNull
+    private final Array<String> extensions;
+
+    AssetType(@NotNull final String... extensions) {
+        this.extensions = ArrayFactory.asArray(extensions);
+    }
+
+    /**
+     * Get the extensions of this type.
+     *
+     * @return the extensions.
+     */
+    @NotNull
+    public Array<String> getExtensions() {
+        return extensions;
+    }
+}
@@ -0,0 +1,338 @@
+package com.ss.editor.model.asset;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.audio.AudioBuffer;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.util.NodeUtils;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.Buffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The layer over the cache of an asset manager which tracks cached assets in LRU order with their estimated heap
+ * and native memory and evicts the least recently used assets when the memory budget is exceeded. Assets which
+ * are used by opened editors can be pinned to be never evicted.
+ *
+ * @author JavaSaBr
+ */
+public class BudgetedAssetCache {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(BudgetedAssetCache.class);
+
+    /**
+     * The estimated size of assets without large data like materials.
+     */
+    private static final int DEFAULT_ASSET_SIZE = 1024;
+
+    /**
+     * The tracked cached asset.
+     */
+    private static final class Entry {
+
+        /**
+         * The key of the asset.
+         */
+        @NotNull
+        private final AssetKey<?> key;
+
+        /**
+         * The estimated heap memory of the asset.
+         */
+        private final long heapSize;
+
+        /**
+         * The estimated native memory of the asset.
+         */
+        private final long nativeSize;
+
+        private Entry(@NotNull final AssetKey<?> key, final long heapSize, final long nativeSize) {
+            this.key = key;
+            this.heapSize = heapSize;
+            this.nativeSize = nativeSize;
+        }
+    }
+
+    /**
+     * The tracked assets in access order.
+     */
+    @NotNull
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * The counts of pins by asset paths.
+     */
+    @NotNull
+    private final Map<String, Integer> pins;
+
+    /**
+     * The asset manager.
+     */
+    @NotNull
+    private final AssetManager assetManager;
+
+    /**
+     * The counters of requests, misses and evictions.
+     */
+    @NotNull
+    private final LongAdder requests, misses, evictions;
+
+    /**
+     * The memory budget in bytes, 0 to not evict assets.
+     */
+    private final long budget;
+
+    /**
+     * The estimated heap memory of tracked assets.
+     */
+    private long heapSize;
+
+    /**
+     * The estimated native memory of tracked assets.
+     */
+    private long nativeSize;
+
+    /**
+     * Instantiates a new budgeted asset cache.
+     *
+     * @param assetManager the asset manager.
+     * @param budget       the memory budget in bytes, 0 to not evict assets.
+     */
+    public BudgetedAssetCache(@NotNull final AssetManager assetManager, final long budget) {
+        this.assetManager = assetManager;
+        this.budget = budget;
+        this.entries = new LinkedHashMap<>(64, 0.75F, true);
+        this.pins = new HashMap<>();
+        this.requests = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Notify about the requested asset.
+     *
+     * @param key the key of the asset.
+     */
+    @FromAnyThread
+    public void notifyRequested(@NotNull final AssetKey<?> key) {
+        requests.increment();
+        synchronized (this) {
+            entries.get(key.getName());
+        }
+    }
+
+    /**
+     * Notify about the loaded asset, the asset is tracked if it is cached by the asset manager.
+     *
+     * @param key the key of the asset.
+     * @return true if the memory budget is exceeded.
+     */
+    @FromAnyThread
+    public boolean notifyLoaded(@NotNull final AssetKey<?> key) {
+        misses.increment();
+
+        final Object asset = assetManager.getFromCache(key);
+        if (asset == null) return false;
+
+        final long[] sizes = new long[2];
+        measure(asset, sizes);
+
+        synchronized (this) {
+            removeEntry(key.getName());
+            entries.put(key.getName(), new Entry(key, sizes[0], sizes[1]));
+            heapSize += sizes[0];
+            nativeSize += sizes[1];
+            return isExceeded();
+        }
+    }
+
+    /**
+     * Forget the asset which was removed from the cache of the asset manager.
+     *
+     * @param key the key of the asset.
+     */
+    @FromAnyThread
+    public synchronized void remove(@NotNull final AssetKey<?> key) {
+        removeEntry(key.getName());
+    }
+
+    private void removeEntry(@NotNull final String name) {
+        final Entry entry = entries.remove(name);
+        if (entry == null) return;
+        heapSize -= entry.heapSize;
+        nativeSize -= entry.nativeSize;
+    }
+
+    private boolean isExceeded() {
+        return budget > 0 && heapSize + nativeSize > budget;
+    }
+
+    /**
+     * Pin the assets to never evict them.
+     *
+     * @param assetPaths the asset paths.
+     */
+    @FromAnyThread
+    public synchronized void pin(@NotNull final Array<String> assetPaths) {
+        assetPaths.forEach(pins, (assetPath, table) -> table.merge(assetPath, 1, Integer::sum));
+    }
+
+    /**
+     * Unpin the pinned assets.
+     *
+     * @param assetPaths the asset paths.
+     */
+    @FromAnyThread
+    public synchronized void unpin(@NotNull final Array<String> assetPaths) {
+        assetPaths.forEach(pins, (assetPath, table) -> table.computeIfPresent(assetPath,
+                (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    /**
+     * Evict the least recently used not pinned assets while the memory budget is exceeded. Assets shouldn't be
+     * loaded by the current thread during evicting.
+     */
+    @FromAnyThread
+    public void evict() {
+
+        final Array<AssetKey> toEvict = ArrayFactory.newArray(AssetKey.class);
+
+        synchronized (this) {
+
+            final Iterator<Entry> iterator = entries.values().iterator();
+
+            while (isExceeded() && iterator.hasNext()) {
+
+                final Entry entry = iterator.next();
+                if (pins.containsKey(entry.key.getName())) continue;
+
+                iterator.remove();
+                heapSize -= entry.heapSize;
+                nativeSize -= entry.nativeSize;
+
+                // assets of weak caches can be already collected
+                if (assetManager.getFromCache(entry.key) != null) toEvict.add(entry.key);
+            }
+        }
+
+        for (final AssetKey key : toEvict) {
+            assetManager.deleteFromCache(key);
+        }
+
+        evictions.add(toEvict.size());
+
+        if (!toEvict.isEmpty()) {
+            LOGGER.debug(this, "evicted " + toEvict.size() + " assets, the cached assets use " + getHeapSize() +
+                    " bytes of heap and " + getNativeSize() + " bytes of native memory.");
+        }
+    }
+
+    /**
+     * @return the count of requests of assets.
+     */
+    @FromAnyThread
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the count of requests which were served from the cache.
+     */
+    @FromAnyThread
+    public long getHits() {
+        return Math.max(requests.sum() - misses.sum(), 0);
+    }
+
+    /**
+     * @return the count of requests which loaded assets.
+     */
+    @FromAnyThread
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the count of evicted assets.
+     */
+    @FromAnyThread
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the estimated heap memory of cached assets.
+     */
+    @FromAnyThread
+    public synchronized long getHeapSize() {
+        return heapSize;
+    }
+
+    /**
+     * @return the estimated native memory of cached assets.
+     */
+    @FromAnyThread
+    public synchronized long getNativeSize() {
+        return nativeSize;
+    }
+
+    /**
+     * @return the memory budget in bytes, 0 if assets aren't evicted.
+     */
+    @FromAnyThread
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Estimate the heap and the native memory of the asset, textures of materials and models are cached as
+     * separated assets, so they aren't counted here.
+     */
+    private static void measure(@Nullable final Object asset, @NotNull final long[] sizes) {
+
+        if (asset == null) {
+            return;
+        } else if (asset instanceof Texture) {
+            measure(((Texture) asset).getImage(), sizes);
+        } else if (asset instanceof Image) {
+            ((Image) asset).getData().forEach(buffer -> measure(buffer, 1, sizes));
+        } else if (asset instanceof Spatial) {
+            NodeUtils.visitGeometry((Spatial) asset, geometry -> measure(geometry.getMesh(), sizes));
+        } else if (asset instanceof AudioBuffer) {
+            measure(((AudioBuffer) asset).getData(), 1, sizes);
+        } else if (asset instanceof String) {
+            sizes[0] += ((String) asset).length() * 2;
+        } else {
+            sizes[0] += DEFAULT_ASSET_SIZE;
+        }
+    }
+
+    private static void measure(@Nullable final Mesh mesh, @NotNull final long[] sizes) {
+        if (mesh == null) return;
+
+        for (final VertexBuffer vertexBuffer : mesh.getBufferList()) {
+            final VertexBuffer.Format format = vertexBuffer.getFormat();
+            measure(vertexBuffer.getData(), format == null ? 1 : format.getComponentSize(), sizes);
+        }
+    }
+
+    private static void measure(@Nullable final Buffer buffer, final int elementSize, @NotNull final long[] sizes) {
+        if (buffer == null) return;
+        sizes[buffer.isDirect() ? 1 : 0] += (long) buffer.capacity() * elementSize;
+    }
+}
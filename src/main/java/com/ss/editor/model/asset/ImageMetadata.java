@@ -0,0 +1,136 @@
+package com.ss.editor.model.asset;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The metadata of an image which is read from the header of the image file without decoding pixels.
+ *
+ * @author JavaSaBr
+ */
+public final class ImageMetadata {
+
+    /**
+     * The name of the format.
+     */
+    @NotNull
+    private final String format;
+
+    /**
+     * The layout of channels, like RGBA or L.
+     */
+    @NotNull
+    private final String channels;
+
+    /**
+     * The name of the compression.
+     */
+    @NotNull
+    private final String compression;
+
+    /**
+     * The width of the image.
+     */
+    private final int width;
+
+    /**
+     * The height of the image.
+     */
+    private final int height;
+
+    /**
+     * The count of mipmap levels.
+     */
+    private final int mipmapCount;
+
+    /**
+     * The count of bits per pixel.
+     */
+    private final int bitsPerPixel;
+
+    /**
+     * Instantiates a new image metadata.
+     *
+     * @param format       the name of the format.
+     * @param width        the width of the image.
+     * @param height       the height of the image.
+     * @param mipmapCount  the count of mipmap levels.
+     * @param channels     the layout of channels.
+     * @param bitsPerPixel the count of bits per pixel.
+     * @param compression  the name of the compression.
+     */
+    public ImageMetadata(@NotNull final String format, final int width, final int height, final int mipmapCount,
+                         @NotNull final String channels, final int bitsPerPixel, @NotNull final String compression) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.mipmapCount = mipmapCount;
+        this.channels = channels;
+        this.bitsPerPixel = bitsPerPixel;
+        this.compression = compression;
+    }
+
+    /**
+     * @return the name of the format.
+     */
+    @NotNull
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the width of the image.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the image.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the count of mipmap levels.
+     */
+    public int getMipmapCount() {
+        return mipmapCount;
+    }
+
+    /**
+     * @return the layout of channels, like RGBA or L, or an empty string if it is unknown.
+     */
+    @NotNull
+    public String getChannels() {
+        return channels;
+    }
+
+    /**
+     * @return the count of bits per pixel.
+     */
+    public int getBitsPerPixel() {
+        return bitsPerPixel;
+    }
+
+    /**
+     * @return the name of the compression or an empty string if it is unknown.
+     */
+    @NotNull
+    public String getCompression() {
+        return compression;
+    }
+
+    @Override
+    public String toString() {
+        return "ImageMetadata{" +
+                "format='" + format + '\'' +
+                ", width=" + width +
+                ", height=" + height +
+                ", mipmapCount=" + mipmapCount +
+                ", channels='" + channels + '\'' +
+                ", bitsPerPixel=" + bitsPerPixel +
+                ", compression='" + compression + '\'' +
+                '}';
+    }
+}
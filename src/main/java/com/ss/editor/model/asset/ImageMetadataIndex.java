@@ -0,0 +1,286 @@
+package com.ss.editor.model.asset;
+
+import static com.ss.editor.util.EditorUtil.toAssetPath;
+import static com.ss.rlib.util.ClassUtils.unsafeCast;
+import com.ss.editor.file.reader.ImageHeaderReader;
+import com.ss.editor.manager.WorkspaceManager;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The persistent index of metadata of images of an asset folder. Metadata is read from headers of image files, a
+ * header is read again only if the size or the last modified time of the file was changed, files which can't be
+ * read are indexed too, so they aren't read again until they are changed.
+ *
+ * @author JavaSaBr
+ */
+public class ImageMetadataIndex implements Serializable {
+
+    /**
+     * The constant serialVersionUID.
+     */
+    public static final long serialVersionUID = 1;
+
+    /**
+     * The name of the file of an image metadata index.
+     */
+    @NotNull
+    public static final String FILE_IMAGE_METADATA = "image-metadata";
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ImageMetadataIndex.class);
+
+    /**
+     * The indexed image.
+     */
+    private static final class Entry {
+
+        /**
+         * The metadata or null if the file can't be read.
+         */
+        @Nullable
+        private final ImageMetadata metadata;
+
+        /**
+         * The size of the file.
+         */
+        private final long size;
+
+        /**
+         * The last modified time of the file.
+         */
+        private final long lastModified;
+
+        private Entry(@Nullable final ImageMetadata metadata, final long size, final long lastModified) {
+            this.metadata = metadata;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * The table of entries by asset paths.
+     */
+    @NotNull
+    private transient Map<String, Entry> images;
+
+    /**
+     * The asset folder.
+     */
+    @Nullable
+    private transient Path assetFolder;
+
+    /**
+     * True if this index has unsaved changes.
+     */
+    private transient boolean changed;
+
+    private ImageMetadataIndex() {
+        this.images = new HashMap<>();
+    }
+
+    private void writeObject(@NotNull final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(images.size());
+
+        for (final Map.Entry<String, Entry> pair : images.entrySet()) {
+
+            final Entry entry = pair.getValue();
+            final ImageMetadata metadata = entry.metadata;
+
+            out.writeUTF(pair.getKey());
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+            out.writeBoolean(metadata != null);
+
+            if (metadata == null) continue;
+
+            out.writeUTF(metadata.getFormat());
+            out.writeInt(metadata.getWidth());
+            out.writeInt(metadata.getHeight());
+            out.writeInt(metadata.getMipmapCount());
+            out.writeUTF(metadata.getChannels());
+            out.writeInt(metadata.getBitsPerPixel());
+            out.writeUTF(metadata.getCompression());
+        }
+    }
+
+    private void readObject(@NotNull final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        final int count = in.readInt();
+
+        images = new HashMap<>(count * 2);
+
+        for (int i = 0; i < count; i++) {
+
+            final String path = in.readUTF();
+            final long size = in.readLong();
+            final long lastModified = in.readLong();
+
+            ImageMetadata metadata = null;
+
+            if (in.readBoolean()) {
+                metadata = new ImageMetadata(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readUTF(),
+                        in.readInt(), in.readUTF());
+            }
+
+            images.put(path, new Entry(metadata, size, lastModified));
+        }
+    }
+
+    /**
+     * Load an index of the asset folder or create a new index.
+     *
+     * @param assetFolder the asset folder.
+     * @return the index.
+     */
+    @NotNull
+    public static ImageMetadataIndex load(@NotNull final Path assetFolder) {
+
+        final Path indexFile = getIndexFile(assetFolder);
+
+        ImageMetadataIndex index = null;
+
+        if (Files.exists(indexFile)) {
+            try (final InputStream in = new BufferedInputStream(Files.newInputStream(indexFile));
+                 final ObjectInputStream objectIn = new ObjectInputStream(in)) {
+                index = unsafeCast(objectIn.readObject());
+            } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+                LOGGER.warning("can't read the image metadata index " + indexFile + ", it will be rebuilt.");
+            }
+        }
+
+        if (index == null) {
+            index = new ImageMetadataIndex();
+        }
+
+        index.assetFolder = assetFolder;
+        return index;
+    }
+
+    @NotNull
+    private static Path getIndexFile(@NotNull final Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR).resolve(FILE_IMAGE_METADATA);
+    }
+
+    /**
+     * @return the asset folder.
+     */
+    @NotNull
+    public Path getAssetFolder() {
+        return Objects.requireNonNull(assetFolder);
+    }
+
+    /**
+     * Get metadata of the image file, the header of the file is read only if the file isn't indexed or was changed.
+     *
+     * @param file the image file in the asset folder.
+     * @return the metadata or null if the file can't be read.
+     */
+    @Nullable
+    public ImageMetadata get(@NotNull final Path file) {
+
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            return null;
+        }
+
+        final String path = toPath(file);
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            final Entry entry = images.get(path);
+            if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+                return entry.metadata;
+            }
+        }
+
+        ImageMetadata metadata;
+        try {
+            metadata = ImageHeaderReader.read(file);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warning(this, "can't read the header of " + file + ": " + e.getMessage());
+            metadata = null;
+        }
+
+        synchronized (this) {
+            images.put(path, new Entry(metadata, size, lastModified));
+            changed = true;
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Remove the changed or deleted file or folder from the index.
+     *
+     * @param file the file.
+     */
+    public synchronized void remove(@NotNull final Path file) {
+        if (!file.startsWith(getAssetFolder())) return;
+
+        final String path = toPath(file);
+        final String prefix = path + "/";
+
+        changed |= images.remove(path) != null;
+        changed |= images.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Check the file can be indexed by this index.
+     *
+     * @param file the file.
+     * @return true if the file is in the asset folder.
+     */
+    public boolean contains(@NotNull final Path file) {
+        return file.startsWith(getAssetFolder());
+    }
+
+    /**
+     * Save this index if it has unsaved changes.
+     */
+    public void save() {
+
+        final byte[] serialized;
+
+        synchronized (this) {
+            if (!changed) return;
+            changed = false;
+            serialized = EditorUtil.serialize(this);
+        }
+
+        final Path indexFile = getIndexFile(getAssetFolder());
+
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, serialized);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    @NotNull
+    private String toPath(@NotNull final Path file) {
+        return toAssetPath(getAssetFolder().relativize(file));
+    }
+}
@@ -0,0 +1,442 @@
+package com.ss.editor.model.asset;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.FileUtils;
+import com.ss.rlib.util.StringUtils;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The persistent cache of thumbnails of images behind a size bounded in-memory LRU cache.
+ * <p>
+ * Thumbnails are stored in a folder per source file, a thumbnail file is addressed by requested dimensions, size
+ * and last modified time of the source, so changed sources never hit outdated thumbnails and the store survives
+ * restarts. Thumbnails of changed and deleted files are removed by {@link #invalidate(Path)}, thumbnails of files
+ * which were deleted while the editor was closed are removed by {@link #prune()}.
+ *
+ * @author JavaSaBr
+ */
+public class ThumbnailCache {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ThumbnailCache.class);
+
+    /**
+     * The name of the file with the path of the source in a folder of thumbnails.
+     */
+    @NotNull
+    private static final String SOURCE_FILE = "source";
+
+    /**
+     * The extension of thumbnail files.
+     */
+    @NotNull
+    private static final String THUMBNAIL_EXTENSION = ".png";
+
+    /**
+     * The thumbnail in memory.
+     */
+    private static final class Entry {
+
+        /**
+         * The image of the thumbnail.
+         */
+        @NotNull
+        private final Image image;
+
+        /**
+         * The size of the source.
+         */
+        private final long size;
+
+        /**
+         * The last modified time of the source.
+         */
+        private final long lastModified;
+
+        /**
+         * The memory of the image.
+         */
+        private final long memory;
+
+        private Entry(@NotNull final Image image, final long size, final long lastModified) {
+            this.image = image;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.memory = (long) image.getWidth() * (long) image.getHeight() * 4;
+        }
+    }
+
+    /**
+     * The thumbnails in memory in access order.
+     */
+    @NotNull
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * The folder of the store.
+     */
+    @NotNull
+    private final Path folder;
+
+    /**
+     * The counters of hits of the memory, hits of the store and misses.
+     */
+    @NotNull
+    private final LongAdder memoryHits, storeHits, misses;
+
+    /**
+     * The max memory of thumbnails in memory.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The memory of thumbnails in memory.
+     */
+    private long memory;
+
+    /**
+     * Instantiates a new thumbnail cache.
+     *
+     * @param folder       the folder of the store.
+     * @param memoryBudget the max memory in bytes of thumbnails in memory.
+     */
+    public ThumbnailCache(@NotNull final Path folder, final long memoryBudget) {
+        this.folder = folder;
+        this.memoryBudget = memoryBudget;
+        this.entries = new LinkedHashMap<>(64, 0.75F, true);
+        this.memoryHits = new LongAdder();
+        this.storeHits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Get a thumbnail from memory without checking the source, the thumbnail is actual while the source is
+     * invalidated on changes.
+     *
+     * @param file   the source.
+     * @param width  the requested width.
+     * @param height the requested height.
+     * @return the thumbnail or null.
+     */
+    @Nullable
+    @FromAnyThread
+    public Image getFromMemory(@NotNull final Path file, final int width, final int height) {
+
+        final Entry entry;
+
+        synchronized (this) {
+            entry = entries.get(toKey(file, width, height));
+        }
+
+        if (entry == null) return null;
+
+        memoryHits.increment();
+        return entry.image;
+    }
+
+    /**
+     * Get a thumbnail of the actual version of the source from memory or from the store.
+     *
+     * @param file       the source.
+     * @param attributes the attributes of the source.
+     * @param width      the requested width.
+     * @param height     the requested height.
+     * @return the thumbnail or null.
+     */
+    @Nullable
+    @FromAnyThread
+    public Image get(@NotNull final Path file, @NotNull final BasicFileAttributes attributes, final int width,
+                     final int height) {
+
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final String key = toKey(file, width, height);
+
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+                memoryHits.increment();
+                return entry.image;
+            }
+        }
+
+        final Path thumbnailFile = getThumbnailFile(file, size, lastModified, width, height);
+
+        if (!Files.exists(thumbnailFile)) {
+            misses.increment();
+            return null;
+        }
+
+        final Image image = new Image(thumbnailFile.toUri().toString());
+
+        if (image.isError()) {
+            misses.increment();
+            return null;
+        }
+
+        storeHits.increment();
+        putToMemory(key, new Entry(image, size, lastModified));
+        return image;
+    }
+
+    /**
+     * Check that a thumbnail of the actual version of the source is in the store.
+     *
+     * @param file       the source.
+     * @param attributes the attributes of the source.
+     * @param width      the requested width.
+     * @param height     the requested height.
+     * @return true if the thumbnail is stored.
+     */
+    @FromAnyThread
+    public boolean isStored(@NotNull final Path file, @NotNull final BasicFileAttributes attributes, final int width,
+                            final int height) {
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        return Files.exists(getThumbnailFile(file, size, lastModified, width, height));
+    }
+
+    /**
+     * Put a new thumbnail of the source to the store and to memory, older thumbnails of the same dimensions are
+     * removed.
+     *
+     * @param file       the source.
+     * @param attributes the attributes of the source.
+     * @param width      the requested width.
+     * @param height     the requested height.
+     * @param thumbnail  the thumbnail.
+     * @return the image of the thumbnail.
+     */
+    @NotNull
+    @FromAnyThread
+    public Image put(@NotNull final Path file, @NotNull final BasicFileAttributes attributes, final int width,
+                     final int height, @NotNull final BufferedImage thumbnail) {
+
+        store(file, attributes, width, height, thumbnail);
+
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+
+        final Image image = SwingFXUtils.toFXImage(thumbnail, null);
+        putToMemory(toKey(file, width, height), new Entry(image, size, lastModified));
+        return image;
+    }
+
+    /**
+     * Put a new thumbnail of the source only to the store, older thumbnails of the same dimensions are removed.
+     *
+     * @param file       the source.
+     * @param attributes the attributes of the source.
+     * @param width      the requested width.
+     * @param height     the requested height.
+     * @param thumbnail  the thumbnail.
+     */
+    @FromAnyThread
+    public void store(@NotNull final Path file, @NotNull final BasicFileAttributes attributes, final int width,
+                      final int height, @NotNull final BufferedImage thumbnail) {
+
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final Path thumbnailFile = getThumbnailFile(file, size, lastModified, width, height);
+        final Path thumbnailFolder = thumbnailFile.getParent();
+
+        try {
+
+            Files.createDirectories(thumbnailFolder);
+
+            final Path sourceFile = thumbnailFolder.resolve(SOURCE_FILE);
+
+            if (!Files.exists(sourceFile)) {
+                Files.write(sourceFile, file.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+            }
+
+            removeThumbnails(thumbnailFolder, width + "x" + height + "-");
+
+            final Path tempFile = Files.createTempFile(thumbnailFolder, null, null);
+
+            try (final OutputStream out = Files.newOutputStream(tempFile)) {
+                ImageIO.write(thumbnail, "png", out);
+            }
+
+            Files.move(tempFile, thumbnailFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    private synchronized void putToMemory(@NotNull final String key, @NotNull final Entry entry) {
+
+        final Entry prev = entries.put(key, entry);
+        if (prev != null) memory -= prev.memory;
+
+        memory += entry.memory;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+
+        while (memory > memoryBudget && iterator.hasNext()) {
+            final Entry eldest = iterator.next();
+            if (eldest == entry) break;
+            iterator.remove();
+            memory -= eldest.memory;
+        }
+    }
+
+    /**
+     * Remove thumbnails of the changed or deleted file, thumbnails of files of a deleted folder are removed from
+     * memory and their stored thumbnails are removed by the next pruning.
+     *
+     * @param file the changed or deleted file.
+     */
+    @FromAnyThread
+    public void invalidate(@NotNull final Path file) {
+
+        final String path = file.toAbsolutePath().toString();
+        final String filePrefix = path + "|";
+        final String folderPrefix = path + file.getFileSystem().getSeparator();
+
+        synchronized (this) {
+
+            final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+
+                final Map.Entry<String, Entry> entry = iterator.next();
+                final String key = entry.getKey();
+                if (!key.startsWith(filePrefix) && !key.startsWith(folderPrefix)) continue;
+
+                iterator.remove();
+                memory -= entry.getValue().memory;
+            }
+        }
+
+        final Path thumbnailFolder = getThumbnailFolder(file);
+
+        if (Files.isDirectory(thumbnailFolder)) {
+            FileUtils.delete(thumbnailFolder);
+        }
+    }
+
+    /**
+     * Remove stored thumbnails of not existing files.
+     */
+    @BackgroundThread
+    public void prune() {
+        if (!Files.isDirectory(folder)) return;
+
+        int removed = 0;
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (final Path thumbnailFolder : stream) {
+
+                final Path sourceFile = thumbnailFolder.resolve(SOURCE_FILE);
+
+                if (Files.isDirectory(thumbnailFolder) && Files.exists(sourceFile)) {
+                    final String source = new String(Files.readAllBytes(sourceFile), StandardCharsets.UTF_8);
+                    if (Files.exists(Paths.get(source))) continue;
+                }
+
+                FileUtils.delete(thumbnailFolder);
+                removed++;
+            }
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+
+        if (removed > 0) {
+            LOGGER.debug(this, "removed thumbnails of " + removed + " not existing files.");
+        }
+    }
+
+    private void removeThumbnails(@NotNull final Path thumbnailFolder, @NotNull final String prefix)
+            throws IOException {
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(thumbnailFolder, prefix + "*")) {
+            for (final Path thumbnailFile : stream) {
+                Files.deleteIfExists(thumbnailFile);
+            }
+        }
+    }
+
+    @NotNull
+    private Path getThumbnailFolder(@NotNull final Path file) {
+        return folder.resolve(StringUtils.toMD5(file.toAbsolutePath().toString()));
+    }
+
+    @NotNull
+    private Path getThumbnailFile(@NotNull final Path file, final long size, final long lastModified,
+                                  final int width, final int height) {
+        return getThumbnailFolder(file).resolve(width + "x" + height + "-" + size + "-" + lastModified +
+                THUMBNAIL_EXTENSION);
+    }
+
+    @NotNull
+    private static String toKey(@NotNull final Path file, final int width, final int height) {
+        return file.toAbsolutePath().toString() + "|" + width + "x" + height;
+    }
+
+    /**
+     * @return the count of thumbnails which were found in memory.
+     */
+    @FromAnyThread
+    public long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    /**
+     * @return the count of thumbnails which were found in the store.
+     */
+    @FromAnyThread
+    public long getStoreHits() {
+        return storeHits.sum();
+    }
+
+    /**
+     * @return the count of thumbnails which were not found.
+     */
+    @FromAnyThread
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the part of requests which were served from memory or from the store.
+     */
+    @FromAnyThread
+    public float getHitRate() {
+        final long hits = getMemoryHits() + getStoreHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0F : hits * 1F / total;
+    }
+
+    /**
+     * @return the memory of thumbnails in memory.
+     */
+    @FromAnyThread
+    public synchronized long getMemory() {
+        return memory;
+    }
+}
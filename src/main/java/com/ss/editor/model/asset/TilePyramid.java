@@ -0,0 +1,878 @@
+package com.ss.editor.model.asset;
+
+import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.BackgroundTask;
+import com.ss.editor.file.reader.DDSReader;
+import com.ss.editor.file.reader.TGAReader;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The mip pyramid of an image split to tiles, so any region of a large image is shown at any scale by decoding a
+ * few tiles.
+ * <p>
+ * The pyramid is built in one pass over the image by strips of rows: each level is collected by bands of one tile
+ * row, a full band is written as compressed tiles to a temporary file and is scaled down by half to the next level,
+ * so the full resolution image is never kept in memory. Tiles can be read while the pyramid is being built, the
+ * temporary file is deleted when the pyramid is closed or by {@link #prune(Path)} after a crash.
+ *
+ * @author JavaSaBr
+ */
+public class TilePyramid implements Closeable {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(TilePyramid.class);
+
+    /**
+     * The prefix of temporary files of tiles.
+     */
+    @NotNull
+    private static final String TILES_FILE_PREFIX = "tiles";
+
+    /**
+     * The suffix of temporary files of tiles.
+     */
+    @NotNull
+    private static final String TILES_FILE_SUFFIX = ".bin";
+
+    /**
+     * The size of tiles.
+     */
+    public static final int TILE_SIZE = 256;
+
+    /**
+     * The max count of pixels of a strip which is decoded by ImageIO at once.
+     */
+    private static final int MAX_STRIP_PIXELS = 16 * 1024 * 1024;
+
+    /**
+     * The size of the read buffer of streamed images.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The source of rows of an image.
+     */
+    private interface Source extends Closeable {
+
+        /**
+         * @return the width of the image.
+         */
+        int getWidth();
+
+        /**
+         * @return the height of the image.
+         */
+        int getHeight();
+
+        /**
+         * @return the count of rows which are read at once, a multiple of the size of tiles.
+         */
+        int getStripRows();
+
+        /**
+         * Read the next rows of the image.
+         *
+         * @param pixels the array for pixels of the rows in the ARGB format.
+         * @param y      the first row.
+         * @param rows   the count of rows.
+         * @return false if the image can't be decoded.
+         * @throws IOException if the rows can't be read.
+         */
+        boolean read(@NotNull int[] pixels, int y, int rows) throws IOException;
+    }
+
+    /**
+     * The source which decodes regions of an image by ImageIO.
+     */
+    private static final class ImageIOSource implements Source {
+
+        @NotNull
+        private final ImageInputStream iis;
+
+        @NotNull
+        private final ImageReader reader;
+
+        private final int width;
+
+        private final int height;
+
+        private ImageIOSource(@NotNull final ImageInputStream iis, @NotNull final ImageReader reader)
+                throws IOException {
+            this.iis = iis;
+            this.reader = reader;
+            this.width = reader.getWidth(0);
+            this.height = reader.getHeight(0);
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getStripRows() {
+            return Math.max(1, MAX_STRIP_PIXELS / (width * TILE_SIZE)) * TILE_SIZE;
+        }
+
+        @Override
+        public boolean read(@NotNull final int[] pixels, final int y, final int rows) throws IOException {
+
+            final ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceRegion(new Rectangle(0, y, width, rows));
+
+            final BufferedImage image = reader.read(0, param);
+            image.getRGB(0, 0, width, rows, pixels, 0, width);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.dispose();
+            iis.close();
+        }
+    }
+
+    /**
+     * The source which reads only the rows of the first mipmap level of a DDS file.
+     */
+    private static final class DDSSource implements Source {
+
+        @NotNull
+        private final FileChannel channel;
+
+        @NotNull
+        private final byte[] header;
+
+        private DDSSource(@NotNull final FileChannel channel, @NotNull final byte[] header) {
+            this.channel = channel;
+            this.header = header;
+        }
+
+        @Override
+        public int getWidth() {
+            return DDSReader.getWidth(header);
+        }
+
+        @Override
+        public int getHeight() {
+            return DDSReader.getHeight(header);
+        }
+
+        @Override
+        public int getStripRows() {
+            return TILE_SIZE;
+        }
+
+        @Override
+        public boolean read(@NotNull final int[] pixels, final int y, final int rows) throws IOException {
+
+            final long offset = DDSReader.HEADER_SIZE + DDSReader.getRowsLength(header, 0, y);
+            final long length = DDSReader.getRowsLength(header, 0, rows);
+            if (length < 0 || length > Integer.MAX_VALUE) return false;
+
+            final ByteBuffer data = ByteBuffer.allocate((int) length);
+            readFully(channel, data, offset);
+
+            final int[] decoded = DDSReader.readRows(header, data.array(), DDSReader.ARGB, 0, rows);
+            if (decoded == null) return false;
+
+            System.arraycopy(decoded, 0, pixels, 0, decoded.length);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * The source which decodes a TGA file by scanlines.
+     */
+    private static final class TGASource implements Source {
+
+        @NotNull
+        private final InputStream in;
+
+        @NotNull
+        private final TGAReader reader;
+
+        private TGASource(@NotNull final InputStream in) throws IOException {
+            this.in = in;
+            this.reader = new TGAReader(in);
+        }
+
+        @Override
+        public int getWidth() {
+            return reader.getWidth();
+        }
+
+        @Override
+        public int getHeight() {
+            return reader.getHeight();
+        }
+
+        @Override
+        public int getStripRows() {
+            return TILE_SIZE;
+        }
+
+        @Override
+        public boolean read(@NotNull final int[] pixels, final int y, final int rows) throws IOException {
+            return reader.readRows(pixels, rows);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * The level of the pyramid.
+     */
+    private static final class Level {
+
+        /**
+         * The offsets of tiles in the file by indexes of tiles, -1 if a tile isn't written yet.
+         */
+        @NotNull
+        private final long[] offsets;
+
+        /**
+         * The lengths of compressed tiles by indexes of tiles.
+         */
+        @NotNull
+        private final int[] lengths;
+
+        /**
+         * The rows of the current band while the pyramid is being built.
+         */
+        @Nullable
+        private int[] band;
+
+        private final int width;
+
+        private final int height;
+
+        private final int columns;
+
+        private final int rows;
+
+        /**
+         * The count of collected rows of the current band.
+         */
+        private int bandRows;
+
+        /**
+         * The index of the current band.
+         */
+        private int bandIndex;
+
+        private Level(final int width, final int height) {
+            this.width = width;
+            this.height = height;
+            this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+            this.rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+            this.offsets = new long[columns * rows];
+            this.lengths = new int[columns * rows];
+            Arrays.fill(offsets, -1);
+        }
+    }
+
+    /**
+     * Create a pyramid of the image file, the pyramid should be built by {@link #build(Runnable)}.
+     *
+     * @param file   the image file.
+     * @param folder the folder for the temporary file of tiles.
+     * @return the pyramid or null if the format of the image isn't supported.
+     * @throws IOException if the image or the temporary file can't be opened.
+     */
+    @Nullable
+    @FromAnyThread
+    public static TilePyramid create(@NotNull final Path file, @NotNull final Path folder) throws IOException {
+
+        final Source source = openSource(file);
+        if (source == null) return null;
+
+        try {
+
+            if (source.getWidth() < 1 || source.getHeight() < 1) {
+                source.close();
+                return null;
+            }
+
+            Files.createDirectories(folder);
+
+            final Path tilesFile = Files.createTempFile(folder, TILES_FILE_PREFIX, TILES_FILE_SUFFIX);
+            final FileChannel channel = FileChannel.open(tilesFile, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+
+            return new TilePyramid(source, channel);
+
+        } catch (final IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Remove temporary files of tiles which were left in the folder by a crashed process, files which were created
+     * after the start of this process are kept.
+     *
+     * @param folder the folder for temporary files of tiles.
+     */
+    @BackgroundThread
+    public static void prune(@NotNull final Path folder) {
+        if (!Files.isDirectory(folder)) return;
+
+        final long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        final String glob = TILES_FILE_PREFIX + "*" + TILES_FILE_SUFFIX;
+
+        int removed = 0;
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, glob)) {
+            for (final Path tilesFile : stream) {
+                try {
+                    if (Files.getLastModifiedTime(tilesFile).toMillis() >= startTime) continue;
+                    if (Files.deleteIfExists(tilesFile)) removed++;
+                } catch (final IOException e) {
+                    // the file can be still used by another process
+                    LOGGER.warning(e);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+
+        if (removed > 0) {
+            LOGGER.debug("removed " + removed + " stale files of tiles.");
+        }
+    }
+
+    @Nullable
+    private static Source openSource(@NotNull final Path file) throws IOException {
+
+        final String extension = FileUtils.getExtension(file, true);
+
+        if (FileExtensions.IMAGE_DDS.equals(extension)) {
+
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            final ByteBuffer header = ByteBuffer.allocate(DDSReader.HEADER_SIZE);
+
+            try {
+                readFully(channel, header, 0);
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+
+            if (DDSReader.getRowHeight(header.array()) < 1) {
+                channel.close();
+                return null;
+            }
+
+            return new DDSSource(channel, header.array());
+
+        } else if (FileExtensions.IMAGE_TGA.equals(extension)) {
+
+            final InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+
+            try {
+                return new TGASource(in);
+            } catch (final IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        final ImageInputStream iis = ImageIO.createImageInputStream(file.toFile());
+        if (iis == null) return null;
+
+        final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+
+        if (!readers.hasNext()) {
+            iis.close();
+            return null;
+        }
+
+        final ImageReader reader = readers.next();
+
+        try {
+            reader.setInput(iis, false, true);
+            return new ImageIOSource(iis, reader);
+        } catch (final IOException | RuntimeException e) {
+            reader.dispose();
+            iis.close();
+            throw e;
+        }
+    }
+
+    private static void readFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer,
+                                  final long position) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+        }
+    }
+
+    /**
+     * The levels from the full resolution to the level of one tile.
+     */
+    @NotNull
+    private final Level[] levels;
+
+    /**
+     * The temporary file of tiles.
+     */
+    @NotNull
+    private final FileChannel channel;
+
+    /**
+     * The source of the image while the pyramid isn't built.
+     */
+    @Nullable
+    private Source source;
+
+    /**
+     * The buffer of bytes of a tile while the pyramid is being built.
+     */
+    @Nullable
+    private byte[] tileBuffer;
+
+    /**
+     * The buffer of a compressed tile while the pyramid is being built.
+     */
+    @Nullable
+    private byte[] compressedBuffer;
+
+    /**
+     * The position of the next tile in the file.
+     */
+    private long position;
+
+    /**
+     * True if the pyramid is built.
+     */
+    private volatile boolean built;
+
+    private TilePyramid(@NotNull final Source source, @NotNull final FileChannel channel) {
+        this.source = source;
+        this.channel = channel;
+
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int count = 1;
+
+        while (width > TILE_SIZE || height > TILE_SIZE) {
+            width = (width + 1) / 2;
+            height = (height + 1) / 2;
+            count++;
+        }
+
+        this.levels = new Level[count];
+
+        width = source.getWidth();
+        height = source.getHeight();
+
+        for (int i = 0; i < count; i++) {
+            levels[i] = new Level(width, height);
+            width = (width + 1) / 2;
+            height = (height + 1) / 2;
+        }
+    }
+
+    /**
+     * Build the pyramid, tiles are available for reading as soon as they are written. The building is stopped if
+     * the pyramid is closed or the current background task is cancelled.
+     *
+     * @param listener the listener which is notified after each written band of tiles of the full resolution.
+     * @return true if the pyramid was built.
+     * @throws IOException if the image can't be read or tiles can't be written.
+     */
+    @BackgroundThread
+    public boolean build(@NotNull final Runnable listener) throws IOException {
+
+        final Source source = this.source;
+        if (source == null) return built;
+
+        try {
+
+            final int width = source.getWidth();
+            final int height = source.getHeight();
+            final int stripRows = source.getStripRows();
+
+            tileBuffer = new byte[TILE_SIZE * TILE_SIZE * 4];
+            compressedBuffer = new byte[tileBuffer.length + 1024];
+
+            int[] strip = null;
+
+            for (int y = 0; y < height; y += stripRows) {
+                if (!channel.isOpen() || BackgroundTask.isCurrentCancelled()) return false;
+
+                final int rows = Math.min(stripRows, height - y);
+
+                if (strip == null) {
+                    strip = new int[width * rows];
+                }
+
+                if (!source.read(strip, y, rows)) return false;
+
+                for (int from = 0; from < rows; from += TILE_SIZE) {
+                    push(0, strip, from * width, Math.min(TILE_SIZE, rows - from));
+                    listener.run();
+                }
+            }
+
+            built = true;
+            return true;
+
+        } finally {
+
+            this.source = null;
+            this.tileBuffer = null;
+            this.compressedBuffer = null;
+
+            for (final Level level : levels) {
+                level.band = null;
+            }
+
+            source.close();
+        }
+    }
+
+    /**
+     * Add rows to the current band of the level, a full band is written and is scaled down to the next level.
+     */
+    private void push(final int index, @NotNull final int[] pixels, final int offset, final int rows)
+            throws IOException {
+
+        final Level level = levels[index];
+
+        if (level.band == null) {
+            level.band = new int[level.width * TILE_SIZE];
+        }
+
+        final int[] band = level.band;
+
+        System.arraycopy(pixels, offset, band, level.bandRows * level.width, rows * level.width);
+        level.bandRows += rows;
+
+        final int bandY = level.bandIndex * TILE_SIZE;
+
+        if (level.bandRows < TILE_SIZE && bandY + level.bandRows < level.height) {
+            return;
+        }
+
+        for (int column = 0; column < level.columns; column++) {
+            writeTile(level, column, band);
+        }
+
+        if (index + 1 < levels.length) {
+            final Level next = levels[index + 1];
+            push(index + 1, scaleDown(band, level.width, level.bandRows, next.width), 0, (level.bandRows + 1) / 2);
+        }
+
+        level.bandIndex++;
+        level.bandRows = 0;
+    }
+
+    /**
+     * Compress and write the tile of the current band of the level.
+     */
+    private void writeTile(@NotNull final Level level, final int column, @NotNull final int[] band)
+            throws IOException {
+
+        final byte[] tileBuffer = notNullBuffer(this.tileBuffer);
+        final int x = column * TILE_SIZE;
+        final int tileWidth = Math.min(TILE_SIZE, level.width - x);
+        final int length = tileWidth * level.bandRows * 4;
+
+        final IntBuffer ints = ByteBuffer.wrap(tileBuffer).asIntBuffer();
+
+        for (int row = 0; row < level.bandRows; row++) {
+            ints.put(band, row * level.width + x, tileWidth);
+        }
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        byte[] compressedBuffer = notNullBuffer(this.compressedBuffer);
+        int compressed = 0;
+
+        try {
+
+            deflater.setInput(tileBuffer, 0, length);
+            deflater.finish();
+
+            while (!deflater.finished()) {
+
+                if (compressed == compressedBuffer.length) {
+                    compressedBuffer = Arrays.copyOf(compressedBuffer, compressedBuffer.length * 2);
+                    this.compressedBuffer = compressedBuffer;
+                }
+
+                compressed += deflater.deflate(compressedBuffer, compressed, compressedBuffer.length - compressed);
+            }
+
+        } finally {
+            deflater.end();
+        }
+
+        final ByteBuffer data = ByteBuffer.wrap(compressedBuffer, 0, compressed);
+
+        while (data.hasRemaining()) {
+            channel.write(data, position + data.position());
+        }
+
+        final int index = level.bandIndex * level.columns + column;
+
+        synchronized (this) {
+            level.offsets[index] = position;
+            level.lengths[index] = compressed;
+        }
+
+        position += compressed;
+    }
+
+    @NotNull
+    private static byte[] notNullBuffer(@Nullable final byte[] buffer) {
+        if (buffer == null) throw new IllegalStateException("the pyramid isn't being built.");
+        return buffer;
+    }
+
+    /**
+     * Scale rows down by half with averaging of 2x2 blocks, the last odd row and column are repeated.
+     */
+    @NotNull
+    private static int[] scaleDown(@NotNull final int[] pixels, final int width, final int rows,
+                                   final int scaledWidth) {
+
+        final int scaledRows = (rows + 1) / 2;
+        final int[] result = new int[scaledWidth * scaledRows];
+
+        for (int y = 0; y < scaledRows; y++) {
+
+            final int row0 = 2 * y * width;
+            final int row1 = Math.min(2 * y + 1, rows - 1) * width;
+
+            for (int x = 0; x < scaledWidth; x++) {
+                final int x0 = 2 * x;
+                final int x1 = Math.min(2 * x + 1, width - 1);
+                result[y * scaledWidth + x] = average(pixels[row0 + x0], pixels[row0 + x1], pixels[row1 + x0],
+                        pixels[row1 + x1]);
+            }
+        }
+
+        return result;
+    }
+
+    private static int average(final int c0, final int c1, final int c2, final int c3) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            final int sum = (c0 >>> shift & 0xFF) + (c1 >>> shift & 0xFF) + (c2 >>> shift & 0xFF) +
+                    (c3 >>> shift & 0xFF);
+            result |= ((sum + 2) >> 2) << shift;
+        }
+        return result;
+    }
+
+    /**
+     * Read pixels of the tile.
+     *
+     * @param level  the level.
+     * @param column the column of the tile.
+     * @param row    the row of the tile.
+     * @return the pixels in the ARGB format or null if the tile isn't written yet.
+     * @throws IOException if the tile can't be read.
+     */
+    @Nullable
+    @FromAnyThread
+    public int[] readTile(final int level, final int column, final int row) throws IOException {
+
+        final Level current = levels[level];
+        final int index = row * current.columns + column;
+
+        final long offset;
+        final int length;
+
+        synchronized (this) {
+            offset = current.offsets[index];
+            length = current.lengths[index];
+        }
+
+        if (offset < 0) return null;
+
+        final ByteBuffer data = ByteBuffer.allocate(length);
+        readFully(channel, data, offset);
+
+        final byte[] bytes = new byte[getTileWidth(level, column) * getTileHeight(level, row) * 4];
+        final Inflater inflater = new Inflater();
+
+        try {
+
+            inflater.setInput(data.array());
+
+            for (int read = 0; read < bytes.length; ) {
+                final int inflated = inflater.inflate(bytes, read, bytes.length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) throw new EOFException();
+                read += inflated;
+            }
+
+        } catch (final DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+
+        final int[] pixels = new int[bytes.length / 4];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(pixels);
+        return pixels;
+    }
+
+    /**
+     * Check the tile is written.
+     *
+     * @param level  the level.
+     * @param column the column of the tile.
+     * @param row    the row of the tile.
+     * @return true if the tile can be read.
+     */
+    @FromAnyThread
+    public synchronized boolean hasTile(final int level, final int column, final int row) {
+        final Level current = levels[level];
+        return current.offsets[row * current.columns + column] >= 0;
+    }
+
+    /**
+     * @return true if the pyramid is built.
+     */
+    @FromAnyThread
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * @return the width of the image.
+     */
+    @FromAnyThread
+    public int getWidth() {
+        return levels[0].width;
+    }
+
+    /**
+     * @return the height of the image.
+     */
+    @FromAnyThread
+    public int getHeight() {
+        return levels[0].height;
+    }
+
+    /**
+     * @return the count of levels, the level 0 is the full resolution and the last level is one tile.
+     */
+    @FromAnyThread
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * @param level the level.
+     * @return the width of the level.
+     */
+    @FromAnyThread
+    public int getLevelWidth(final int level) {
+        return levels[level].width;
+    }
+
+    /**
+     * @param level the level.
+     * @return the height of the level.
+     */
+    @FromAnyThread
+    public int getLevelHeight(final int level) {
+        return levels[level].height;
+    }
+
+    /**
+     * @param level the level.
+     * @return the count of columns of tiles of the level.
+     */
+    @FromAnyThread
+    public int getColumns(final int level) {
+        return levels[level].columns;
+    }
+
+    /**
+     * @param level the level.
+     * @return the count of rows of tiles of the level.
+     */
+    @FromAnyThread
+    public int getRows(final int level) {
+        return levels[level].rows;
+    }
+
+    /**
+     * @param level  the level.
+     * @param column the column of the tile.
+     * @return the width of the tile.
+     */
+    @FromAnyThread
+    public int getTileWidth(final int level, final int column) {
+        return Math.min(TILE_SIZE, levels[level].width - column * TILE_SIZE);
+    }
+
+    /**
+     * @param level the level.
+     * @param row   the row of the tile.
+     * @return the height of the tile.
+     */
+    @FromAnyThread
+    public int getTileHeight(final int level, final int row) {
+        return Math.min(TILE_SIZE, levels[level].height - row * TILE_SIZE);
+    }
+
+    /**
+     * Close the pyramid and delete the temporary file of tiles, the building is stopped.
+     */
+    @Override
+    @FromAnyThread
+    public void close() throws IOException {
+        channel.close();
+    }
+}
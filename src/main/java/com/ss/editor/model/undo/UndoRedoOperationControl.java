@@ -1,6 +1,5 @@
 package com.ss.editor.model.undo;
 
-import com.ss.editor.JFXApplication;
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.manager.EditorStateManager;
@@ -129,20 +128,22 @@ public class UndoRedoOperationControl {
     @FXThread
     private synchronized void undoImpl() {
 
-        final Array<EditorOperation> operations = getOperations();
-        final EditorOperation operation = operations.pop();
-        if (operation == null) return;
-
         final UndoableEditor editor = getEditor();
-        operation.undo(editor);
-        editor.decrementChange();
+        try {
 
-        final Array<EditorOperation> toRedo = getToRedo();
-        toRedo.add(operation);
+            final Array<EditorOperation> operations = getOperations();
+            final EditorOperation operation = operations.pop();
+            if (operation == null) return;
+
+            operation.undo(editor);
+            editor.decrementChange();
 
-        JFXApplication.mutex.setMonitorObject(this);
-        JFXApplication.semaphore.unlock(this);
-//        EditorStateManager.setUpdating();
+            final Array<EditorOperation> toRedo = getToRedo();
+            toRedo.add(operation);
+
+        } finally {
+            EditorStateManager.setUpdating(editor);
+        }
     }
 
     /**
@@ -164,22 +165,22 @@ public class UndoRedoOperationControl {
     @FXThread
     private void redoImpl() {
 
-        final Array<EditorOperation> toRedo = getToRedo();
-        final EditorOperation operation = toRedo.pop();
-        if (operation == null) return;
-
-        operation.redo(editor);
-
         final UndoableEditor editor = getEditor();
-        editor.incrementChange();
+        try {
 
-        final Array<EditorOperation> operations = getOperations();
-        operations.add(operation);
+            final Array<EditorOperation> toRedo = getToRedo();
+            final EditorOperation operation = toRedo.pop();
+            if (operation == null) return;
+
+            operation.redo(editor);
+            editor.incrementChange();
 
-        JFXApplication.mutex.setMonitorObject(this);
-        JFXApplication.semaphore.unlock(this);
-        EditorStateManager.setUpdating();
+            final Array<EditorOperation> operations = getOperations();
+            operations.add(operation);
 
+        } finally {
+            EditorStateManager.setUpdating(editor);
+        }
     }
 
     /**
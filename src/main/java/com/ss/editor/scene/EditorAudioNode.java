@@ -9,6 +9,7 @@ import com.jme3.renderer.Camera;
 import com.jme3.scene.Node;
 import com.ss.editor.Editor;
 import com.ss.editor.util.LocalObjects;
+import com.ss.editor.util.NodeUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -123,7 +124,7 @@ public class EditorAudioNode extends Node {
 
         final Node parent = audioNode.getParent();
         if (parent != null) {
-            setLocalTranslation(parent.getWorldTranslation());
+            NodeUtils.updateLocalTranslation(this, parent.getWorldTranslation());
         }
 
         final Node editedNode = getEditedNode();
@@ -135,7 +136,7 @@ public class EditorAudioNode extends Node {
         positionOnCamera.multLocal(camera.getFrustumNear() + 0.4f);
         positionOnCamera.addLocal(camera.getLocation());
 
-        model.setLocalTranslation(positionOnCamera);
-        model.setLocalRotation(editedNode.getLocalRotation());
+        NodeUtils.updateLocalTranslation(model, positionOnCamera);
+        NodeUtils.updateLocalRotation(model, editedNode.getLocalRotation());
     }
 }
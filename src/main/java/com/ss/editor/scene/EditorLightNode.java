@@ -12,6 +12,7 @@ import com.jme3.renderer.Camera;
 import com.jme3.scene.Node;
 import com.ss.editor.Editor;
 import com.ss.editor.util.LocalObjects;
+import com.ss.editor.util.NodeUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -115,7 +116,7 @@ public class EditorLightNode extends Node {
         positionOnCamera.multLocal(camera.getFrustumNear() + 0.4f);
         positionOnCamera.addLocal(camera.getLocation());
 
-        model.setLocalTranslation(positionOnCamera);
-        model.setLocalRotation(getLocalRotation());
+        NodeUtils.updateLocalTranslation(model, positionOnCamera);
+        NodeUtils.updateLocalRotation(model, getLocalRotation());
     }
 }
@@ -0,0 +1,447 @@
+package com.ss.editor.state;
+
+import com.jme3.animation.AnimChannel;
+import com.jme3.animation.AnimControl;
+import com.jme3.animation.LoopMode;
+import com.jme3.app.Application;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.effect.ParticleEmitter;
+import com.jme3.input.InputManager;
+import com.jme3.input.RawInputListener;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
+import com.jme3.math.Matrix4f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.AbstractControl;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.JMEThread;
+import com.ss.editor.util.NodeUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tonegod.emitter.ParticleEmitterNode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The app state to render frames only on demand. A frame is rendered after input, camera motion, a requested
+ * frame (pending editor thread tasks), changes of the scenes made by app states and controls or while animations
+ * and particles are running, otherwise view ports are disabled for the frame and the editor thread is throttled to
+ * the idle frame rate.
+ * <p>
+ * Changes of the scenes are detected by refresh flags of their roots, which are checked after updating logical
+ * states of the scenes and before updating their geometric states. Other changes, like changes of material
+ * parameters from an app state, should be reported by {@link #requestFrame()}.
+ *
+ * @author JavaSaBr
+ */
+public class RenderOnDemandAppState extends AbstractAppState implements RawInputListener {
+
+    /**
+     * The count of frames to render by one request, the second frame lets the frame transfer to catch up.
+     */
+    private static final int FRAMES_PER_REQUEST = 2;
+
+    /**
+     * The interval of checking the scenes for running animations in nanoseconds.
+     */
+    private static final long ANIMATION_CHECK_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /**
+     * The cameras to track motion.
+     */
+    @NotNull
+    private final Camera[] cameras;
+
+    /**
+     * The last rendered view projection matrices of the cameras.
+     */
+    @NotNull
+    private final Matrix4f[] lastMatrices;
+
+    /**
+     * The last rendered sizes of the cameras.
+     */
+    @NotNull
+    private final int[] lastSizes;
+
+    /**
+     * The view ports to enable only for rendered frames.
+     */
+    @NotNull
+    private final ViewPort[] viewPorts;
+
+    /**
+     * The scenes to check running animations.
+     */
+    @NotNull
+    private final Spatial[] scenes;
+
+    /**
+     * The control to check the scenes for changes after updating their logical states.
+     */
+    @NotNull
+    private final AbstractControl changeDetector;
+
+    /**
+     * The count of requested frames.
+     */
+    @NotNull
+    private final AtomicInteger requestedFrames;
+
+    /**
+     * The count of rendered frames.
+     */
+    @NotNull
+    private final AtomicLong renderedFrames;
+
+    /**
+     * The count of skipped frames.
+     */
+    @NotNull
+    private final AtomicLong skippedFrames;
+
+    /**
+     * The min interval between idle frames in nanoseconds or 0 to not throttle.
+     */
+    private final long idleInterval;
+
+    /**
+     * The editor thread.
+     */
+    @Nullable
+    private volatile Thread thread;
+
+    /**
+     * The input manager.
+     */
+    @Nullable
+    private InputManager inputManager;
+
+    /**
+     * The node which contains the change detector.
+     */
+    @Nullable
+    private Node detectorNode;
+
+    /**
+     * The time of the last animation check.
+     */
+    private long lastAnimationCheck;
+
+    /**
+     * The time of the end of the last frame.
+     */
+    private long lastFrameEnd;
+
+    /**
+     * True if some scene has running animations.
+     */
+    private boolean animating;
+
+    /**
+     * True if the current frame is rendered.
+     */
+    private boolean rendering;
+
+    /**
+     * Instantiates a new render on demand app state.
+     *
+     * @param idleFrameRate the max frame rate while nothing is changed or 0 to not throttle.
+     * @param cameras       the cameras to track motion.
+     * @param viewPorts     the view ports to render on demand.
+     * @param scenes        the scenes to check running animations.
+     */
+    public RenderOnDemandAppState(final int idleFrameRate, @NotNull final Camera[] cameras,
+                                  @NotNull final ViewPort[] viewPorts, @NotNull final Spatial[] scenes) {
+        this.idleInterval = idleFrameRate > 0 ? TimeUnit.SECONDS.toNanos(1) / idleFrameRate : 0;
+        this.cameras = cameras;
+        this.viewPorts = viewPorts;
+        this.scenes = scenes;
+        this.lastMatrices = new Matrix4f[cameras.length];
+        this.lastSizes = new int[cameras.length * 2];
+        this.requestedFrames = new AtomicInteger(FRAMES_PER_REQUEST);
+        this.renderedFrames = new AtomicLong();
+        this.skippedFrames = new AtomicLong();
+        this.changeDetector = new AbstractControl() {
+
+            @Override
+            protected void controlUpdate(final float tpf) {
+                for (final Spatial scene : scenes) {
+                    checkChanges(scene);
+                }
+            }
+
+            @Override
+            protected void controlRender(@NotNull final RenderManager renderManager,
+                                         @NotNull final ViewPort viewPort) {
+            }
+        };
+
+        for (int i = 0; i < lastMatrices.length; i++) {
+            lastMatrices[i] = new Matrix4f();
+        }
+    }
+
+    @Override
+    public void initialize(@NotNull final AppStateManager stateManager, @NotNull final Application application) {
+        super.initialize(stateManager, application);
+        this.thread = Thread.currentThread();
+        this.inputManager = application.getInputManager();
+        this.inputManager.addRawInputListener(this);
+
+        // the gui node is updated after the root node, so its controls see changes made by controls of the scene
+        if (application instanceof SimpleApplication) {
+            this.detectorNode = ((SimpleApplication) application).getGuiNode();
+            this.detectorNode.addControl(changeDetector);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+
+        final InputManager inputManager = this.inputManager;
+        if (inputManager != null) inputManager.removeRawInputListener(this);
+
+        final Node detectorNode = this.detectorNode;
+        if (detectorNode != null) detectorNode.removeControl(changeDetector);
+
+        setViewPortsEnabled(true);
+    }
+
+    /**
+     * Request rendering of next frames and wake up the editor thread if it is throttled.
+     */
+    @FromAnyThread
+    public void requestFrame() {
+        requestedFrames.set(FRAMES_PER_REQUEST);
+        final Thread thread = this.thread;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    /**
+     * Request rendering of next frames if the scene has changes which aren't applied by updating its geometric state
+     * yet. Scenes which are updated out of the application update should be checked by the owner before updating
+     * their geometric state.
+     *
+     * @param scene the scene.
+     */
+    @JMEThread
+    public void checkChanges(@NotNull final Spatial scene) {
+        if (NodeUtils.isChanged(scene)) requestedFrames.set(FRAMES_PER_REQUEST);
+    }
+
+    @Override
+    @JMEThread
+    public void render(@NotNull final RenderManager renderManager) {
+        super.render(renderManager);
+
+        // cameras are checked always to keep the last rendered state actual
+        final boolean cameraMoved = updateCameras();
+        final boolean requested = consumeRequest();
+
+        rendering = cameraMoved || requested || isAnimating();
+
+        if (rendering) {
+            renderedFrames.incrementAndGet();
+        } else {
+            skippedFrames.incrementAndGet();
+        }
+
+        setViewPortsEnabled(rendering);
+    }
+
+    @Override
+    @JMEThread
+    public void postRender() {
+        super.postRender();
+
+        if (!rendering && idleInterval > 0) {
+
+            final long deadline = lastFrameEnd + idleInterval;
+
+            // a requested frame unparks the thread
+            for (long remaining = deadline - System.nanoTime(); remaining > 0 && requestedFrames.get() < 1;
+                 remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        lastFrameEnd = System.nanoTime();
+    }
+
+    /**
+     * Consume one requested frame.
+     *
+     * @return true if a frame was requested.
+     */
+    private boolean consumeRequest() {
+        for (int current = requestedFrames.get(); current > 0; current = requestedFrames.get()) {
+            if (requestedFrames.compareAndSet(current, current - 1)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Update the last states of the cameras.
+     *
+     * @return true if some camera was moved or resized.
+     */
+    @JMEThread
+    private boolean updateCameras() {
+
+        boolean moved = false;
+
+        for (int i = 0; i < cameras.length; i++) {
+
+            final Camera camera = cameras[i];
+            final Matrix4f matrix = camera.getViewProjectionMatrix();
+            final int width = camera.getWidth();
+            final int height = camera.getHeight();
+
+            if (matrix.equals(lastMatrices[i]) && lastSizes[i * 2] == width && lastSizes[i * 2 + 1] == height) {
+                continue;
+            }
+
+            lastMatrices[i].set(matrix);
+            lastSizes[i * 2] = width;
+            lastSizes[i * 2 + 1] = height;
+            moved = true;
+        }
+
+        return moved;
+    }
+
+    /**
+     * Check the scenes for running animations and particles, the result is cached for some time.
+     *
+     * @return true if something is animated.
+     */
+    @JMEThread
+    private boolean isAnimating() {
+
+        final long time = System.nanoTime();
+
+        if (time - lastAnimationCheck < ANIMATION_CHECK_INTERVAL) {
+            return animating;
+        }
+
+        lastAnimationCheck = time;
+        animating = false;
+
+        for (final Spatial scene : scenes) {
+            scene.depthFirstTraversal(spatial -> {
+                if (!animating) animating = isAnimating(spatial);
+            });
+            if (animating) break;
+        }
+
+        return animating;
+    }
+
+    /**
+     * Check the spatial for running animations and particles.
+     */
+    private static boolean isAnimating(@NotNull final Spatial spatial) {
+
+        if (spatial instanceof ParticleEmitterNode) {
+            return ((ParticleEmitterNode) spatial).isEnabled();
+        } else if (spatial instanceof ParticleEmitter) {
+            final ParticleEmitter emitter = (ParticleEmitter) spatial;
+            return emitter.isEnabled() && (emitter.getParticlesPerSec() > 0 || emitter.getNumVisibleParticles() > 0);
+        }
+
+        final AnimControl control = spatial.getControl(AnimControl.class);
+        if (control == null || !control.isEnabled()) return false;
+
+        for (int i = 0, length = control.getNumChannels(); i < length; i++) {
+
+            final AnimChannel channel = control.getChannel(i);
+
+            if (channel.getAnimationName() == null || channel.getSpeed() == 0F) {
+                continue;
+            } else if (channel.getLoopMode() != LoopMode.DontLoop || channel.getTime() < channel.getAnimMaxTime()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void setViewPortsEnabled(final boolean enabled) {
+        for (final ViewPort viewPort : viewPorts) {
+            viewPort.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Get the count of rendered frames.
+     *
+     * @return the count of rendered frames.
+     */
+    @FromAnyThread
+    public long getRenderedFrames() {
+        return renderedFrames.get();
+    }
+
+    /**
+     * Get the count of skipped frames.
+     *
+     * @return the count of skipped frames.
+     */
+    @FromAnyThread
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    @Override
+    public void beginInput() {
+    }
+
+    @Override
+    public void endInput() {
+    }
+
+    @Override
+    public void onJoyAxisEvent(@NotNull final JoyAxisEvent event) {
+        requestFrame();
+    }
+
+    @Override
+    public void onJoyButtonEvent(@NotNull final JoyButtonEvent event) {
+        requestFrame();
+    }
+
+    @Override
+    public void onMouseMotionEvent(@NotNull final MouseMotionEvent event) {
+        requestFrame();
+    }
+
+    @Override
+    public void onMouseButtonEvent(@NotNull final MouseButtonEvent event) {
+        requestFrame();
+    }
+
+    @Override
+    public void onKeyEvent(@NotNull final KeyInputEvent event) {
+        requestFrame();
+    }
+
+    @Override
+    public void onTouchEvent(@NotNull final TouchEvent event) {
+        requestFrame();
+    }
+}
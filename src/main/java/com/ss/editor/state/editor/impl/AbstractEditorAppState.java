@@ -4,6 +4,7 @@ import com.jme3.app.state.AbstractAppState;
 import com.jme3.scene.Node;
 import com.ss.editor.Editor;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.manager.EditorStateManager;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.state.editor.EditorAppState;
 import com.ss.editor.ui.component.editor.FileEditor;
@@ -57,6 +58,14 @@ public abstract class AbstractEditorAppState<T extends FileEditor> extends Abstr
         this.stateNode = new Node(getClass().getSimpleName());
     }
 
+    /**
+     * This state is updated only when its editor isn't loading or saving something.
+     */
+    @Override
+    public boolean isEnabled() {
+        return super.isEnabled() && EditorStateManager.isUpdating(fileEditor);
+    }
+
     /**
      * Gets state node.
      *
@@ -11,7 +11,6 @@ import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
 import com.jme3.scene.Node;
-import com.ss.editor.JFXApplication;
 import com.ss.editor.annotation.JMEThread;
 import com.ss.editor.manager.EditorStateManager;
 import com.ss.editor.model.EditorCamera;
@@ -613,24 +612,16 @@ public abstract class AdvancedAbstractEditorAppState<T extends FileEditor> exten
      * Redo last operation.
      */
     protected void redo() {
-        // lock the update with a semaphore
-        JFXApplication.mutex.setLockData(EditorStateManager.State.LOADING);
-        JFXApplication.mutex.setMonitorObject(this);
-        JFXApplication.semaphore.lock(this);
-
-        EditorStateManager.setLoading();
+        // stop updating this editor until the operation is finished
+        EditorStateManager.setLoading(getFileEditor());
     }
 
     /**
      * Undo last operation.
      */
     protected void undo() {
-        // lock the update with a semaphore
-        JFXApplication.mutex.setLockData(EditorStateManager.State.LOADING);
-        JFXApplication.mutex.setMonitorObject(this);
-        JFXApplication.semaphore.lock(this);
-
-        EditorStateManager.setLoading();
+        // stop updating this editor until the operation is finished
+        EditorStateManager.setLoading(getFileEditor());
     }
 
     /**
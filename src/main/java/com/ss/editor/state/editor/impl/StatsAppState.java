@@ -6,7 +6,14 @@ import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppStateManager;
 import com.jme3.renderer.Statistics;
 import com.jme3.system.Timer;
+import com.ss.editor.Editor;
 import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.manager.JavaFXImageManager;
+import com.ss.editor.manager.ResourceManager;
+import com.ss.editor.manager.ThumbnailPregenerationManager;
+import com.ss.editor.model.asset.BudgetedAssetCache;
+import com.ss.editor.model.asset.ThumbnailCache;
+import com.ss.editor.state.RenderOnDemandAppState;
 import com.ss.editor.state.editor.EditorAppState;
 import com.ss.editor.ui.css.CSSClasses;
 import com.ss.editor.ui.css.CSSIds;
@@ -130,6 +137,36 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
     @Nullable
     private Label fpsField;
 
+    /**
+     * The field to show skipped frames of the render on demand mode.
+     */
+    @Nullable
+    private Label skippedFramesField;
+
+    /**
+     * The field to show memory of cached assets.
+     */
+    @Nullable
+    private Label assetCacheMemoryField;
+
+    /**
+     * The field to show hits, misses and evictions of cached assets.
+     */
+    @Nullable
+    private Label assetCacheCountersField;
+
+    /**
+     * The field to show the hit rate of previews of images.
+     */
+    @Nullable
+    private Label previewCacheField;
+
+    /**
+     * The field to show the progress of pre-generating thumbnails.
+     */
+    @Nullable
+    private Label thumbnailsField;
+
     /**
      * The current application.
      */
@@ -160,6 +197,12 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
     private int fps;
     private int prevFps;
 
+    private float skippedFramesCounter;
+    private long prevSkippedFrames;
+
+    private float assetCacheCounter;
+    private String prevAssetCacheCounters;
+
     /**
      * Instantiates a new Stats app state.
      *
@@ -171,6 +214,7 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
         this.frameCounter = 0;
         this.secondCounter = 0.0f;
         this.prevFps = -1;
+        this.prevSkippedFrames = -1;
         createComponents();
         setEnabled(false);
     }
@@ -222,6 +266,21 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
         final Label fpsLabel = new Label("Fps");
         fpsField = new Label();
 
+        final Label skippedFramesLabel = new Label("Skipped frames");
+        skippedFramesField = new Label();
+
+        final Label assetCacheMemoryLabel = new Label("Asset cache (MB)");
+        assetCacheMemoryField = new Label();
+
+        final Label assetCacheCountersLabel = new Label("Hits/Misses/Evictions");
+        assetCacheCountersField = new Label();
+
+        final Label previewCacheLabel = new Label("Preview cache hits");
+        previewCacheField = new Label();
+
+        final Label thumbnailsLabel = new Label("Pre-generated thumbnails");
+        thumbnailsField = new Label();
+
         statsContainer.setId(CSSIds.STATS_APP_STATE_STATS_CONTAINER);
         statsContainer.add(frameBuffersMLabel, 0, 0);
         statsContainer.add(frameBuffersMField, 1, 0);
@@ -251,6 +310,16 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
         statsContainer.add(verticesField, 1, 12);
         statsContainer.add(fpsLabel, 0, 13);
         statsContainer.add(fpsField, 1, 13);
+        statsContainer.add(skippedFramesLabel, 0, 14);
+        statsContainer.add(skippedFramesField, 1, 14);
+        statsContainer.add(assetCacheMemoryLabel, 0, 15);
+        statsContainer.add(assetCacheMemoryField, 1, 15);
+        statsContainer.add(assetCacheCountersLabel, 0, 16);
+        statsContainer.add(assetCacheCountersField, 1, 16);
+        statsContainer.add(previewCacheLabel, 0, 17);
+        statsContainer.add(previewCacheField, 1, 17);
+        statsContainer.add(thumbnailsLabel, 0, 18);
+        statsContainer.add(thumbnailsField, 1, 18);
 
         FXUtils.applyToChildren(statsContainer, node -> FXUtils.addClassTo(node, CSSClasses.SPECIAL_FONT_13));
     }
@@ -314,6 +383,46 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
         return requireNonNull(fpsField);
     }
 
+    /**
+     * @return the field to show skipped frames of the render on demand mode.
+     */
+    @NotNull
+    private Label getSkippedFramesField() {
+        return requireNonNull(skippedFramesField);
+    }
+
+    /**
+     * @return the field to show memory of cached assets.
+     */
+    @NotNull
+    private Label getAssetCacheMemoryField() {
+        return requireNonNull(assetCacheMemoryField);
+    }
+
+    /**
+     * @return the field to show hits, misses and evictions of cached assets.
+     */
+    @NotNull
+    private Label getAssetCacheCountersField() {
+        return requireNonNull(assetCacheCountersField);
+    }
+
+    /**
+     * @return the field to show the hit rate of previews of images.
+     */
+    @NotNull
+    private Label getPreviewCacheField() {
+        return requireNonNull(previewCacheField);
+    }
+
+    /**
+     * @return the field to show the progress of pre-generating thumbnails.
+     */
+    @NotNull
+    private Label getThumbnailsField() {
+        return requireNonNull(thumbnailsField);
+    }
+
     /**
      * @return the vertices S field.
      */
@@ -438,6 +547,9 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
             }
         }
 
+        updateSkippedFrames(timer.getTimePerFrame());
+        updateAssetCache(timer.getTimePerFrame());
+
         final int[] statsData = getStatsData();
 
         final Statistics statistics = getStatistics();
@@ -489,6 +601,66 @@ public class StatsAppState extends AbstractAppState implements EditorAppState {
         EXECUTOR_MANAGER.addFXTask(() -> getFpsField().setText(Integer.toString(fps)));
     }
 
+    /**
+     * Update the count of skipped frames once per second.
+     */
+    private void updateSkippedFrames(final float tpf) {
+
+        skippedFramesCounter += tpf;
+        if (skippedFramesCounter < 1.0f) return;
+
+        skippedFramesCounter = 0.0f;
+
+        final RenderOnDemandAppState renderOnDemandState = Editor.getInstance().getRenderOnDemandState();
+        if (renderOnDemandState == null) return;
+
+        final long skippedFrames = renderOnDemandState.getSkippedFrames();
+        if (skippedFrames == prevSkippedFrames) return;
+
+        prevSkippedFrames = skippedFrames;
+
+        EXECUTOR_MANAGER.addFXTask(() -> getSkippedFramesField().setText(Long.toString(skippedFrames)));
+    }
+
+    /**
+     * Update the memory and the counters of cached assets and previews and the progress of pre-generating
+     * thumbnails once per second.
+     */
+    private void updateAssetCache(final float tpf) {
+
+        assetCacheCounter += tpf;
+        if (assetCacheCounter < 1.0f) return;
+
+        assetCacheCounter = 0.0f;
+
+        final BudgetedAssetCache assetCache = ResourceManager.getInstance().getAssetCache();
+        final long used = (assetCache.getHeapSize() + assetCache.getNativeSize()) / (1024 * 1024);
+        final long budget = assetCache.getBudget() / (1024 * 1024);
+
+        final String memory = budget > 0 ? used + " / " + budget : Long.toString(used);
+        final String counters = assetCache.getHits() + " / " + assetCache.getMisses() + " / " +
+                assetCache.getEvictions();
+
+        final ThumbnailCache thumbnailCache = JavaFXImageManager.getInstance().getThumbnailCache();
+        final String previews = Math.round(thumbnailCache.getHitRate() * 100) + "%";
+
+        final ThumbnailPregenerationManager pregenerationManager = ThumbnailPregenerationManager.getInstance();
+        final String thumbnails = pregenerationManager.isRunning() ?
+                pregenerationManager.getProcessed() + " / " + pregenerationManager.getTotal() : "-";
+
+        final String state = memory + counters + previews + thumbnails;
+        if (state.equals(prevAssetCacheCounters)) return;
+
+        prevAssetCacheCounters = state;
+
+        EXECUTOR_MANAGER.addFXTask(() -> {
+            getAssetCacheMemoryField().setText(memory);
+            getAssetCacheCountersField().setText(counters);
+            getPreviewCacheField().setText(previews);
+            getThumbnailsField().setText(thumbnails);
+        });
+    }
+
     @Override
     public void cleanup() {
         super.cleanup();
@@ -30,6 +30,8 @@ import com.ss.editor.model.tool.TangentGenerator;
 import com.ss.editor.state.editor.impl.AdvancedAbstractEditorAppState;
 import com.ss.editor.ui.component.editor.impl.material.MaterialFileEditor;
 import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.LocalObjects;
+import com.ss.editor.util.NodeUtils;
 import com.ss.rlib.function.BooleanFloatConsumer;
 import com.ss.rlib.geom.util.AngleUtils;
 import com.ss.rlib.util.dictionary.ObjectDictionary;
@@ -407,11 +409,11 @@ public class MaterialEditorAppState extends AdvancedAbstractEditorAppState<Mater
 
         if (testQuad.getParent() != null) {
 
-            final Quaternion localRotation = testQuad.getLocalRotation();
+            final Quaternion rotation = LocalObjects.get().nextRotation();
             final Camera camera = EDITOR.getCamera();
 
-            localRotation.lookAt(camera.getLocation(), camera.getUp());
-            testQuad.setLocalRotation(localRotation);
+            rotation.lookAt(camera.getLocation(), camera.getUp());
+            NodeUtils.updateLocalRotation(testQuad, rotation);
         }
 
         frame++;
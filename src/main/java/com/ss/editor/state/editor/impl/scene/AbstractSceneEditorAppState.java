@@ -700,14 +700,20 @@ public abstract class AbstractSceneEditorAppState<T extends AbstractSceneFileEdi
         updateLightNodes();
         updateAudioNodes();
 
-        transformToolNode.detachAllChildren();
+        Node transformTool = null;
 
         if (transformType == TransformType.MOVE_TOOL) {
-            transformToolNode.attachChild(getMoveTool());
+            transformTool = getMoveTool();
         } else if (transformType == TransformType.ROTATE_TOOL) {
-            transformToolNode.attachChild(getRotateTool());
+            transformTool = getRotateTool();
         } else if (transformType == TransformType.SCALE_TOOL) {
-            transformToolNode.attachChild(getScaleTool());
+            transformTool = getScaleTool();
+        }
+
+        // the tool isn't re-attached every frame to not mark the scene as changed
+        if (transformTool == null || transformTool.getParent() != transformToolNode) {
+            transformToolNode.detachAllChildren();
+            if (transformTool != null) transformToolNode.attachChild(transformTool);
         }
 
         final Node toolNode = getToolNode();
@@ -780,9 +786,9 @@ public abstract class AbstractSceneEditorAppState<T extends AbstractSceneFileEdi
             }
             if (spatial != null) {
                 state.updateTransformNode(spatial.getWorldTransform());
-                shape.setLocalTranslation(spatial.getWorldTranslation());
-                shape.setLocalRotation(spatial.getWorldRotation());
-                shape.setLocalScale(spatial.getWorldScale());
+                NodeUtils.updateLocalTranslation(shape, spatial.getWorldTranslation());
+                NodeUtils.updateLocalRotation(shape, spatial.getWorldRotation());
+                NodeUtils.updateLocalScale(shape, spatial.getWorldScale());
             }
         });
     }
@@ -801,7 +807,7 @@ public abstract class AbstractSceneEditorAppState<T extends AbstractSceneFileEdi
         final Vector3f contactPoint = GeomUtils.getContactPointFromCursor(editedModel);
 
         if (contactPoint != null) {
-            cursorNode.setLocalTranslation(contactPoint);
+            NodeUtils.updateLocalTranslation(cursorNode, contactPoint);
         }
     }
 
@@ -816,8 +822,8 @@ public abstract class AbstractSceneEditorAppState<T extends AbstractSceneFileEdi
         final Vector3f positionOnCamera = getPositionOnCamera(location);
 
         final Node transformToolNode = getTransformToolNode();
-        transformToolNode.setLocalTranslation(positionOnCamera);
-        transformToolNode.setLocalRotation(transform.getRotation());
+        NodeUtils.updateLocalTranslation(transformToolNode, positionOnCamera);
+        NodeUtils.updateLocalRotation(transformToolNode, transform.getRotation());
     }
 
     @NotNull
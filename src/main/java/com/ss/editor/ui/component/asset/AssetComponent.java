@@ -73,9 +73,8 @@ public class AssetComponent extends VBox implements ScreenComponent {
         createComponents();
         FX_EVENT_MANAGER.addEventHandler(RequestedRefreshAssetEvent.EVENT_TYPE, event -> processRefresh());
         FX_EVENT_MANAGER.addEventHandler(ChangedCurrentAssetFolderEvent.EVENT_TYPE, event -> processChangeAsset());
-        FX_EVENT_MANAGER.addEventHandler(CreatedFileEvent.EVENT_TYPE, event -> processEvent((CreatedFileEvent) event));
+        FX_EVENT_MANAGER.addEventHandler(ChangedFilesEvent.EVENT_TYPE, event -> processEvent((ChangedFilesEvent) event));
         FX_EVENT_MANAGER.addEventHandler(RequestSelectFileEvent.EVENT_TYPE, event -> processEvent((RequestSelectFileEvent) event));
-        FX_EVENT_MANAGER.addEventHandler(DeletedFileEvent.EVENT_TYPE, event -> processEvent((DeletedFileEvent) event));
     }
 
     /**
@@ -108,36 +107,31 @@ public class AssetComponent extends VBox implements ScreenComponent {
     }
 
     /**
-     * Handle a created file.
+     * Handle a batch of created and deleted files.
      */
-    private void processEvent(@NotNull final CreatedFileEvent event) {
+    private void processEvent(@NotNull final ChangedFilesEvent event) {
 
-        final Path file = event.getFile();
-
-        final Array<Path> waitedFilesToSelect = getWaitedFilesToSelect();
-        final boolean waitedSelect = waitedFilesToSelect.contains(file);
+        final Array<Path> createdFiles = event.getCreatedFiles();
+        final Array<Path> deletedFiles = event.getDeletedFiles();
+        if (createdFiles.isEmpty() && deletedFiles.isEmpty()) return;
 
         final ResourceTree resourceTree = getResourceTree();
-        resourceTree.notifyCreated(file);
+        deletedFiles.forEach(resourceTree::notifyDeleted);
+        resourceTree.notifyCreated(createdFiles);
 
-        if (waitedSelect) waitedFilesToSelect.fastRemove(file);
-        if (waitedSelect || event.isNeedSelect()) resourceTree.expandTo(file, true);
-    }
-
-    /**
-     * Handle a deleted file.
-     */
-    private void processEvent(@NotNull final DeletedFileEvent event) {
-
-        final Path file = event.getFile();
+        final Array<Path> waitedFilesToSelect = getWaitedFilesToSelect();
 
-        final ResourceTree resourceTree = getResourceTree();
-        resourceTree.notifyDeleted(file);
+        for (final Path file : createdFiles) {
+            if (!waitedFilesToSelect.contains(file)) continue;
+            waitedFilesToSelect.fastRemove(file);
+            resourceTree.expandTo(file, true);
+        }
 
         final WorkspaceManager workspaceManager = WorkspaceManager.getInstance();
         final Workspace workspace = workspaceManager.getCurrentWorkspace();
         if (workspace == null) return;
-        workspace.removeEditorState(file);
+
+        deletedFiles.forEach(workspace::removeEditorState);
     }
 
     /**
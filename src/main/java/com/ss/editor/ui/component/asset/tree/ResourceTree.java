@@ -7,6 +7,8 @@ import com.ss.editor.config.EditorConfig;
 import com.ss.editor.file.converter.FileConverterDescription;
 import com.ss.editor.file.converter.FileConverterRegistry;
 import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.manager.ResourceManager;
+import com.ss.editor.model.asset.AssetIndex;
 import com.ss.editor.ui.component.asset.tree.context.menu.action.*;
 import com.ss.editor.ui.component.asset.tree.resource.FileElement;
 import com.ss.editor.ui.component.asset.tree.resource.FolderElement;
@@ -14,6 +16,7 @@ import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
 import com.ss.editor.ui.component.asset.tree.resource.ResourceLoadingElement;
 import com.ss.editor.ui.util.UIUtils;
 import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ParallelFolderWalker;
 import com.ss.rlib.function.IntObjectConsumer;
 import com.ss.rlib.util.StringUtils;
 import com.ss.rlib.util.array.Array;
@@ -31,7 +34,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -452,10 +458,18 @@ public class ResourceTree extends TreeView<ResourceElement> {
         final TreeItem<ResourceElement> newRoot = new TreeItem<>(rootElement);
         newRoot.setExpanded(true);
 
-        fill(newRoot);
-
         final Array<String> extensionFilter = getExtensionFilter();
-        if (!extensionFilter.isEmpty() && !isOnlyFolders()) cleanup(newRoot);
+        final boolean filtered = !extensionFilter.isEmpty() && !isOnlyFolders();
+
+        final ResourceManager resourceManager = ResourceManager.getInstance();
+        final AssetIndex assetIndex = resourceManager.getAssetIndex();
+
+        if (filtered && assetIndex != null && assetFolder.equals(assetIndex.getAssetFolder())) {
+            fill(newRoot, assetIndex.find(extensionFilter));
+        } else {
+            fill(newRoot);
+            if (filtered) cleanup(newRoot);
+        }
 
         EXECUTOR_MANAGER.addFXTask(() -> {
             setRoot(newRoot);
@@ -531,21 +545,85 @@ public class ResourceTree extends TreeView<ResourceElement> {
     }
 
     /**
-     * Fill the node.
+     * Fill the node, folders are listed in parallel and tree items are created after listing.
      */
     private void fill(@NotNull final TreeItem<ResourceElement> treeItem) {
 
-        final ResourceElement element = treeItem.getValue();
         final Array<String> extensionFilter = getExtensionFilter();
-        if (!element.hasChildren(extensionFilter, isOnlyFolders())) return;
+        final boolean onlyFolders = isOnlyFolders();
 
-        final ObservableList<TreeItem<ResourceElement>> items = treeItem.getChildren();
+        final Map<ResourceElement, Array<ResourceElement>> childrenTable = new ConcurrentHashMap<>();
+
+        ParallelFolderWalker.walk(treeItem.getValue(), element -> {
+            if (!element.hasChildren(extensionFilter, onlyFolders)) return null;
 
-        final Array<ResourceElement> children = element.getChildren(extensionFilter, isOnlyFolders());
-        children.sort(NAME_COMPARATOR);
+            final Array<ResourceElement> children = element.getChildren(extensionFilter, onlyFolders);
+            if (children == null) return null;
+
+            children.sort(NAME_COMPARATOR);
+            childrenTable.put(element, children);
+
+            final Array<ResourceElement> folders = ArrayFactory.newArray(ResourceElement.class);
+            children.forEach(folders, (child, container) -> {
+                if (child instanceof FolderElement) container.add(child);
+            });
+
+            return folders;
+        });
+
+        fill(treeItem, childrenTable);
+    }
+
+    /**
+     * Fill the node by the listed children.
+     */
+    private void fill(@NotNull final TreeItem<ResourceElement> treeItem,
+                      @NotNull final Map<ResourceElement, Array<ResourceElement>> childrenTable) {
+
+        final Array<ResourceElement> children = childrenTable.get(treeItem.getValue());
+        if (children == null) return;
+
+        final ObservableList<TreeItem<ResourceElement>> items = treeItem.getChildren();
         children.forEach(child -> items.add(new TreeItem<>(child)));
+        items.forEach(item -> fill(item, childrenTable));
+    }
+
+    /**
+     * Fill the node by asset paths of files, only folders which contain the files are created.
+     */
+    private void fill(@NotNull final TreeItem<ResourceElement> treeItem, @NotNull final Array<String> assetPaths) {
+
+        final Path assetFolder = treeItem.getValue().getFile();
+
+        final Map<Path, TreeItem<ResourceElement>> folderItems = new HashMap<>();
+        folderItems.put(assetFolder, treeItem);
+
+        for (final String assetPath : assetPaths) {
+            final Path file = assetFolder.resolve(assetPath);
+            final TreeItem<ResourceElement> folderItem = getFolderItem(folderItems, file.getParent());
+            folderItem.getChildren().add(new TreeItem<>(createFor(file)));
+        }
 
-        items.forEach(this::fill);
+        folderItems.values().forEach(item -> FXCollections.sort(item.getChildren(), ITEM_COMPARATOR));
+    }
+
+    /**
+     * Get or create a tree item of the folder with tree items of its parents.
+     */
+    @NotNull
+    private static TreeItem<ResourceElement> getFolderItem(@NotNull final Map<Path, TreeItem<ResourceElement>> folderItems,
+                                                           @NotNull final Path folder) {
+
+        TreeItem<ResourceElement> folderItem = folderItems.get(folder);
+        if (folderItem != null) return folderItem;
+
+        folderItem = new TreeItem<>(createFor(folder));
+
+        final TreeItem<ResourceElement> parentItem = getFolderItem(folderItems, folder.getParent());
+        parentItem.getChildren().add(folderItem);
+
+        folderItems.put(folder, folderItem);
+        return folderItem;
     }
 
     /**
@@ -554,11 +632,39 @@ public class ResourceTree extends TreeView<ResourceElement> {
      * @param file the created file.
      */
     public void notifyCreated(@NotNull final Path file) {
+        final TreeItem<ResourceElement> folderItem = addItem(file);
+        if (folderItem != null) FXCollections.sort(folderItem.getChildren(), ITEM_COMPARATOR);
+    }
+
+    /**
+     * Handle a batch of created files, children of every changed folder are sorted once.
+     *
+     * @param files the created files.
+     */
+    public void notifyCreated(@NotNull final Array<Path> files) {
+
+        final Array<TreeItem<ResourceElement>> folderItems = ArrayFactory.newArray(TreeItem.class);
+
+        for (final Path file : files) {
+            final TreeItem<ResourceElement> folderItem = addItem(file);
+            if (folderItem != null && !folderItems.contains(folderItem)) folderItems.add(folderItem);
+        }
+
+        folderItems.forEach(item -> FXCollections.sort(item.getChildren(), ITEM_COMPARATOR));
+    }
+
+    /**
+     * Add an item of the created file to the item of its folder without sorting.
+     *
+     * @return the item of the folder or null if the item wasn't added.
+     */
+    @Nullable
+    private TreeItem<ResourceElement> addItem(@NotNull final Path file) {
 
         final EditorConfig editorConfig = EditorConfig.getInstance();
         final Path currentAsset = editorConfig.getCurrentAsset();
         final Path folder = file.getParent();
-        if (!folder.startsWith(currentAsset)) return;
+        if (!folder.startsWith(currentAsset)) return null;
 
         final ResourceElement element = createFor(folder);
 
@@ -569,16 +675,23 @@ public class ResourceTree extends TreeView<ResourceElement> {
             folderItem = findItemForValue(getRoot(), folder);
         }
 
-        if (folderItem == null) return;
+        if (folderItem == null) return null;
 
-        final TreeItem<ResourceElement> newItem = new TreeItem<>(createFor(file));
+        final ResourceElement newElement = createFor(file);
+        final ObservableList<TreeItem<ResourceElement>> children = folderItem.getChildren();
+
+        // the item is already added if its folder was created in the same batch
+        for (final TreeItem<ResourceElement> child : children) {
+            if (newElement.equals(child.getValue())) return null;
+        }
+
+        final TreeItem<ResourceElement> newItem = new TreeItem<>(newElement);
 
         fill(newItem);
 
-        final ObservableList<TreeItem<ResourceElement>> children = folderItem.getChildren();
         children.add(newItem);
 
-        FXCollections.sort(children, ITEM_COMPARATOR);
+        return folderItem;
     }
 
     /**
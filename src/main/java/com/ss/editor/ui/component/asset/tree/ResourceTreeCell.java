@@ -129,7 +129,7 @@ public class ResourceTreeCell extends TreeCell<ResourceElement> {
         final Path fileName = file.getFileName();
 
         setText(fileName.toString());
-        setGraphic(new ImageView(ICON_MANAGER.getIcon(file, DEFAULT_FILE_ICON_SIZE)));
+        setGraphic(new ImageView(ICON_MANAGER.getIcon(file, item instanceof FolderElement, DEFAULT_FILE_ICON_SIZE)));
 
         final EditorConfig editorConfig = EditorConfig.getInstance();
         final Path currentAsset = editorConfig.getCurrentAsset();
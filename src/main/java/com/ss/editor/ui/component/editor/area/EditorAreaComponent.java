@@ -420,7 +420,7 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
 
         final FileEditor resultEditor = editor;
 
-        EditorStateManager.setOpeningFile();
+        EditorStateManager.setOpeningFile(resultEditor);
         try {
             editor.openFile(file);
         } catch (final NoClassDefFoundError | Exception e) {
@@ -431,7 +431,7 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
             });
             return;
         } finally {
-            EditorStateManager.setUpdating();
+            EditorStateManager.setUpdating(resultEditor);
         }
 
         EXECUTOR_MANAGER.addFXTask(() -> addEditor(resultEditor, event.isNeedShow()));
@@ -447,7 +447,7 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
         final Path editFile = editor.getEditFile();
 
         final Tab tab = new Tab(editor.getFileName());
-        tab.setGraphic(new ImageView(ICON_MANAGER.getIcon(editFile, DEFAULT_FILE_ICON_SIZE)));
+        tab.setGraphic(new ImageView(ICON_MANAGER.getIcon(editFile, false, DEFAULT_FILE_ICON_SIZE)));
         tab.setContent(editor.getPage());
 
         final ObservableMap<Object, Object> properties = tab.getProperties();
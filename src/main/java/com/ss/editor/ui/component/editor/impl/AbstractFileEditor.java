@@ -10,13 +10,14 @@ import com.ss.editor.analytics.google.GAnalytics;
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.manager.ResourceManager;
 import com.ss.editor.state.editor.EditorAppState;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.component.editor.EditorDescription;
 import com.ss.editor.ui.component.editor.FileEditor;
 import com.ss.editor.ui.css.CSSClasses;
 import com.ss.editor.ui.event.FXEventManager;
-import com.ss.editor.ui.event.impl.FileChangedEvent;
+import com.ss.editor.ui.event.impl.ChangedFilesEvent;
 import com.ss.editor.ui.scene.EditorFXScene;
 import com.ss.editor.ui.util.DynamicIconSupport;
 import com.ss.editor.manager.EditorStateManager;
@@ -65,6 +66,7 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
     private volatile LocalTime showedTime;
     private R root;
     private Path file;
+    private Array<String> pinnedAssets;
     private boolean buttonLeftDown;
     private boolean buttonRightDown;
     private boolean buttonMiddleDown;
@@ -76,7 +78,7 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
         this.showedTime = LocalTime.now();
         this.editorStates = ArrayFactory.newArray(EditorAppState.class);
         this.dirtyProperty = new SimpleBooleanProperty(this, "dirty", false);
-        this.fileChangedHandler = event -> processChangedFile((FileChangedEvent) event);
+        this.fileChangedHandler = event -> processChangedFiles((ChangedFilesEvent) event);
         createContent();
     }
 
@@ -249,7 +251,7 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
 
     @Override
     public void onSaved() {
-        EditorStateManager.setUpdating();
+        EditorStateManager.setUpdating(this);
         final EditorFXScene scene = JFX_APPLICATION.getScene();
         scene.decrementLoading();
     }
@@ -302,10 +304,11 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
     @FXThread
     @Override
     public void openFile(@NotNull final Path file) {
-        FX_EVENT_MANAGER.addEventHandler(FileChangedEvent.EVENT_TYPE, getFileChangedHandler());
+        FX_EVENT_MANAGER.addEventHandler(ChangedFilesEvent.EVENT_TYPE, getFileChangedHandler());
 
         this.file = file;
         this.showedTime = LocalTime.now();
+        this.pinnedAssets = ResourceManager.getInstance().pinAssets(file);
 
         final EditorDescription description = getDescription();
 
@@ -410,24 +413,38 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
 
     @Override
     public void onClosed() {
-        FX_EVENT_MANAGER.removeEventHandler(FileChangedEvent.EVENT_TYPE, getFileChangedHandler());
+        FX_EVENT_MANAGER.removeEventHandler(ChangedFilesEvent.EVENT_TYPE, getFileChangedHandler());
+        EditorStateManager.setUpdating(this);
+
+        if (pinnedAssets != null) {
+            ResourceManager.getInstance().unpinAssets(pinnedAssets);
+            pinnedAssets = null;
+        }
     }
 
     /**
-     * Handle a changed file.
+     * Handle a batch of changed files.
      *
      * @param event the event
      */
-    protected void processChangedFile(@NotNull final FileChangedEvent event) {
+    protected void processChangedFiles(@NotNull final ChangedFilesEvent event) {
+        event.getChangedFiles().forEach(this::processChangedFile);
+    }
+
+    /**
+     * Handle a changed file.
+     *
+     * @param file the changed file
+     */
+    protected void processChangedFile(@NotNull final Path file) {
 
-        final Path file = event.getFile();
         final Path editFile = getEditFile();
 
         if (!file.equals(editFile)) {
             return;
         }
 
-        if (EditorStateManager.isSaving()) {
+        if (EditorStateManager.isSaving(this)) {
             onSaved();
             return;
         }
@@ -516,6 +533,6 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
     public void doSave() {
         final EditorFXScene scene = JFX_APPLICATION.getScene();
         scene.incrementLoading();
-        EditorStateManager.setSaving();
+        EditorStateManager.setSaving(this);
     }
 }
@@ -5,13 +5,11 @@ import com.ss.editor.Editor;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.Messages;
 import com.ss.editor.annotation.FXThread;
-import com.ss.editor.manager.JavaFXImageManager;
 import com.ss.editor.ui.component.editor.EditorDescription;
+import com.ss.editor.ui.component.image.TiledImageView;
 import com.ss.editor.ui.css.CSSClasses;
-import com.ss.editor.ui.event.impl.FileChangedEvent;
 import com.ss.rlib.ui.util.FXUtils;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,10 +29,6 @@ public class ImageViewerEditor extends AbstractFileEditor<VBox> {
     @NotNull
     public static final EditorDescription DESCRIPTION = new EditorDescription();
 
-    private static final JavaFXImageManager JAVA_FX_IMAGE_MANAGER = JavaFXImageManager.getInstance();
-
-    private static final int IMAGE_SIZE = 512;
-
     static {
         DESCRIPTION.setConstructor(ImageViewerEditor::new);
         DESCRIPTION.setEditorName(Messages.IMAGE_VIEWER_EDITOR_NAME);
@@ -54,7 +48,7 @@ public class ImageViewerEditor extends AbstractFileEditor<VBox> {
      * The image view.
      */
     @Nullable
-    private ImageView imageView;
+    private TiledImageView imageView;
 
     @NotNull
     @Override
@@ -65,7 +59,9 @@ public class ImageViewerEditor extends AbstractFileEditor<VBox> {
     @Override
     protected void createContent(@NotNull final VBox root) {
 
-        imageView = new ImageView();
+        imageView = new TiledImageView();
+
+        VBox.setVgrow(imageView, Priority.ALWAYS);
 
         FXUtils.addToPane(imageView, root);
         FXUtils.addClassTo(root, CSSClasses.IMAGE_VIEW_EDITOR_CONTAINER);
@@ -75,21 +71,18 @@ public class ImageViewerEditor extends AbstractFileEditor<VBox> {
      * @return the image view.
      */
     @NotNull
-    private ImageView getImageView() {
+    private TiledImageView getImageView() {
         return notNull(imageView);
     }
 
     @Override
-    protected void processChangedFile(@NotNull final FileChangedEvent event) {
-        final Path file = event.getFile();
+    protected void processChangedFile(@NotNull final Path file) {
         if (!getEditFile().equals(file)) return;
         showImage(file);
     }
 
     private void showImage(@NotNull final Path file) {
-        final Image preview = JAVA_FX_IMAGE_MANAGER.getTexturePreview(file, IMAGE_SIZE, IMAGE_SIZE);
-        final ImageView imageView = getImageView();
-        imageView.setImage(preview);
+        getImageView().load(file);
     }
 
     @FXThread
@@ -99,6 +92,13 @@ public class ImageViewerEditor extends AbstractFileEditor<VBox> {
         showImage(file);
     }
 
+    @FXThread
+    @Override
+    public void onClosed() {
+        super.onClosed();
+        getImageView().unload();
+    }
+
     @NotNull
     @Override
     public EditorDescription getDescription() {
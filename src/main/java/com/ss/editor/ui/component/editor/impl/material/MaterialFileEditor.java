@@ -27,10 +27,11 @@ import com.ss.editor.ui.component.editor.state.impl.MaterialFileEditorState;
 import com.ss.editor.ui.component.split.pane.EditorToolSplitPane;
 import com.ss.editor.ui.component.tab.ScrollableEditorToolComponent;
 import com.ss.editor.ui.css.CSSClasses;
-import com.ss.editor.ui.event.impl.FileChangedEvent;
+import com.ss.editor.ui.event.impl.ChangedFilesEvent;
 import com.ss.editor.ui.util.DynamicIconSupport;
 import com.ss.editor.util.MaterialUtils;
 import com.ss.rlib.ui.util.FXUtils;
+import com.ss.rlib.util.array.Array;
 import javafx.collections.ObservableList;
 import javafx.geometry.Point2D;
 import javafx.scene.control.ComboBox;
@@ -226,21 +227,25 @@ public class MaterialFileEditor extends AbstractFileEditor<StackPane> implements
         setDirty(result != 0);
     }
 
-    protected void processChangedFile(@NotNull final FileChangedEvent event) {
-        super.processChangedFile(event);
+    protected void processChangedFiles(@NotNull final ChangedFilesEvent event) {
+        super.processChangedFiles(event);
+
+        final Array<Path> changedFiles = event.getChangedFiles();
+        if (changedFiles.isEmpty()) return;
 
         final Material currentMaterial = getCurrentMaterial();
-        final Path file = event.getFile();
 
         EXECUTOR_MANAGER.addEditorThreadTask(() -> {
 
-            final Material newMaterial = updateMaterialIdNeed(file, currentMaterial);
+            Material material = currentMaterial;
 
-            if (newMaterial == null) {
-                EXECUTOR_MANAGER.addFXTask(() -> reload(currentMaterial));
-            } else {
-                EXECUTOR_MANAGER.addFXTask(() -> reload(newMaterial));
+            for (final Path file : changedFiles) {
+                final Material newMaterial = updateMaterialIdNeed(file, material);
+                if (newMaterial != null) material = newMaterial;
             }
+
+            final Material result = material;
+            EXECUTOR_MANAGER.addFXTask(() -> reload(result));
         });
     }
 
@@ -23,8 +23,12 @@ import com.ss.editor.Messages;
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.control.transform.SceneEditorControl.TransformType;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.extension.scene.SceneLayer;
+import com.ss.editor.manager.ResourceManager;
 import com.ss.editor.manager.WorkspaceManager;
+import com.ss.editor.model.asset.AssetDependencyGraph;
+import com.ss.editor.model.asset.AssetIndex;
 import com.ss.editor.model.editor.ModelEditingProvider;
 import com.ss.editor.model.undo.EditorOperation;
 import com.ss.editor.model.undo.UndoRedoOperationControl;
@@ -53,7 +57,7 @@ import com.ss.editor.ui.controller.model.tree.action.operation.RemoveControlOper
 import com.ss.editor.ui.controller.model.tree.action.operation.RemoveLightOperation;
 import com.ss.editor.ui.controller.tree.node.ModelNode;
 import com.ss.editor.ui.css.CSSClasses;
-import com.ss.editor.ui.event.impl.FileChangedEvent;
+import com.ss.editor.ui.event.impl.ChangedFilesEvent;
 import com.ss.editor.ui.util.DynamicIconSupport;
 import com.ss.editor.ui.util.UIUtils;
 import com.ss.editor.util.MaterialUtils;
@@ -371,17 +375,56 @@ public abstract class AbstractSceneFileEditor<IM extends AbstractSceneFileEditor
     }
 
     @Override
-    protected void processChangedFile(@NotNull final FileChangedEvent event) {
-        super.processChangedFile(event);
+    protected void processChangedFiles(@NotNull final ChangedFilesEvent event) {
+        super.processChangedFiles(event);
 
-        final Path file = event.getFile();
-        final String extension = FileUtils.getExtension(file);
+        final Array<Path> materials = ArrayFactory.newArray(Path.class);
+        final Array<Path> resources = ArrayFactory.newArray(Path.class);
 
-        if (extension.endsWith(FileExtensions.JME_MATERIAL)) {
-            EXECUTOR_MANAGER.addEditorThreadTask(() -> updateMaterial(file));
-        } else if (MaterialUtils.isShaderFile(file) || MaterialUtils.isTextureFile(file)) {
-            EXECUTOR_MANAGER.addEditorThreadTask(() -> updateMaterials(file));
+        for (final Path file : event.getChangedFiles()) {
+
+            final String extension = FileUtils.getExtension(file);
+
+            if (extension.endsWith(FileExtensions.JME_MATERIAL)) {
+                if (canDependOn(file)) materials.add(file);
+            } else if (MaterialUtils.isShaderFile(file) || MaterialUtils.isTextureFile(file)) {
+                if (canDependOn(file)) resources.add(file);
+            }
         }
+
+        if (materials.isEmpty() && resources.isEmpty()) return;
+
+        EXECUTOR_MANAGER.addEditorThreadTask(() -> {
+            materials.forEach(this::updateMaterial);
+            resources.forEach(this::updateMaterials);
+        }, TaskPriority.BULK);
+    }
+
+    /**
+     * Check the editing model can depend on the file using the dependency graph of the asset folder. The graph
+     * knows only saved state of the model, so a dirty model is always considered as dependent, as well as a model
+     * whose dependencies weren't scanned completely in their current state.
+     *
+     * @param file the file.
+     * @return false if the model doesn't depend on the file for sure.
+     */
+    @FXThread
+    private boolean canDependOn(@NotNull final Path file) {
+        if (isDirty()) return true;
+
+        final ResourceManager resourceManager = ResourceManager.getInstance();
+        final AssetIndex assetIndex = resourceManager.getAssetIndex();
+        final AssetDependencyGraph dependencyGraph = resourceManager.getDependencyGraph();
+        if (assetIndex == null || dependencyGraph == null || !dependencyGraph.isReady()) return true;
+
+        final Path assetFile = getAssetFile(file);
+        final Path editAssetFile = getAssetFile(getEditFile());
+        if (assetFile == null || editAssetFile == null) return true;
+
+        final String editAssetPath = toAssetPath(editAssetFile);
+        if (!dependencyGraph.isComplete(assetIndex, editAssetPath)) return true;
+
+        return dependencyGraph.getAllDependents(toAssetPath(assetFile)).contains(editAssetPath);
     }
 
     /**
@@ -0,0 +1,556 @@
+package com.ss.editor.ui.component.image;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FXThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
+import com.ss.editor.executor.BackgroundTask;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.manager.JavaFXImageManager;
+import com.ss.editor.model.asset.TilePyramid;
+import com.ss.editor.ui.Icons;
+import com.ss.editor.util.ImageUtils;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The zoomable view of an image which shows tiles of the mip pyramid of the image.
+ * <p>
+ * The pyramid is built in background while the view shows the preview of the image, only tiles of the visible
+ * region of the level of the current zoom are decoded, missed tiles are replaced by already decoded tiles of
+ * coarser levels. Decoded tiles are kept in a LRU cache within the memory budget, tiles which were scrolled out of
+ * the view are evicted first and their pending decoding is cancelled.
+ *
+ * @author JavaSaBr
+ */
+public class TiledImageView extends Pane {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(TiledImageView.class);
+
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    @NotNull
+    private static final JavaFXImageManager JAVA_FX_IMAGE_MANAGER = JavaFXImageManager.getInstance();
+
+    /**
+     * The size of the preview which is shown while tiles aren't decoded.
+     */
+    private static final int PREVIEW_SIZE = 512;
+
+    /**
+     * The max zoom.
+     */
+    private static final double MAX_SCALE = 32;
+
+    /**
+     * The zoom factor per a pixel of scrolling.
+     */
+    private static final double SCROLL_ZOOM_FACTOR = 1.005;
+
+    @NotNull
+    private final Canvas canvas;
+
+    /**
+     * The decoded tiles by keys in LRU order.
+     */
+    @NotNull
+    private final LinkedHashMap<Long, Image> tiles;
+
+    /**
+     * The pending decoding of tiles by keys.
+     */
+    @NotNull
+    private final Map<Long, BackgroundTask<Image>> loadingTiles;
+
+    /**
+     * The keys of tiles which were visible at the last painting.
+     */
+    @NotNull
+    private final Set<Long> visibleTiles;
+
+    /**
+     * True if the repainting is requested.
+     */
+    @NotNull
+    private final AtomicBoolean repaintRequested;
+
+    /**
+     * The memory budget of decoded tiles in bytes.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The pyramid of the current image or null if it isn't created yet.
+     */
+    @Nullable
+    private TilePyramid pyramid;
+
+    /**
+     * The building of the pyramid.
+     */
+    @Nullable
+    private BackgroundTask<TilePyramid> buildTask;
+
+    /**
+     * The preview of the current image.
+     */
+    @Nullable
+    private Image preview;
+
+    /**
+     * The memory of decoded tiles in bytes.
+     */
+    private long memory;
+
+    /**
+     * The count of loaded images to skip results of outdated loadings.
+     */
+    private int generation;
+
+    /**
+     * The count of screen pixels per an image pixel.
+     */
+    private double scale;
+
+    /**
+     * The screen X position of the image.
+     */
+    private double offsetX;
+
+    /**
+     * The screen Y position of the image.
+     */
+    private double offsetY;
+
+    /**
+     * The last X position of dragging.
+     */
+    private double dragX;
+
+    /**
+     * The last Y position of dragging.
+     */
+    private double dragY;
+
+    /**
+     * True if the image is fitted to the view until a user zooms or pans it.
+     */
+    private boolean fitted;
+
+    public TiledImageView() {
+        this.canvas = new Canvas();
+        this.tiles = new LinkedHashMap<>(64, 0.75F, true);
+        this.loadingTiles = new HashMap<>();
+        this.visibleTiles = new HashSet<>();
+        this.repaintRequested = new AtomicBoolean();
+        this.memoryBudget = Config.PREVIEW_TILE_CACHE * 1024L * 1024L;
+        this.fitted = true;
+
+        canvas.setManaged(false);
+        getChildren().add(canvas);
+
+        setOnScroll(this::processScroll);
+        setOnMousePressed(this::processMousePressed);
+        setOnMouseDragged(this::processMouseDragged);
+        setOnMouseClicked(this::processMouseClicked);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        super.layoutChildren();
+        canvas.setWidth(getWidth());
+        canvas.setHeight(getHeight());
+        paint();
+    }
+
+    /**
+     * Show the image file, the previous image is unloaded.
+     *
+     * @param file the image file.
+     */
+    @FXThread
+    public void load(@NotNull final Path file) {
+        unload();
+
+        final int generation = this.generation;
+        final Path folder = JAVA_FX_IMAGE_MANAGER.getTileCacheFolder();
+
+        JAVA_FX_IMAGE_MANAGER.requestTexturePreview(this, file, PREVIEW_SIZE, PREVIEW_SIZE, image -> {
+            preview = image;
+            paint();
+        });
+
+        buildTask = EXECUTOR_MANAGER.submitBackgroundTask(() -> buildPyramid(file, folder, generation),
+                TaskPriority.BULK);
+    }
+
+    /**
+     * Unload the current image, pending decoding is cancelled and decoded tiles are released.
+     */
+    @FXThread
+    public void unload() {
+        generation++;
+
+        JAVA_FX_IMAGE_MANAGER.cancelTexturePreview(this);
+
+        if (buildTask != null) {
+            buildTask.cancel(false);
+            buildTask = null;
+        }
+
+        loadingTiles.values().forEach(task -> task.cancel(false));
+        loadingTiles.clear();
+        visibleTiles.clear();
+        tiles.clear();
+        memory = 0;
+        preview = null;
+        fitted = true;
+
+        closePyramid(pyramid);
+        pyramid = null;
+
+        paint();
+    }
+
+    /**
+     * Create the pyramid and build it, the view is repainted while tiles are written.
+     */
+    @Nullable
+    @BackgroundThread
+    private TilePyramid buildPyramid(@NotNull final Path file, @NotNull final Path folder, final int generation) {
+
+        final TilePyramid pyramid;
+        try {
+            pyramid = TilePyramid.create(file, folder);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        if (pyramid == null) return null;
+
+        EXECUTOR_MANAGER.addFXTask(() -> {
+
+            if (generation != this.generation) {
+                closePyramid(pyramid);
+                return;
+            }
+
+            this.pyramid = pyramid;
+            paint();
+        });
+
+        final long time = System.currentTimeMillis();
+
+        try {
+            if (pyramid.build(this::requestRepaint) && LOGGER.isEnabledDebug()) {
+                LOGGER.debug(this, "the pyramid of " + file + " was built for " +
+                        (System.currentTimeMillis() - time) + " ms.");
+            }
+        } catch (final ClosedChannelException e) {
+            // the image was unloaded
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+
+        return pyramid;
+    }
+
+    /**
+     * Decode the tile.
+     */
+    @Nullable
+    @BackgroundThread
+    private Image loadTile(@NotNull final TilePyramid pyramid, final int level, final int column, final int row) {
+        if (BackgroundTask.isCurrentCancelled()) return null;
+
+        final int[] pixels;
+        try {
+            pixels = pyramid.readTile(level, column, row);
+        } catch (final ClosedChannelException e) {
+            return null;
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        if (pixels == null) return null;
+
+        final int width = pyramid.getTileWidth(level, column);
+        final int height = pyramid.getTileHeight(level, row);
+
+        final WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return image;
+    }
+
+    private void closePyramid(@Nullable final TilePyramid pyramid) {
+        if (pyramid == null) return;
+        try {
+            pyramid.close();
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Request repainting of the view in the FX thread.
+     */
+    @FromAnyThread
+    private void requestRepaint() {
+        if (repaintRequested.compareAndSet(false, true)) {
+            EXECUTOR_MANAGER.addFXTask(this::paint);
+        }
+    }
+
+    /**
+     * Paint the visible region of the image.
+     */
+    @FXThread
+    private void paint() {
+        repaintRequested.set(false);
+
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+
+        if (width < 1 || height < 1) return;
+
+        final TilePyramid pyramid = this.pyramid;
+        final Image preview = this.preview;
+
+        if (pyramid == null) {
+
+            if (preview != null) {
+                gc.drawImage(preview, Math.floor((width - preview.getWidth()) / 2),
+                        Math.floor((height - preview.getHeight()) / 2));
+            }
+
+            return;
+        }
+
+        if (fitted) fit(pyramid);
+
+        final int imageWidth = pyramid.getWidth();
+        final int imageHeight = pyramid.getHeight();
+
+        if (preview != null && preview != Icons.IMAGE_512) {
+            final int[] size = ImageUtils.getFitSize(imageWidth, imageHeight, PREVIEW_SIZE, PREVIEW_SIZE);
+            gc.drawImage(preview, 0, 0, size[0], size[1], offsetX, offsetY, imageWidth * scale,
+                    imageHeight * scale);
+        }
+
+        final int level = Math.max(0, Math.min(pyramid.getLevelCount() - 1,
+                (int) Math.floor(Math.log(1 / scale) / Math.log(2))));
+
+        final double levelScale = scale * (1 << level);
+        final int tileSize = TilePyramid.TILE_SIZE;
+
+        final int minColumn = Math.max(0, (int) Math.floor(-offsetX / levelScale / tileSize));
+        final int minRow = Math.max(0, (int) Math.floor(-offsetY / levelScale / tileSize));
+        final int maxColumn = Math.min(pyramid.getColumns(level) - 1,
+                (int) Math.floor((width - offsetX) / levelScale / tileSize));
+        final int maxRow = Math.min(pyramid.getRows(level) - 1,
+                (int) Math.floor((height - offsetY) / levelScale / tileSize));
+
+        visibleTiles.clear();
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+
+                final long key = toKey(level, column, row);
+                visibleTiles.add(key);
+
+                final double x = Math.floor(offsetX + column * tileSize * levelScale);
+                final double y = Math.floor(offsetY + row * tileSize * levelScale);
+                final double tileWidth = Math.floor(offsetX + (column * tileSize +
+                        pyramid.getTileWidth(level, column)) * levelScale) - x;
+                final double tileHeight = Math.floor(offsetY + (row * tileSize +
+                        pyramid.getTileHeight(level, row)) * levelScale) - y;
+
+                final Image tile = tiles.get(key);
+
+                if (tile != null) {
+                    gc.drawImage(tile, x, y, tileWidth, tileHeight);
+                    continue;
+                }
+
+                paintCoarser(gc, pyramid, level, column, row, x, y, tileWidth, tileHeight);
+                requestTile(pyramid, level, column, row, key);
+            }
+        }
+
+        cancelInvisible();
+        evict();
+    }
+
+    /**
+     * Paint the region of the missed tile from the nearest decoded tile of coarser levels.
+     */
+    private void paintCoarser(@NotNull final GraphicsContext gc, @NotNull final TilePyramid pyramid,
+                              final int level, final int column, final int row, final double x, final double y,
+                              final double width, final double height) {
+
+        final int tileSize = TilePyramid.TILE_SIZE;
+
+        for (int coarser = level + 1, count = pyramid.getLevelCount(); coarser < count; coarser++) {
+
+            final int shift = coarser - level;
+            final Image tile = tiles.get(toKey(coarser, column >> shift, row >> shift));
+            if (tile == null) continue;
+
+            final double factor = 1D / (1 << shift);
+            final double sourceX = column * tileSize * factor - (column >> shift) * tileSize;
+            final double sourceY = row * tileSize * factor - (row >> shift) * tileSize;
+
+            gc.drawImage(tile, sourceX, sourceY, pyramid.getTileWidth(level, column) * factor,
+                    pyramid.getTileHeight(level, row) * factor, x, y, width, height);
+            return;
+        }
+    }
+
+    /**
+     * Request decoding of the tile if the tile is written and isn't being decoded.
+     */
+    private void requestTile(@NotNull final TilePyramid pyramid, final int level, final int column,
+                             final int row, final long key) {
+
+        if (loadingTiles.containsKey(key) || !pyramid.hasTile(level, column, row)) {
+            return;
+        }
+
+        final BackgroundTask<Image> task = EXECUTOR_MANAGER.submitBackgroundTask(() ->
+                loadTile(pyramid, level, column, row), TaskPriority.INTERACTIVE);
+
+        loadingTiles.put(key, task);
+
+        task.whenComplete((image, error) -> EXECUTOR_MANAGER.addFXTask(() -> {
+            if (loadingTiles.get(key) != task) return;
+            loadingTiles.remove(key);
+            if (image == null) return;
+
+            final Image prev = tiles.put(key, image);
+            if (prev != null) memory -= getMemory(prev);
+            memory += getMemory(image);
+
+            requestRepaint();
+        }));
+    }
+
+    /**
+     * Cancel decoding of tiles which are out of the view.
+     */
+    private void cancelInvisible() {
+
+        final Iterator<Map.Entry<Long, BackgroundTask<Image>>> iterator = loadingTiles.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<Long, BackgroundTask<Image>> entry = iterator.next();
+            if (visibleTiles.contains(entry.getKey())) continue;
+            entry.getValue().cancel(false);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Evict the least recently used invisible tiles while decoded tiles exceed the memory budget.
+     */
+    private void evict() {
+
+        final Iterator<Map.Entry<Long, Image>> iterator = tiles.entrySet().iterator();
+
+        while (memory > memoryBudget && iterator.hasNext()) {
+            final Map.Entry<Long, Image> entry = iterator.next();
+            if (visibleTiles.contains(entry.getKey())) continue;
+            memory -= getMemory(entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    private static long getMemory(@NotNull final Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    private static long toKey(final int level, final int column, final int row) {
+        return (long) level << 48 | (long) row << 24 | column;
+    }
+
+    /**
+     * Fit the image into the view, small images are shown in the original size.
+     */
+    private void fit(@NotNull final TilePyramid pyramid) {
+        scale = Math.min(1, Math.min(getWidth() / pyramid.getWidth(), getHeight() / pyramid.getHeight()));
+        offsetX = Math.floor((getWidth() - pyramid.getWidth() * scale) / 2);
+        offsetY = Math.floor((getHeight() - pyramid.getHeight() * scale) / 2);
+    }
+
+    private void processScroll(@NotNull final ScrollEvent event) {
+        final TilePyramid pyramid = this.pyramid;
+        if (pyramid == null) return;
+
+        final double minScale = Math.min(1, Math.min(getWidth() / pyramid.getWidth(),
+                getHeight() / pyramid.getHeight())) / 2;
+
+        final double newScale = Math.max(minScale, Math.min(MAX_SCALE,
+                scale * Math.pow(SCROLL_ZOOM_FACTOR, event.getDeltaY())));
+
+        // keep the image point under the cursor
+        offsetX = event.getX() - (event.getX() - offsetX) * newScale / scale;
+        offsetY = event.getY() - (event.getY() - offsetY) * newScale / scale;
+        scale = newScale;
+        fitted = false;
+
+        event.consume();
+        requestRepaint();
+    }
+
+    private void processMousePressed(@NotNull final MouseEvent event) {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    private void processMouseDragged(@NotNull final MouseEvent event) {
+        if (pyramid == null) return;
+
+        offsetX += event.getX() - dragX;
+        offsetY += event.getY() - dragY;
+        dragX = event.getX();
+        dragY = event.getY();
+        fitted = false;
+
+        requestRepaint();
+    }
+
+    private void processMouseClicked(@NotNull final MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY || event.getClickCount() != 2) return;
+        fitted = true;
+        requestRepaint();
+    }
+}
@@ -222,6 +222,7 @@ public class TextureChooser extends HBox {
 
         if (textureFile == null) {
             textureLabel.setText(Messages.MATERIAL_MODEL_PROPERTY_CONTROL_NO_TEXTURE);
+            IMAGE_MANAGER.cancelTexturePreview(preview);
             preview.setImage(null);
             textureTooltip.showImage(null);
             return;
@@ -231,7 +232,7 @@ public class TextureChooser extends HBox {
 
         assert assetFile != null;
         textureLabel.setText(assetFile.toString());
-        preview.setImage(IMAGE_MANAGER.getTexturePreview(textureFile, 28, 28));
+        IMAGE_MANAGER.requestTexturePreview(preview, textureFile, 28, 28);
         textureTooltip.showImage(textureFile);
     }
 }
@@ -45,6 +45,17 @@ public class ConfirmDialog extends AbstractSimpleEditorDialog {
         this.handler = handler;
     }
 
+    /**
+     * Instantiates a new Confirm dialog with the question.
+     *
+     * @param handler  the handler
+     * @param question the question
+     */
+    public ConfirmDialog(@NotNull final Consumer<Boolean> handler, @NotNull final String question) {
+        this(handler);
+        getQuestionLabel().setText(question);
+    }
+
     /**
      * @return the label.
      */
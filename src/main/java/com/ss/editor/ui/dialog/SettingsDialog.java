@@ -12,6 +12,7 @@ import com.ss.editor.config.EditorConfig;
 import com.ss.editor.manager.ClasspathManager;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.manager.ResourceManager;
+import com.ss.editor.manager.ThumbnailPregenerationManager;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.css.CSSClasses;
 import com.ss.editor.ui.css.CssColorTheme;
@@ -167,6 +168,12 @@ public class SettingsDialog extends EditorDialog {
     @Nullable
     private CheckBox defaultUseFlippedTextureCheckBox;
 
+    /**
+     * The checkbox for enabling pre-generating thumbnails of textures.
+     */
+    @Nullable
+    private CheckBox pregenerateThumbnailsCheckBox;
+
     /**
      * The checkbox for enabling camera lamp by default.
      */
@@ -286,6 +293,7 @@ public class SettingsDialog extends EditorDialog {
         createAutoTangentGeneratingControl(otherRoot);
         createUseFlippedTextureDefaultControl(otherRoot);
         createDefaultCameraLampEnabledControl(otherRoot);
+        createPregenerateThumbnailsControl(otherRoot);
 
         FXUtils.bindFixedWidth(messageLabel, root.widthProperty());
         FXUtils.addClassTo(messageLabel, CSSClasses.SETTINGS_DIALOG_MESSAGE_LABEL);
@@ -663,6 +671,27 @@ public class SettingsDialog extends EditorDialog {
         FXUtils.addClassTo(autoTangentGeneratingCheckBox, CSSClasses.SETTINGS_DIALOG_FIELD);
     }
 
+    /**
+     * Create the checkbox for configuring pre-generating thumbnails of textures.
+     */
+    private void createPregenerateThumbnailsControl(@NotNull final VBox root) {
+
+        final HBox container = new HBox();
+        container.setAlignment(Pos.CENTER_LEFT);
+
+        final Label label = new Label(Messages.SETTINGS_DIALOG_PREGENERATE_THUMBNAILS + ":");
+
+        pregenerateThumbnailsCheckBox = new CheckBox();
+        pregenerateThumbnailsCheckBox.selectedProperty().addListener((observable, oldValue, newValue) -> validate());
+
+        FXUtils.addToPane(label, container);
+        FXUtils.addToPane(pregenerateThumbnailsCheckBox, container);
+        FXUtils.addToPane(container, root);
+
+        FXUtils.addClassTo(label, CSSClasses.SETTINGS_DIALOG_LABEL);
+        FXUtils.addClassTo(pregenerateThumbnailsCheckBox, CSSClasses.SETTINGS_DIALOG_FIELD);
+    }
+
     /**
      * Create the checkbox for configuring using flip textures by default.
      */
@@ -918,6 +947,14 @@ public class SettingsDialog extends EditorDialog {
         return notNull(autoTangentGeneratingCheckBox);
     }
 
+    /**
+     * @return the checkbox for enabling pre-generating thumbnails of textures.
+     */
+    @NotNull
+    private CheckBox getPregenerateThumbnailsCheckBox() {
+        return notNull(pregenerateThumbnailsCheckBox);
+    }
+
     /**
      * @return the checkbox for enabling camera lamp by default.
      */
@@ -1038,6 +1075,9 @@ public class SettingsDialog extends EditorDialog {
         final CheckBox defaultUseFlippedTextureCheckBox = getDefaultUseFlippedTextureCheckBox();
         defaultUseFlippedTextureCheckBox.setSelected(editorConfig.isDefaultUseFlippedTexture());
 
+        final CheckBox pregenerateThumbnailsCheckBox = getPregenerateThumbnailsCheckBox();
+        pregenerateThumbnailsCheckBox.setSelected(editorConfig.isPregenerateThumbnails());
+
         final Vector3f toneMapFilterWhitePoint = editorConfig.getToneMapFilterWhitePoint();
 
         final Spinner<Double> toneMapFilterWhitePointX = getToneMapFilterWhitePointX();
@@ -1190,6 +1230,9 @@ public class SettingsDialog extends EditorDialog {
         final CheckBox defaultUseFlippedTextureCheckBox = getDefaultUseFlippedTextureCheckBox();
         final boolean useFlippedTextures = defaultUseFlippedTextureCheckBox.isSelected();
 
+        final CheckBox pregenerateThumbnailsCheckBox = getPregenerateThumbnailsCheckBox();
+        final boolean pregenerateThumbnails = pregenerateThumbnailsCheckBox.isSelected();
+
         final float toneMapFilterWhitePointX = getToneMapFilterWhitePointX().getValue().floatValue();
         final float toneMapFilterWhitePointY = getToneMapFilterWhitePointY().getValue().floatValue();
         final float toneMapFilterWhitePointZ = getToneMapFilterWhitePointZ().getValue().floatValue();
@@ -1228,6 +1271,7 @@ public class SettingsDialog extends EditorDialog {
         editorConfig.setAutoTangentGenerating(autoTangentGenerating);
         editorConfig.setDefaultUseFlippedTexture(useFlippedTextures);
         editorConfig.setDefaultEditorCameraEnabled(cameraLampEnabled);
+        editorConfig.setPregenerateThumbnails(pregenerateThumbnails);
         editorConfig.setTheme(theme);
         editorConfig.setOpenGLVersion(glVersion);
         editorConfig.save();
@@ -1253,6 +1297,9 @@ public class SettingsDialog extends EditorDialog {
         final ResourceManager resourceManager = ResourceManager.getInstance();
         resourceManager.updateAdditionalEnvs();
 
+        final ThumbnailPregenerationManager pregenerationManager = ThumbnailPregenerationManager.getInstance();
+        pregenerationManager.restart();
+
         if (needRestart > 0) {
             Platform.exit();
         } else {
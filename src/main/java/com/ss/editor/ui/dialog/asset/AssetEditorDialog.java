@@ -17,8 +17,7 @@ import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
 import com.ss.editor.ui.css.CSSClasses;
 import com.ss.editor.ui.dialog.EditorDialog;
 import com.ss.editor.ui.event.FXEventManager;
-import com.ss.editor.ui.event.impl.CreatedFileEvent;
-import com.ss.editor.ui.event.impl.DeletedFileEvent;
+import com.ss.editor.ui.event.impl.ChangedFilesEvent;
 import com.ss.editor.ui.event.impl.RequestSelectFileEvent;
 import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.ui.util.FXUtils;
@@ -92,14 +91,11 @@ public class AssetEditorDialog<C> extends EditorDialog {
     protected static final Editor EDITOR = Editor.getInstance();
 
     @NotNull
-    private final EventHandler<Event> createdFileHandler = event -> processEvent((CreatedFileEvent) event);
+    private final EventHandler<Event> changedFilesHandler = event -> processEvent((ChangedFilesEvent) event);
 
     @NotNull
     private final EventHandler<Event> selectFileHandle = event -> processEvent((RequestSelectFileEvent) event);
 
-    @NotNull
-    private final EventHandler<Event> deletedFileHandler = event -> processEvent((DeletedFileEvent) event);
-
     /**
      * The list of waited files to select.
      */
@@ -294,39 +290,32 @@ public class AssetEditorDialog<C> extends EditorDialog {
 
         resourceTree.fill(currentAsset);
 
-        FX_EVENT_MANAGER.addEventHandler(CreatedFileEvent.EVENT_TYPE, createdFileHandler);
+        FX_EVENT_MANAGER.addEventHandler(ChangedFilesEvent.EVENT_TYPE, changedFilesHandler);
         FX_EVENT_MANAGER.addEventHandler(RequestSelectFileEvent.EVENT_TYPE, selectFileHandle);
-        FX_EVENT_MANAGER.addEventHandler(DeletedFileEvent.EVENT_TYPE, deletedFileHandler);
 
         EXECUTOR_MANAGER.addFXTask(resourceTree::requestFocus);
     }
 
     /**
-     * Handle creating file event.
+     * Handle a batch of created and deleted files.
      */
-    private void processEvent(@NotNull final CreatedFileEvent event) {
-
-        final Path file = event.getFile();
+    private void processEvent(@NotNull final ChangedFilesEvent event) {
 
-        final Array<Path> waitedFilesToSelect = getWaitedFilesToSelect();
-        final boolean waitedSelect = waitedFilesToSelect.contains(file);
+        final Array<Path> createdFiles = event.getCreatedFiles();
+        final Array<Path> deletedFiles = event.getDeletedFiles();
+        if (createdFiles.isEmpty() && deletedFiles.isEmpty()) return;
 
         final ResourceTree resourceTree = getResourceTree();
-        resourceTree.notifyCreated(file);
-
-        if (waitedSelect) waitedFilesToSelect.fastRemove(file);
-        if (waitedSelect || event.isNeedSelect()) resourceTree.expandTo(file, true);
-    }
-
-    /**
-     * Handle deleting file event.
-     */
-    private void processEvent(@NotNull final DeletedFileEvent event) {
+        deletedFiles.forEach(resourceTree::notifyDeleted);
+        resourceTree.notifyCreated(createdFiles);
 
-        final Path file = event.getFile();
+        final Array<Path> waitedFilesToSelect = getWaitedFilesToSelect();
 
-        final ResourceTree resourceTree = getResourceTree();
-        resourceTree.notifyDeleted(file);
+        for (final Path file : createdFiles) {
+            if (!waitedFilesToSelect.contains(file)) continue;
+            waitedFilesToSelect.fastRemove(file);
+            resourceTree.expandTo(file, true);
+        }
     }
 
     /**
@@ -423,6 +412,8 @@ public class AssetEditorDialog<C> extends EditorDialog {
         final int width = (int) imageView.getFitWidth();
         final int height = (int) imageView.getFitHeight();
 
+        JAVA_FX_IMAGE_MANAGER.cancelTexturePreview(imageView);
+
         if (JMEFilePreviewManager.isJmeFile(file)) {
 
             final JMEFilePreviewManager previewManager = JMEFilePreviewManager.getInstance();
@@ -436,8 +427,8 @@ public class AssetEditorDialog<C> extends EditorDialog {
 
         } else if (JavaFXImageManager.isImage(file)) {
 
-            final Image preview = JAVA_FX_IMAGE_MANAGER.getTexturePreview(file, width, height);
-            imageView.setImage(preview);
+            imageView.imageProperty().unbind();
+            JAVA_FX_IMAGE_MANAGER.requestTexturePreview(imageView, file, width, height);
             imageView.setVisible(true);
 
         } else if (JMEFilePreviewManager.isAudioFile(file)) {
@@ -458,9 +449,8 @@ public class AssetEditorDialog<C> extends EditorDialog {
     @Override
     public void hide() {
 
-        FX_EVENT_MANAGER.removeEventHandler(CreatedFileEvent.EVENT_TYPE, createdFileHandler);
+        FX_EVENT_MANAGER.removeEventHandler(ChangedFilesEvent.EVENT_TYPE, changedFilesHandler);
         FX_EVENT_MANAGER.removeEventHandler(RequestSelectFileEvent.EVENT_TYPE, selectFileHandle);
-        FX_EVENT_MANAGER.removeEventHandler(DeletedFileEvent.EVENT_TYPE, deletedFileHandler);
 
         final JMEFilePreviewManager previewManager = JMEFilePreviewManager.getInstance();
         previewManager.clear();
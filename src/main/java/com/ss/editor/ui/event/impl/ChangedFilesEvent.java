@@ -0,0 +1,121 @@
+package com.ss.editor.ui.event.impl;
+
+import static com.ss.rlib.util.ObjectUtils.notNull;
+import com.ss.editor.ui.event.SceneEvent;
+import com.ss.rlib.util.array.Array;
+import javafx.event.Event;
+import javafx.event.EventType;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * The event about a batch of changes in an asset folder, changes of every file are already coalesced. Created and
+ * deleted files are empty if the batch is too large and the asset folder is refreshed instead.
+ *
+ * @author JavaSaBr
+ */
+public class ChangedFilesEvent extends SceneEvent {
+
+    /**
+     * The constant EVENT_TYPE.
+     */
+    @NotNull
+    public static final EventType<SceneEvent> EVENT_TYPE;
+
+    static {
+        synchronized (Event.class) {
+            EVENT_TYPE = new EventType<>(SceneEvent.EVENT_TYPE, ChangedFilesEvent.class.getSimpleName());
+        }
+    }
+
+    private static final String CREATED_FILES = "createdFiles";
+    private static final String DELETED_FILES = "deletedFiles";
+    private static final String CHANGED_FILES = "changedFiles";
+    private static final String DIRECTORIES = "directories";
+
+    /**
+     * Instantiates a new Changed files event.
+     */
+    public ChangedFilesEvent() {
+        super(EVENT_TYPE);
+    }
+
+    /**
+     * Gets created files.
+     *
+     * @return the created files.
+     */
+    @NotNull
+    public Array<Path> getCreatedFiles() {
+        return notNull(get(CREATED_FILES), "Can't find created files");
+    }
+
+    /**
+     * Sets created files.
+     *
+     * @param files the created files.
+     */
+    public void setCreatedFiles(@NotNull final Array<Path> files) {
+        set(CREATED_FILES, files);
+    }
+
+    /**
+     * Gets deleted files.
+     *
+     * @return the deleted files.
+     */
+    @NotNull
+    public Array<Path> getDeletedFiles() {
+        return notNull(get(DELETED_FILES), "Can't find deleted files");
+    }
+
+    /**
+     * Sets deleted files.
+     *
+     * @param files the deleted files.
+     */
+    public void setDeletedFiles(@NotNull final Array<Path> files) {
+        set(DELETED_FILES, files);
+    }
+
+    /**
+     * Gets changed files.
+     *
+     * @return the changed files.
+     */
+    @NotNull
+    public Array<Path> getChangedFiles() {
+        return notNull(get(CHANGED_FILES), "Can't find changed files");
+    }
+
+    /**
+     * Sets changed files.
+     *
+     * @param files the changed files.
+     */
+    public void setChangedFiles(@NotNull final Array<Path> files) {
+        set(CHANGED_FILES, files);
+    }
+
+    /**
+     * Sets directories among created and deleted files.
+     *
+     * @param directories the directories.
+     */
+    public void setDirectories(@NotNull final Set<Path> directories) {
+        set(DIRECTORIES, directories);
+    }
+
+    /**
+     * Check the created or deleted file is a directory.
+     *
+     * @param file the file.
+     * @return true if the file is a directory.
+     */
+    public boolean isDirectory(@NotNull final Path file) {
+        final Set<Path> directories = notNull(get(DIRECTORIES), "Can't find directories");
+        return directories.contains(file);
+    }
+}
@@ -1,8 +1,6 @@
 package com.ss.editor.ui.scene;
 
-import com.ss.editor.JFXApplication;
 import com.ss.editor.annotation.FXThread;
-import com.ss.editor.manager.EditorStateManager;
 import com.ss.editor.ui.component.ScreenComponent;
 import com.ss.editor.ui.css.CSSIds;
 import com.ss.rlib.ui.util.FXUtils;
@@ -206,11 +204,6 @@ public class EditorFXScene extends Scene {
      */
     @FXThread
     private void showLoading() {
-        // lock the update
-        JFXApplication.mutex.setLockData(EditorStateManager.State.LOADING);
-        JFXApplication.mutex.setMonitorObject(this);
-        JFXApplication.semaphore.lock(JFXApplication.mutex);
-
         final VBox loadingLayer = getLoadingLayer();
         loadingLayer.setVisible(true);
         loadingLayer.toFront();
@@ -238,8 +231,6 @@ public class EditorFXScene extends Scene {
 
         final StackPane container = getContainer();
         container.setDisable(false);
-        JFXApplication.semaphore.unlock(JFXApplication.mutex);
-
     }
 
     /**
@@ -1,10 +1,13 @@
 package com.ss.editor.ui.tooltip;
 
 import static com.ss.rlib.util.ObjectUtils.notNull;
+import com.ss.editor.Messages;
 import com.ss.editor.annotation.FXThread;
 import com.ss.editor.manager.JavaFXImageManager;
+import com.ss.editor.model.asset.ImageMetadata;
 import com.ss.editor.ui.css.CSSClasses;
 import com.ss.rlib.ui.util.FXUtils;
+import javafx.scene.control.Label;
 import javafx.scene.image.*;
 import javafx.scene.layout.GridPane;
 import org.jetbrains.annotations.NotNull;
@@ -70,6 +73,12 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
     @Nullable
     private ImageView alphaView;
 
+    /**
+     * The label of metadata of the image.
+     */
+    @Nullable
+    private Label metadataLabel;
+
     /**
      * Instantiates a new Image channel preview.
      */
@@ -124,11 +133,13 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
         greenView = new ImageView();
         blueView = new ImageView();
         alphaView = new ImageView();
+        metadataLabel = new Label();
 
         root.add(redView, 0, 0);
         root.add(greenView, 1, 0);
         root.add(blueView, 0, 1);
         root.add(alphaView, 1, 1);
+        root.add(metadataLabel, 0, 2, 2, 1);
     }
 
     @NotNull
@@ -175,6 +186,15 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
         return notNull(redView);
     }
 
+    /**
+     * @return the label of metadata of the image.
+     */
+    @NotNull
+    @FXThread
+    private Label getMetadataLabel() {
+        return notNull(metadataLabel);
+    }
+
     /**
      * Show the file.
      *
@@ -182,10 +202,65 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
      */
     @FXThread
     public void showImage(@Nullable final Path file) {
+        if (file == null) {
+            IMAGE_MANAGER.cancelTexturePreview(this);
+            IMAGE_MANAGER.cancelImageMetadata(this);
+            showChannels(null);
+            showMetadata(null);
+        } else {
+            IMAGE_MANAGER.requestTexturePreview(this, file, 120, 120, this::showChannels);
+            IMAGE_MANAGER.requestImageMetadata(this, file, this::showMetadata);
+        }
+    }
+
+    /**
+     * Show metadata of the image.
+     *
+     * @param metadata the metadata or null.
+     */
+    @FXThread
+    private void showMetadata(@Nullable final ImageMetadata metadata) {
+
+        final Label metadataLabel = getMetadataLabel();
 
-        final Image image = file == null ? null : IMAGE_MANAGER.getTexturePreview(file, 120, 120);
+        if (metadata == null) {
+            metadataLabel.setText("");
+            return;
+        }
+
+        final StringBuilder builder = new StringBuilder()
+                .append(metadata.getWidth()).append('x').append(metadata.getHeight())
+                .append(", ").append(metadata.getFormat());
+
+        if (!metadata.getChannels().isEmpty()) {
+            builder.append(", ").append(metadata.getChannels());
+        }
+
+        if (metadata.getBitsPerPixel() > 0) {
+            builder.append(' ').append(metadata.getBitsPerPixel()).append("bpp");
+        }
+
+        if (!metadata.getCompression().isEmpty()) {
+            builder.append(", ").append(metadata.getCompression());
+        }
+
+        if (metadata.getMipmapCount() > 1) {
+            builder.append(", ").append(metadata.getMipmapCount()).append(' ')
+                    .append(Messages.IMAGE_CHANNEL_PREVIEW_MIPMAPS);
+        }
+
+        metadataLabel.setText(builder.toString());
+    }
+
+    /**
+     * Show channels of the image.
+     *
+     * @param image the image or null.
+     */
+    @FXThread
+    private void showChannels(@Nullable final Image image) {
 
-        if (file == null || image.getWidth() != 120) {
+        if (image == null || image.getWidth() != 120) {
 
             final ImageView redView = getRedView();
             redView.setImage(null);
@@ -0,0 +1,266 @@
+package com.ss.editor.ui.util;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The persistent atlas of rasterized icons. Icons of the same size are stored in one image file as a grid of
+ * slots with a text file of URLs of icons by slots, so each icon is rasterized once and all icons of a size are
+ * loaded by one image read. Atlases are stamped by the version of icon resources, atlases of other versions are
+ * ignored.
+ *
+ * @author JavaSaBr
+ */
+public class IconAtlas {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(IconAtlas.class);
+
+    /**
+     * The prefix of names of atlas files.
+     */
+    @NotNull
+    private static final String FILE_PREFIX = "icons-";
+
+    /**
+     * The extension of image files of atlases.
+     */
+    @NotNull
+    private static final String IMAGE_EXTENSION = ".png";
+
+    /**
+     * The extension of files of URLs of atlases.
+     */
+    @NotNull
+    private static final String INDEX_EXTENSION = ".txt";
+
+    /**
+     * The count of slots in a row of an atlas.
+     */
+    private static final int COLUMNS = 16;
+
+    /**
+     * The icons of a size.
+     */
+    private static final class Page {
+
+        /**
+         * The pixels of icons by URLs in order of slots.
+         */
+        @NotNull
+        private final LinkedHashMap<String, int[]> icons;
+
+        /**
+         * True if this page has unsaved icons.
+         */
+        private boolean changed;
+
+        private Page() {
+            this.icons = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * The pages by sizes.
+     */
+    @NotNull
+    private final Map<Integer, Page> pages;
+
+    /**
+     * The folder of atlas files.
+     */
+    @NotNull
+    private final Path folder;
+
+    /**
+     * The version of icon resources.
+     */
+    @NotNull
+    private final String stamp;
+
+    /**
+     * Instantiates a new icon atlas.
+     *
+     * @param folder the folder of atlas files.
+     * @param stamp  the version of icon resources.
+     */
+    public IconAtlas(@NotNull final Path folder, @NotNull final String stamp) {
+        this.folder = folder;
+        this.stamp = stamp;
+        this.pages = new HashMap<>();
+    }
+
+    /**
+     * Load all stored atlases of the actual version.
+     */
+    @FromAnyThread
+    public void load() {
+        if (!Files.isDirectory(folder)) return;
+
+        final long time = System.currentTimeMillis();
+        int loaded = 0;
+
+        final String glob = FILE_PREFIX + "*" + INDEX_EXTENSION;
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, glob)) {
+            for (final Path indexFile : stream) {
+                loaded += loadPage(indexFile);
+            }
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+
+        LOGGER.debug(this, "loaded " + loaded + " icons in " + (System.currentTimeMillis() - time) + " ms.");
+    }
+
+    /**
+     * Load an atlas of a size.
+     *
+     * @return the count of loaded icons.
+     */
+    private int loadPage(@NotNull final Path indexFile) {
+
+        final String fileName = indexFile.getFileName().toString();
+        final String name = fileName.substring(0, fileName.length() - INDEX_EXTENSION.length());
+
+        final int size;
+        try {
+            size = Integer.parseInt(name.substring(FILE_PREFIX.length()));
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+
+        try {
+
+            final List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !stamp.equals(lines.get(0))) return 0;
+
+            final BufferedImage image = ImageIO.read(folder.resolve(name + IMAGE_EXTENSION).toFile());
+            if (image == null) return 0;
+
+            final Page page = new Page();
+
+            for (int slot = 0, count = lines.size() - 1; slot < count; slot++) {
+
+                final int x = (slot % COLUMNS) * size;
+                final int y = (slot / COLUMNS) * size;
+                if (x + size > image.getWidth() || y + size > image.getHeight()) break;
+
+                final int[] pixels = new int[size * size];
+                image.getRGB(x, y, size, size, pixels, 0, size);
+                page.icons.put(lines.get(slot + 1), pixels);
+            }
+
+            synchronized (this) {
+                pages.put(size, page);
+            }
+
+            return page.icons.size();
+
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Get pixels of the rasterized icon.
+     *
+     * @param url  the URL of the icon.
+     * @param size the size of the icon.
+     * @return the pixels in the ARGB format or null if the icon isn't rasterized yet.
+     */
+    @Nullable
+    @FromAnyThread
+    public synchronized int[] get(@NotNull final String url, final int size) {
+        final Page page = pages.get(size);
+        return page == null ? null : page.icons.get(url);
+    }
+
+    /**
+     * Put pixels of the rasterized icon.
+     *
+     * @param url    the URL of the icon.
+     * @param size   the size of the icon.
+     * @param pixels the pixels in the ARGB format.
+     */
+    @FromAnyThread
+    public synchronized void put(@NotNull final String url, final int size, @NotNull final int[] pixels) {
+        final Page page = pages.computeIfAbsent(size, key -> new Page());
+        page.icons.put(url, pixels);
+        page.changed = true;
+    }
+
+    /**
+     * Save the atlases which have unsaved icons.
+     */
+    @BackgroundThread
+    public void save() {
+
+        final Map<Integer, List<Map.Entry<String, int[]>>> changed = new HashMap<>();
+
+        synchronized (this) {
+            pages.forEach((size, page) -> {
+                if (!page.changed) return;
+                page.changed = false;
+                changed.put(size, new ArrayList<>(page.icons.entrySet()));
+            });
+        }
+
+        if (changed.isEmpty()) return;
+
+        try {
+            Files.createDirectories(folder);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return;
+        }
+
+        changed.forEach(this::savePage);
+    }
+
+    /**
+     * Save an atlas of a size.
+     */
+    private void savePage(@NotNull final Integer size, @NotNull final List<Map.Entry<String, int[]>> icons) {
+
+        final int columns = Math.min(COLUMNS, icons.size());
+        final int rows = (icons.size() + COLUMNS - 1) / COLUMNS;
+
+        final BufferedImage image = new BufferedImage(columns * size, rows * size, BufferedImage.TYPE_INT_ARGB);
+        final List<String> lines = new ArrayList<>(icons.size() + 1);
+        lines.add(stamp);
+
+        for (int slot = 0; slot < icons.size(); slot++) {
+            final Map.Entry<String, int[]> icon = icons.get(slot);
+            image.setRGB((slot % COLUMNS) * size, (slot / COLUMNS) * size, size, size, icon.getValue(), 0, size);
+            lines.add(icon.getKey());
+        }
+
+        final String name = FILE_PREFIX + size;
+
+        try {
+            ImageIO.write(image, "png", folder.resolve(name + IMAGE_EXTENSION).toFile());
+            Files.write(folder.resolve(name + INDEX_EXTENSION), lines, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ss.editor.util;
+
+import com.ss.rlib.classpath.impl.ManifestClassPathScannerImpl;
+import com.ss.rlib.compiler.Compiler;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.stream.Stream;
+
+import static com.ss.rlib.util.ClassUtils.unsafeCast;
+
+/**
+ * The implementation of a manifest classpath scanner which collects only resources and caches them per a jar
+ * of the classpath. A jar is scanned again only if its size or last modified time was changed, folders of the
+ * classpath are always scanned.
+ *
+ * @author JavaSaBr
+ */
+public class CachedClassPathScanner extends ManifestClassPathScannerImpl {
+
+    private static final String JAR_EXTENSION = ".jar";
+    private static final String CLASS_EXTENSION = ".class";
+
+    /**
+     * The cached resources of a jar.
+     */
+    private static final class Entry implements Serializable {
+
+        public static final long serialVersionUID = 1;
+
+        /**
+         * The size of the jar.
+         */
+        private final long size;
+
+        /**
+         * The last modified time of the jar.
+         */
+        private final long lastModified;
+
+        /**
+         * The resources of the jar.
+         */
+        @NotNull
+        private final String[] resources;
+
+        private Entry(final long size, final long lastModified, @NotNull final String[] resources) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.resources = resources;
+        }
+    }
+
+    /**
+     * The file of the cache.
+     */
+    @NotNull
+    private final Path cacheFile;
+
+    /**
+     * Instantiates a new cached classpath scanner.
+     *
+     * @param rootClass    the root class.
+     * @param classPathKey the classpath key of the manifest.
+     * @param cacheFile    the file of the cache.
+     */
+    public CachedClassPathScanner(@NotNull final Class<?> rootClass, @NotNull final String classPathKey,
+                                  @NotNull final Path cacheFile) {
+        super(rootClass, classPathKey);
+        this.cacheFile = cacheFile;
+    }
+
+    @Override
+    public void scanning(@NotNull final Function<String, Boolean> filter) {
+
+        final long time = System.currentTimeMillis();
+
+        final Map<String, Entry> cache = loadCache();
+        final Map<String, Entry> newCache = new HashMap<>();
+        final Array<String> resources = ArrayFactory.newArray(String.class);
+
+        int scanned = 0;
+        int reused = 0;
+
+        for (final String path : getPaths()) {
+
+            final Path file = Paths.get(path);
+
+            if (!Files.exists(file) || !filter.apply(path)) {
+                continue;
+            } else if (Files.isDirectory(file)) {
+                scanningDirectory(file, resources);
+                scanned++;
+                continue;
+            } else if (!path.endsWith(JAR_EXTENSION)) {
+                continue;
+            }
+
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (final IOException e) {
+                LOGGER.warning(e);
+                continue;
+            }
+
+            final long size = attributes.size();
+            final long lastModified = attributes.lastModifiedTime().toMillis();
+
+            Entry entry = cache.get(path);
+
+            if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+
+                final Array<String> jarResources = ArrayFactory.newArray(String.class);
+
+                try (final JarInputStream jin = new JarInputStream(Files.newInputStream(file))) {
+                    scanningJar(jin, jarResources);
+                } catch (final IOException e) {
+                    LOGGER.warning("can't scan the jar " + file);
+                    continue;
+                }
+
+                entry = new Entry(size, lastModified, jarResources.toArray(String.class));
+                scanned++;
+
+            } else {
+                reused++;
+            }
+
+            newCache.put(path, entry);
+            resources.addAll(entry.resources);
+        }
+
+        addResources(resources);
+
+        if (!newCache.equals(cache)) {
+            saveCache(newCache);
+        }
+
+        LOGGER.info("found " + resources.size() + " resources in the classpath (scanned " + scanned +
+                ", reused " + reused + " entries) in " + (System.currentTimeMillis() - time) + " ms.");
+    }
+
+    /**
+     * Collect resources of the folder of the classpath.
+     */
+    private static void scanningDirectory(@NotNull final Path root, @NotNull final Array<String> resources) {
+        try (final Stream<Path> stream = Files.walk(root)) {
+            stream.filter(Files::isRegularFile)
+                    .filter(file -> isResource(file.toString()))
+                    .forEach(file -> resources.add(EditorUtil.toAssetPath(root.relativize(file))));
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+    }
+
+    /**
+     * Collect resources of the jar, including resources of nested jars.
+     */
+    private static void scanningJar(@NotNull final JarInputStream jin, @NotNull final Array<String> resources)
+            throws IOException {
+
+        for (JarEntry entry = jin.getNextJarEntry(); entry != null; entry = jin.getNextJarEntry()) {
+            if (entry.isDirectory()) continue;
+
+            final String name = entry.getName();
+
+            if (name.endsWith(JAR_EXTENSION)) {
+                // the nested stream isn't closed to keep the outer stream opened
+                scanningJar(new JarInputStream(jin), resources);
+            } else if (isResource(name)) {
+                resources.add(name);
+            }
+        }
+    }
+
+    private static boolean isResource(@NotNull final String name) {
+        return !name.endsWith(CLASS_EXTENSION) && !name.endsWith(Compiler.SOURCE_EXTENSION) &&
+                !name.endsWith(JAR_EXTENSION);
+    }
+
+    @NotNull
+    private Map<String, Entry> loadCache() {
+
+        if (!Files.exists(cacheFile)) {
+            return new HashMap<>();
+        }
+
+        try (final InputStream in = Files.newInputStream(cacheFile);
+             final ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            return unsafeCast(objectIn.readObject());
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warning("can't read the classpath cache " + cacheFile + ", it will be rebuilt.");
+        }
+
+        return new HashMap<>();
+    }
+
+    private void saveCache(@NotNull final Map<String, Entry> cache) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Files.write(cacheFile, EditorUtil.serialize((Serializable) cache));
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ss.editor.util;
+
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The set of coalesced changes of files. Sequences of raw events per file are collapsed: created and then
+ * modified is created, created and then deleted is nothing, deleted and then created is modified and so on.
+ *
+ * @author JavaSaBr
+ */
+public final class FileChangeSet {
+
+    /**
+     * The kind of a coalesced change.
+     */
+    public enum Kind {
+        /**
+         * The file didn't exist before and exists now.
+         */
+        CREATED,
+        /**
+         * The file existed before and doesn't exist now.
+         */
+        DELETED,
+        /**
+         * The file existed before and exists now, but was changed.
+         */
+        CHANGED,
+        /**
+         * The file didn't exist before and doesn't exist now.
+         */
+        NONE
+    }
+
+    /**
+     * The table of changes per file in order of the first change.
+     */
+    @NotNull
+    private final Map<Path, Kind> changes;
+
+    /**
+     * The changed directories.
+     */
+    @NotNull
+    private final Set<Path> directories;
+
+    /**
+     * The count of raw events.
+     */
+    private int events;
+
+    /**
+     * True if some events were lost.
+     */
+    private boolean overflow;
+
+    /**
+     * Instantiates a new file change set.
+     */
+    public FileChangeSet() {
+        this.changes = new LinkedHashMap<>();
+        this.directories = new HashSet<>();
+    }
+
+    /**
+     * Add a raw event about the file.
+     *
+     * @param file      the file.
+     * @param kind      the kind of the raw event.
+     * @param directory true if the file is a directory.
+     */
+    public void add(@NotNull final Path file, @NotNull final WatchEvent.Kind<?> kind, final boolean directory) {
+
+        final Kind next = toKind(kind);
+        final Kind prev = changes.get(file);
+
+        changes.put(file, prev == null ? next : merge(prev, next));
+        events++;
+
+        if (directory) {
+            directories.add(file);
+        }
+    }
+
+    /**
+     * Collapse the previous change of a file with the next change.
+     */
+    @NotNull
+    private static Kind merge(@NotNull final Kind prev, @NotNull final Kind next) {
+        switch (prev) {
+            case CREATED:
+            case NONE:
+                return next == Kind.DELETED ? Kind.NONE : Kind.CREATED;
+            default:
+                return next == Kind.DELETED ? Kind.DELETED : Kind.CHANGED;
+        }
+    }
+
+    @NotNull
+    private static Kind toKind(@NotNull final WatchEvent.Kind<?> kind) {
+        if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
+            return Kind.CREATED;
+        } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            return Kind.DELETED;
+        } else {
+            return Kind.CHANGED;
+        }
+    }
+
+    /**
+     * Get files with the kind of the coalesced change.
+     *
+     * @param kind the kind.
+     * @return the new array of files.
+     */
+    @NotNull
+    public Array<Path> getFiles(@NotNull final Kind kind) {
+
+        final Array<Path> result = ArrayFactory.newArray(Path.class);
+
+        for (final Map.Entry<Path, Kind> entry : changes.entrySet()) {
+            if (entry.getValue() == kind) result.add(entry.getKey());
+        }
+
+        return result;
+    }
+
+    /**
+     * Check the file is a directory.
+     *
+     * @param file the file.
+     * @return true if the file was a directory.
+     */
+    public boolean isDirectory(@NotNull final Path file) {
+        return directories.contains(file);
+    }
+
+    /**
+     * Get changed directories.
+     *
+     * @return the new set of directories.
+     */
+    @NotNull
+    public Set<Path> getDirectories() {
+        return new HashSet<>(directories);
+    }
+
+    /**
+     * Mark that some events were lost.
+     */
+    public void setOverflow() {
+        this.overflow = true;
+    }
+
+    /**
+     * @return true if some events were lost.
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    /**
+     * @return the count of raw events.
+     */
+    public int getEvents() {
+        return events;
+    }
+
+    /**
+     * @return true if there are no changes.
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty() && !overflow;
+    }
+
+    /**
+     * Clear this set.
+     */
+    public void clear() {
+        changes.clear();
+        directories.clear();
+        events = 0;
+        overflow = false;
+    }
+}
@@ -0,0 +1,301 @@
+package com.ss.editor.util;
+
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.file.reader.DDSReader;
+import com.ss.editor.file.reader.TGAReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * The class with utility methods for decoding and scaling images to previews.
+ *
+ * @author JavaSaBr
+ */
+public class ImageUtils {
+
+    /**
+     * The size of the read buffer of streamed images.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The ratio of the size of subsampled images to the size of previews.
+     */
+    private static final int OVERSAMPLING = 2;
+
+    /**
+     * Read the image file decimated to the size which is not less than twice the size to fit the image into the
+     * required size. Thumbnails embedded into the file are used when they are large enough, else the image is
+     * decoded with source subsampling, so full resolution pixels of large images are never allocated.
+     *
+     * @param file   the image file.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the decoded image or null if there is no reader for the file.
+     * @throws IOException if the file can't be read.
+     */
+    @Nullable
+    @FromAnyThread
+    public static BufferedImage readSubsampled(@NotNull final Path file, final int width, final int height)
+            throws IOException {
+
+        try (final ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+            if (iis == null) return null;
+
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+
+            final ImageReader reader = readers.next();
+            try {
+
+                reader.setInput(iis, true, true);
+
+                final int imageWidth = reader.getWidth(0);
+                final int imageHeight = reader.getHeight(0);
+                final int[] size = getFitSize(imageWidth, imageHeight, width, height);
+
+                final BufferedImage thumbnail = readThumbnail(reader, size[0], size[1]);
+                if (thumbnail != null) return thumbnail;
+
+                // keep twice the required size to filter out aliasing of subsampling by the downscale
+                final int subsampling = Math.max(1, Math.min(imageWidth / (size[0] * OVERSAMPLING),
+                        imageHeight / (size[1] * OVERSAMPLING)));
+
+                final ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, param);
+
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Read the smallest mipmap level of the DDS file which is not less than the size to fit the image into the
+     * required size, only the header and the data of the level are read from the file.
+     *
+     * @param file   the DDS file.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the decoded mipmap level or null if the format isn't supported or the file is truncated.
+     * @throws IOException if the file can't be read.
+     */
+    @Nullable
+    @FromAnyThread
+    public static BufferedImage readDDS(@NotNull final Path file, final int width, final int height)
+            throws IOException {
+
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final ByteBuffer header = ByteBuffer.allocate(DDSReader.HEADER_SIZE);
+            if (!readFully(channel, header)) return null;
+
+            final byte[] headerBytes = header.array();
+            final int[] size = getFitSize(DDSReader.getWidth(headerBytes), DDSReader.getHeight(headerBytes),
+                    width, height);
+
+            int level = 0;
+
+            for (int count = DDSReader.getMipmapCount(headerBytes); level + 1 < count; level++) {
+                if (DDSReader.getMipmapWidth(headerBytes, level + 1) < size[0] ||
+                        DDSReader.getMipmapHeight(headerBytes, level + 1) < size[1]) {
+                    break;
+                }
+            }
+
+            final long offset = DDSReader.getMipmapOffset(headerBytes, level);
+            final long length = DDSReader.getMipmapLength(headerBytes, level);
+            if (offset < 0 || length < 0 || length > Integer.MAX_VALUE) return null;
+
+            final ByteBuffer data = ByteBuffer.allocate((int) length);
+            channel.position(offset);
+            if (!readFully(channel, data)) return null;
+
+            final int[] pixels = DDSReader.readMipmap(headerBytes, data.array(), DDSReader.ARGB, level);
+            if (pixels == null) return null;
+
+            final int levelWidth = DDSReader.getMipmapWidth(headerBytes, level);
+            final int levelHeight = DDSReader.getMipmapHeight(headerBytes, level);
+
+            final BufferedImage image = new BufferedImage(levelWidth, levelHeight, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, levelWidth, levelHeight, pixels, 0, levelWidth);
+            return image;
+        }
+    }
+
+    /**
+     * Read the TGA file decimated to the size which is not less than twice the size to fit the image into the
+     * required size, the file is decoded by scanlines without loading it into memory.
+     *
+     * @param file   the TGA file.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the decoded image or null if the type of the image isn't supported.
+     * @throws IOException if the file can't be read.
+     */
+    @Nullable
+    @FromAnyThread
+    public static BufferedImage readTGA(@NotNull final Path file, final int width, final int height)
+            throws IOException {
+
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+
+            final TGAReader reader = new TGAReader(in);
+            final int imageWidth = reader.getWidth();
+            final int imageHeight = reader.getHeight();
+            if (imageWidth < 1 || imageHeight < 1) return null;
+
+            final int[] size = getFitSize(imageWidth, imageHeight, width, height);
+            final int subsampling = Math.max(1, Math.min(imageWidth / (size[0] * OVERSAMPLING),
+                    imageHeight / (size[1] * OVERSAMPLING)));
+
+            return reader.read(subsampling);
+        }
+    }
+
+    private static boolean readFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer)
+            throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Read the smallest embedded thumbnail which is not less than the size.
+     */
+    @Nullable
+    private static BufferedImage readThumbnail(@NotNull final ImageReader reader, final int width,
+                                               final int height) throws IOException {
+
+        if (!reader.readerSupportsThumbnails() || !reader.hasThumbnails(0)) {
+            return null;
+        }
+
+        int index = -1;
+        long pixels = Long.MAX_VALUE;
+
+        for (int i = 0, length = reader.getNumThumbnails(0); i < length; i++) {
+
+            final int thumbnailWidth = reader.getThumbnailWidth(0, i);
+            final int thumbnailHeight = reader.getThumbnailHeight(0, i);
+
+            if (thumbnailWidth < width || thumbnailHeight < height) continue;
+
+            final long thumbnailPixels = (long) thumbnailWidth * thumbnailHeight;
+
+            if (thumbnailPixels < pixels) {
+                index = i;
+                pixels = thumbnailPixels;
+            }
+        }
+
+        return index == -1 ? null : reader.readThumbnail(0, index);
+    }
+
+    /**
+     * Scale the image to fit the required size and draw it on a transparent canvas of the required size.
+     *
+     * @param image  the image.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the canvas with the scaled image.
+     */
+    @NotNull
+    @FromAnyThread
+    public static BufferedImage toThumbnail(@NotNull final BufferedImage image, final int width, final int height) {
+
+        final int[] size = getFitSize(image.getWidth(), image.getHeight(), width, height);
+        final BufferedImage scaled = scaleDown(image, size[0], size[1]);
+        final BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        final Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(scaled, 0, 0, size[0], size[1], null);
+        } finally {
+            g2d.dispose();
+        }
+
+        return result;
+    }
+
+    /**
+     * Scale the image down by halves with bilinear filtering while the result is not less than twice the
+     * target size, so each step averages 2x2 blocks and the last step doesn't skip source pixels.
+     */
+    @NotNull
+    private static BufferedImage scaleDown(@NotNull final BufferedImage image, final int width, final int height) {
+
+        BufferedImage result = image;
+
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+
+        while (currentWidth / 2 >= width && currentHeight / 2 >= height) {
+
+            currentWidth /= 2;
+            currentHeight /= 2;
+
+            final BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g2d = step.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(result, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g2d.dispose();
+            }
+
+            result = step;
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the size of the image to fit it into the required size.
+     *
+     * @param imageWidth  the width of the image.
+     * @param imageHeight the height of the image.
+     * @param width       the required width.
+     * @param height      the required height.
+     * @return the array with the width and the height.
+     */
+    @NotNull
+    @FromAnyThread
+    public static int[] getFitSize(final int imageWidth, final int imageHeight, final int width, final int height) {
+
+        if (imageWidth <= width && imageHeight <= height) {
+            return new int[]{imageWidth, imageHeight};
+        } else if (imageWidth == imageHeight) {
+            return new int[]{width, height};
+        } else if (imageWidth > imageHeight) {
+            final float mod = imageHeight * 1F / imageWidth;
+            return new int[]{width, Math.max(1, (int) (height * mod))};
+        } else {
+            final float mod = imageWidth * 1F / imageHeight;
+            return new int[]{Math.max(1, (int) (width * mod)), height};
+        }
+    }
+}
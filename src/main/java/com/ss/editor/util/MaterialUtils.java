@@ -12,6 +12,7 @@ import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 import com.ss.editor.Editor;
 import com.ss.editor.FileExtensions;
+import com.ss.editor.manager.ResourceManager;
 import com.ss.rlib.util.FileUtils;
 import com.ss.rlib.util.StringUtils;
 import jme3tools.converters.ImageToAwt;
@@ -53,6 +54,7 @@ public class MaterialUtils {
     public static Material updateMaterialIdNeed(@NotNull final Path file, @NotNull final Material material) {
 
         final AssetManager assetManager = EDITOR.getAssetManager();
+        final ResourceManager resourceManager = ResourceManager.getInstance();
 
         boolean needToReload = false;
         String textureKey = null;
@@ -64,7 +66,7 @@ public class MaterialUtils {
             // if the shader was changed we need to reload material definition
             final MaterialDef materialDef = material.getMaterialDef();
             final String assetName = materialDef.getAssetName();
-            assetManager.deleteFromCache(new AssetKey<>(assetName));
+            resourceManager.deleteFromCache(new AssetKey<>(assetName));
 
         } else if (MaterialUtils.isTextureFile(file)) {
             textureKey = MaterialUtils.containsTexture(material, file);
@@ -83,7 +85,7 @@ public class MaterialUtils {
 
         final MaterialKey materialKey = new MaterialKey(assetName);
 
-        assetManager.deleteFromCache(materialKey);
+        resourceManager.deleteFromCache(materialKey);
 
         final Material newMaterial = new Material(assetManager, material.getMaterialDef().getAssetName());
 
@@ -6,6 +6,8 @@ import com.jme3.audio.AudioNode;
 import com.jme3.light.Light;
 import com.jme3.light.LightList;
 import com.jme3.material.Material;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
@@ -14,6 +16,7 @@ import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.util.StringUtils;
 import com.ss.rlib.util.array.Array;
 
+import java.lang.reflect.Field;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -24,6 +27,62 @@ import java.util.function.Predicate;
  */
 public class NodeUtils {
 
+    private static final Field REFRESH_FLAGS_FIELD;
+
+    static {
+        try {
+            REFRESH_FLAGS_FIELD = Spatial.class.getDeclaredField("refreshFlags");
+            REFRESH_FLAGS_FIELD.setAccessible(true);
+        } catch (final NoSuchFieldException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Check the spatial for changes which aren't applied by updating its geometric state yet. Changes of transforms,
+     * bounds, lights and children of nested spatials are propagated to their parents, so it's enough to check a root.
+     *
+     * @param spatial the spatial.
+     * @return true if the spatial has changes.
+     */
+    public static boolean isChanged(@NotNull final Spatial spatial) {
+        try {
+            return REFRESH_FLAGS_FIELD.getInt(spatial) != 0;
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Set the local translation to the spatial only if it's different to not mark the spatial as changed.
+     *
+     * @param spatial     the spatial.
+     * @param translation the local translation.
+     */
+    public static void updateLocalTranslation(@NotNull final Spatial spatial, @NotNull final Vector3f translation) {
+        if (!spatial.getLocalTranslation().equals(translation)) spatial.setLocalTranslation(translation);
+    }
+
+    /**
+     * Set the local rotation to the spatial only if it's different to not mark the spatial as changed.
+     *
+     * @param spatial  the spatial.
+     * @param rotation the local rotation.
+     */
+    public static void updateLocalRotation(@NotNull final Spatial spatial, @NotNull final Quaternion rotation) {
+        if (!spatial.getLocalRotation().equals(rotation)) spatial.setLocalRotation(rotation);
+    }
+
+    /**
+     * Set the local scale to the spatial only if it's different to not mark the spatial as changed.
+     *
+     * @param spatial the spatial.
+     * @param scale   the local scale.
+     */
+    public static void updateLocalScale(@NotNull final Spatial spatial, @NotNull final Vector3f scale) {
+        if (!spatial.getLocalScale().equals(scale)) spatial.setLocalScale(scale);
+    }
+
     /**
      * Find the parent of the model.
      *
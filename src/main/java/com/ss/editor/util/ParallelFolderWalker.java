@@ -0,0 +1,119 @@
+package com.ss.editor.util;
+
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.config.Config;
+import com.ss.rlib.util.array.Array;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The walker to visit trees of folders in parallel. Each folder is visited by a fork/join task and subfolders
+ * returned by the visitor are visited by forked tasks, the count of threads is limited by {@link
+ * Config#WALKER_THREADS}, so slow file systems are not flooded by requests.
+ *
+ * @author JavaSaBr
+ */
+public final class ParallelFolderWalker {
+
+    @NotNull
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    @NotNull
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(Config.WALKER_THREADS, 1), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("FolderWalker_" + COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    /**
+     * The task to visit a folder.
+     */
+    private static final class WalkTask<T> extends RecursiveAction {
+
+        public static final long serialVersionUID = 1;
+
+        /**
+         * The folder to visit.
+         */
+        @NotNull
+        private final T folder;
+
+        /**
+         * The visitor which returns subfolders to visit.
+         */
+        @NotNull
+        private final Function<T, Array<T>> visitor;
+
+        private WalkTask(@NotNull final T folder, @NotNull final Function<T, Array<T>> visitor) {
+            this.folder = folder;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+
+            final Array<T> subfolders = visitor.apply(folder);
+            if (subfolders == null || subfolders.isEmpty()) return;
+
+            if (subfolders.size() == 1) {
+                new WalkTask<>(subfolders.first(), visitor).compute();
+                return;
+            }
+
+            final WalkTask<?>[] tasks = new WalkTask<?>[subfolders.size()];
+
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new WalkTask<>(subfolders.get(i), visitor);
+            }
+
+            invokeAll(tasks);
+        }
+    }
+
+    private ParallelFolderWalker() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Visit the tree of folders and block the current thread until all folders are visited. The visitor can be
+     * called concurrently from several threads.
+     *
+     * @param <T>     the type of a folder.
+     * @param root    the root folder.
+     * @param visitor the visitor which returns subfolders to visit or null.
+     */
+    @FromAnyThread
+    public static <T> void walk(@NotNull final T root, @NotNull final Function<T, Array<T>> visitor) {
+        invoke(new WalkTask<>(root, visitor));
+    }
+
+    /**
+     * Handle each element in parallel and block the current thread until all elements are handled. The handler
+     * can be called concurrently from several threads.
+     *
+     * @param <T>      the type of an element.
+     * @param elements the elements.
+     * @param handler  the handler.
+     */
+    @FromAnyThread
+    public static <T> void forEach(@NotNull final Array<T> elements, @NotNull final Consumer<T> handler) {
+        if (elements.isEmpty()) return;
+        invoke(ForkJoinTask.adapt(() -> elements.stream().parallel().forEach(handler)));
+    }
+
+    private static void invoke(@NotNull final ForkJoinTask<?> task) {
+        if (ForkJoinTask.getPool() == POOL) {
+            task.invoke();
+        } else {
+            POOL.invoke(task);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ss.editor.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A gate which blocks threads until it is opened, waiting threads are parked instead of spinning.
+ *
+ * @author pavl_g.
+ */
+public final class ParkingGate {
+
+    /**
+     * The parked threads.
+     */
+    @NotNull
+    private final ConcurrentLinkedQueue<Thread> waiters;
+
+    /**
+     * The count of passes without waiting.
+     */
+    @NotNull
+    private final AtomicLong passes;
+
+    /**
+     * The count of passes after waiting.
+     */
+    @NotNull
+    private final AtomicLong contendedPasses;
+
+    /**
+     * The count of expired timed waits.
+     */
+    @NotNull
+    private final AtomicLong timeouts;
+
+    /**
+     * The total time of waiting in nanoseconds.
+     */
+    @NotNull
+    private final AtomicLong waitTime;
+
+    /**
+     * Is this gate opened.
+     */
+    private volatile boolean opened;
+
+    /**
+     * Instantiates a new parking gate.
+     *
+     * @param opened true if the gate is opened initially.
+     */
+    public ParkingGate(final boolean opened) {
+        this.opened = opened;
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.passes = new AtomicLong();
+        this.contendedPasses = new AtomicLong();
+        this.timeouts = new AtomicLong();
+        this.waitTime = new AtomicLong();
+    }
+
+    /**
+     * Open this gate and wake up all waiting threads.
+     */
+    public void open() {
+        opened = true;
+        for (final Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Close this gate.
+     */
+    public void close() {
+        opened = false;
+    }
+
+    /**
+     * @return true if this gate is opened.
+     */
+    public boolean isOpened() {
+        return opened;
+    }
+
+    /**
+     * Block the current thread until this gate is opened.
+     */
+    public void await() {
+        await(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Block the current thread until this gate is opened or the timeout is expired.
+     *
+     * @param timeout the timeout or 0 to wait without the timeout.
+     * @param unit    the unit of the timeout.
+     * @return true if the gate was opened.
+     */
+    public boolean await(final long timeout, @NotNull final TimeUnit unit) {
+
+        if (opened) {
+            passes.incrementAndGet();
+            return true;
+        }
+
+        final Thread thread = Thread.currentThread();
+        final long start = System.nanoTime();
+        final boolean timed = timeout > 0;
+        final long deadline = timed ? start + unit.toNanos(timeout) : 0;
+
+        waiters.add(thread);
+        try {
+
+            // recheck after publishing the waiter to not lose a signal from an opener
+            while (!opened) {
+
+                if (!timed) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                final long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    timeouts.incrementAndGet();
+                    return false;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            contendedPasses.incrementAndGet();
+            return true;
+
+        } finally {
+            waiters.remove(thread);
+            waitTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return the count of passes without waiting.
+     */
+    public long getPasses() {
+        return passes.get();
+    }
+
+    /**
+     * @return the count of passes after waiting.
+     */
+    public long getContendedPasses() {
+        return contendedPasses.get();
+    }
+
+    /**
+     * @return the count of expired timed waits.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * @return the total time of waiting in milliseconds.
+     */
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.get());
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingGate{opened=" + opened + ", passes=" + getPasses() + ", contendedPasses=" +
+                getContendedPasses() + ", timeouts=" + getTimeouts() + ", waitTime=" + getWaitTime() + "ms}";
+    }
+}
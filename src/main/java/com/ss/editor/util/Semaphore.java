@@ -1,23 +1,25 @@
 package com.ss.editor.util;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
- * A thread synchronizer utility using mutex data states.
+ * A thread synchronizer utility using mutex data states, waiting threads are parked by a {@link ParkingGate}.
  *
  * @see Semaphore.Mutex
  * @author pavl_g.
  */
 public final class Semaphore {
     private final Mutex mutex;
+    private final ParkingGate gate;
     private static final Logger logger = Logger.getLogger(Semaphore.class.getName());
 
     public enum Mutex {
         SIMPLE_MUTEX(new Object(), new Object(), new Object());
 
-        private Object lockData;
-        private Object monitorObject;
-        private Object unlockData;
+        private volatile Object lockData;
+        private volatile Object monitorObject;
+        private volatile Object unlockData;
 
         <O, LD, ULD> Mutex(final O monitorObject, final LD lockData, final ULD unlockData) {
             this.monitorObject = monitorObject;
@@ -62,6 +64,7 @@ public final class Semaphore {
 
     private Semaphore(Mutex mutex) {
         this.mutex = mutex;
+        this.gate = new ParkingGate(mutex.getLockData() == mutex.getUnlockData());
     }
 
     public static Semaphore build(Mutex mutex) {
@@ -74,13 +77,23 @@ public final class Semaphore {
         this.mutex.setMonitorObject(monitorObject);
         // format the unlock data for a new lock dispatcher
         this.mutex.setUnlockData(new Object());
+        this.gate.close();
         logger.fine("Lock obtained with monitor " + monitorObject);
     }
 
     public void waitForUnlock() {
-        while (mutex.getLockData() != mutex.getUnlockData()) {
-            final Void NO_JOB = mutex.NO_JOB();
-        }
+        gate.await();
+    }
+
+    /**
+     * Waits for unlocking this semaphore until the timeout is expired.
+     *
+     * @param timeout the timeout.
+     * @param unit    the unit of the timeout.
+     * @return true if this semaphore was unlocked.
+     */
+    public boolean waitForUnlock(final long timeout, final TimeUnit unit) {
+        return gate.await(timeout, unit);
     }
 
     public <O> void unlock(final O locker) {
@@ -89,10 +102,18 @@ public final class Semaphore {
         }
         // release the lock
         mutex.setUnlockData(mutex.getLockData());
+        gate.open();
         logger.fine(locker + " Unlocked");
     }
 
     public Mutex getMutex() {
         return mutex;
     }
+
+    /**
+     * @return the gate with waiting statistics.
+     */
+    public ParkingGate getGate() {
+        return gate;
+    }
 }